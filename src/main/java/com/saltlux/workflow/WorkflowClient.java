@@ -1,10 +1,12 @@
 package com.saltlux.workflow;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.saltlux.workflow.core.BaseWorkflowClient;
+import com.saltlux.workflow.core.common.WorkflowClientOptions;
 import com.saltlux.workflow.core.common.WorkflowContext;
 import com.saltlux.workflow.core.common.WorkflowListener;
 import com.saltlux.workflow.deepresearch.DeepresearchProcessor;
@@ -17,19 +19,55 @@ import com.saltlux.workflow.deepresearch.payload.ModelInfoPayloads.ModelInfoResp
 import com.saltlux.workflow.deepresearch.payload.messageable.ResearchResult;
 import com.saltlux.workflow.direct.payload.chatcompletion.Message;
 
+import reactor.core.publisher.Flux;
+
 public class WorkflowClient extends BaseWorkflowClient {
   private final DeepresearchProcessor deepResearchService;
 
   public WorkflowClient(final WebClient.Builder clientBuilder, final String url, final String apiKey,
       final FlowPathProperties properties) {
-    super(clientBuilder, url, apiKey);
-    this.deepResearchService = new DeepresearchProcessor(processor, properties, llmClient, objectMapper);
+    this(clientBuilder, url, apiKey, properties, WorkflowClientOptions.defaults());
+  }
+
+  /**
+   * 실행 옵션을 지정하여 WorkflowClient를 생성한다.
+   *
+   * @param clientBuilder WebClient.Builder 인스턴스
+   * @param url           워크플로우 API 베이스 URL
+   * @param apiKey        워크플로우 API 키
+   * @param properties    플로우 경로 설정
+   * @param options       클라이언트 실행 옵션 (executor 등)
+   */
+  public WorkflowClient(final WebClient.Builder clientBuilder, final String url, final String apiKey,
+      final FlowPathProperties properties, final WorkflowClientOptions options) {
+    super(clientBuilder, url, apiKey, options);
+    this.deepResearchService = new DeepresearchProcessor(processor, properties, llmClient, objectMapper,
+        this.options);
   }
 
   public ModelInfoResponse models() {
     return deepResearchService.models();
   }
 
+  /**
+   * 사용 가능한 LLM 모델 목록을 비동기로 조회한다.
+   *
+   * @return 모델 목록 CompletableFuture
+   */
+  public CompletableFuture<ModelInfoResponse> modelsAsync() {
+    return deepResearchService.modelsAsync().toFuture();
+  }
+
+  /**
+   * models, systemPrompt 캐시를 비운다.
+   * <p>
+   * 다음 조회는 워크플로우 서버에서 다시 받아온다.
+   * </p>
+   */
+  public void invalidateCaches() {
+    deepResearchService.invalidateCaches();
+  }
+
   /**
    * 시스템 프롬프트를 조회한다.
    *
@@ -40,6 +78,16 @@ public class WorkflowClient extends BaseWorkflowClient {
     return deepResearchService.systemPrompt(type);
   }
 
+  /**
+   * 시스템 프롬프트를 비동기로 조회한다.
+   *
+   * @param type 프롬프트 유형 (예: "deepresearch")
+   * @return 시스템 프롬프트 문자열 CompletableFuture
+   */
+  public CompletableFuture<String> systemPromptAsync(final String type) {
+    return deepResearchService.systemPromptAsync(type).toFuture();
+  }
+
   /**
    * 대화 내용을 기반으로 채팅방 제목을 생성한다.
    *
@@ -50,6 +98,16 @@ public class WorkflowClient extends BaseWorkflowClient {
     return deepResearchService.titleGeneration(req);
   }
 
+  /**
+   * 대화 내용을 기반으로 채팅방 제목을 비동기로 생성한다.
+   *
+   * @param req 제목 생성 요청 (사용자 질의, LLM 응답 포함)
+   * @return 생성된 제목 CompletableFuture
+   */
+  public CompletableFuture<TitleGenerationResponse> titleGenerationAsync(final TitleGenerationRequest req) {
+    return deepResearchService.titleGenerationAsync(req).toFuture();
+  }
+
   /**
    * 사용자 질의의 의도를 분류한다.
    *
@@ -66,6 +124,18 @@ public class WorkflowClient extends BaseWorkflowClient {
     return deepResearchService.intentClassification(req);
   }
 
+  /**
+   * 사용자 질의의 의도를 비동기로 분류한다.
+   *
+   * @param req 요청 객체 (history, lastQuery)
+   * @return {@link IntentClassificationResponse} 의도 분류 결과 CompletableFuture
+   * @see #intentClassification(ChatRequest)
+   */
+  public CompletableFuture<IntentClassificationResponse> intentClassificationAsync(
+      final ChatRequest req) {
+    return deepResearchService.intentClassificationAsync(req).toFuture();
+  }
+
   /**
    * 법률 관련 질의에 대해 법령과 판례를 검색하고 분석하여 응답을 생성하는 심층 연구 워크플로우를 비동기로 실행한다.
    *
@@ -88,4 +158,23 @@ public class WorkflowClient extends BaseWorkflowClient {
     return deepResearchService.deepresearch(model, history, lastQuery, listener);
   }
 
+  /**
+   * 심층 연구 워크플로우를 실행하고 이벤트를 구독자의 요청량(demand)을 따르는 Flux로 반환한다.
+   *
+   * <p>
+   * 느린 구독자는 이벤트를 쌓아두는 대신 파이프라인을 늦춘다. 마지막 요소는 누적된 전체 결과이며,
+   * 구독을 취소하면 워크플로우도 취소된다.
+   * </p>
+   *
+   * @param model     사용할 모델
+   * @param history   이전 대화 내역
+   * @param lastQuery 사용자의 마지막 질의
+   * @return 워크플로우 이벤트 Flux
+   * @see DeepresearchProcessor#deepresearchFlux(String, List, String)
+   */
+  public Flux<ResearchResult> deepresearchFlux(final String model, final List<Message> history,
+      final String lastQuery) {
+    return deepResearchService.deepresearchFlux(model, history, lastQuery);
+  }
+
 }
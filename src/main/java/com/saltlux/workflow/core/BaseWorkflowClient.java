@@ -1,9 +1,17 @@
 package com.saltlux.workflow.core;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltlux.workflow.core.common.DeltaCoalescingProperties;
+import com.saltlux.workflow.core.common.JsonSupport;
+import com.saltlux.workflow.core.common.MonitoredExecutor;
+import com.saltlux.workflow.core.common.TransportProperties;
+import com.saltlux.workflow.core.common.WorkflowClientOptions;
 import com.saltlux.workflow.core.common.WorkflowContext;
 import com.saltlux.workflow.core.common.WorkflowListener;
 import com.saltlux.workflow.core.common.WorkflowProcessor;
@@ -11,9 +19,11 @@ import com.saltlux.workflow.core.payload.WorkflowResponse;
 import com.saltlux.workflow.direct.DirectLlmProcessor;
 import com.saltlux.workflow.direct.payload.DirectLlmRequest;
 import com.saltlux.workflow.direct.payload.chatcompletion.AdvancedCompletionResponse;
+import com.saltlux.workflow.direct.payload.messageable.StreamDelta;
 
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * 워크플로우 API 클라이언트.
@@ -27,6 +37,8 @@ public abstract class BaseWorkflowClient {
   protected final WorkflowProcessor processor;
   protected final DirectLlmProcessor llmClient;
   protected final ObjectMapper objectMapper;
+  protected final MonitoredExecutor executor;
+  protected final WorkflowClientOptions options;
 
   /**
    * WorkflowClient를 생성한다.
@@ -36,9 +48,56 @@ public abstract class BaseWorkflowClient {
    * @param apiKey        워크플로우 API 키
    */
   protected BaseWorkflowClient(final WebClient.Builder clientBuilder, final String url, final String apiKey) {
-    this.objectMapper = new ObjectMapper();
-    this.processor = new WorkflowProcessor(clientBuilder, url, apiKey);
-    this.llmClient = new DirectLlmProcessor(clientBuilder, objectMapper);
+    this(clientBuilder, url, apiKey, WorkflowClientOptions.defaults());
+  }
+
+  /**
+   * 실행 옵션을 지정하여 WorkflowClient를 생성한다.
+   *
+   * @param clientBuilder WebClient.Builder 인스턴스
+   * @param url           워크플로우 API 베이스 URL
+   * @param apiKey        워크플로우 API 키
+   * @param options       클라이언트 실행 옵션
+   */
+  protected BaseWorkflowClient(final WebClient.Builder clientBuilder, final String url, final String apiKey,
+      final WorkflowClientOptions options) {
+    this.objectMapper = JsonSupport.createMapper(options.getJson());
+    this.executor = new MonitoredExecutor(options.getExecutor());
+    this.options = options.toBuilder().executor(executor).build();
+    this.processor = new WorkflowProcessor(
+        withTransport(clientBuilder, options.getWorkflowTransport(), "workflow"), url, apiKey,
+        objectMapper, this.options);
+    this.llmClient = new DirectLlmProcessor(
+        withTransport(clientBuilder, options.getLlmTransport(), "workflow-llm"), objectMapper, this.options);
+  }
+
+  /**
+   * 전송 설정이 있으면 전용 커넥터를 적용한 builder 복사본을 반환한다.
+   *
+   * <p>
+   * 원본 builder는 변경하지 않으므로 워크플로우/LLM 클라이언트가 서로의 설정(baseUrl, 인증 헤더 등)을 공유하지 않는다.
+   * </p>
+   */
+  private static WebClient.Builder withTransport(final WebClient.Builder clientBuilder,
+      final TransportProperties transport, final String name) {
+    final WebClient.Builder builder = clientBuilder.clone();
+    if (transport != null) {
+      builder.clientConnector(transport.createConnector(name));
+    }
+    return builder;
+  }
+
+  /**
+   * 블로킹 작업 executor의 실행 현황을 반환한다.
+   *
+   * <p>
+   * {@code queued}나 {@code avgQueueWaitNanos}가 계속 증가하면 executor가 포화된 상태다.
+   * </p>
+   *
+   * @return executor 실행 현황
+   */
+  public MonitoredExecutor.Stats getExecutorStats() {
+    return executor.getStats();
   }
 
   /**
@@ -55,6 +114,38 @@ public abstract class BaseWorkflowClient {
     return processor.getResult(flowPath, body, typeRef);
   }
 
+  /**
+   * 워크플로우 서버에 단건 요청을 보내고 결과 Mono를 반환한다.
+   *
+   * <p>
+   * 응답 대기 중 스레드를 점유하지 않는다.
+   * </p>
+   *
+   * @param <T>      응답 타입
+   * @param flowPath 플로우 경로
+   * @param body     요청 body
+   * @param typeRef  응답 타입 레퍼런스
+   * @return 응답 결과 Mono
+   */
+  public <T> Mono<T> getResultAsync(final String flowPath, final Object body,
+      final ParameterizedTypeReference<WorkflowResponse<T>> typeRef) {
+    return processor.getResultAsync(flowPath, body, typeRef);
+  }
+
+  /**
+   * 워크플로우 서버에 단건 요청을 보내고 결과 CompletableFuture를 반환한다.
+   *
+   * @param <T>      응답 타입
+   * @param flowPath 플로우 경로
+   * @param body     요청 body
+   * @param typeRef  응답 타입 레퍼런스
+   * @return 응답 결과 CompletableFuture
+   */
+  public <T> CompletableFuture<T> getResultFuture(final String flowPath, final Object body,
+      final ParameterizedTypeReference<WorkflowResponse<T>> typeRef) {
+    return processor.getResultFuture(flowPath, body, typeRef);
+  }
+
   /**
    * 워크플로우 서버에 스트리밍 요청을 보내고 Flux를 반환한다.
    *
@@ -80,4 +171,68 @@ public abstract class BaseWorkflowClient {
       final WorkflowListener<AdvancedCompletionResponse> listener) {
     return llmClient.streamToContext(request, listener);
   }
+
+  /**
+   * delta 병합 설정을 지정하여 OpenAI 호환 LLM API에 직접 스트리밍 요청을 보낸다.
+   *
+   * @param request    LLM 요청 (baseUrl, apiKey, body 포함)
+   * @param listener   스트리밍 이벤트를 수신할 리스너
+   * @param coalescing delta 병합 설정 (예: {@code DeltaCoalescingProperties.enabled()})
+   */
+  public WorkflowContext<AdvancedCompletionResponse> streamLlm(
+      final DirectLlmRequest request,
+      final WorkflowListener<AdvancedCompletionResponse> listener,
+      final DeltaCoalescingProperties coalescing) {
+    return llmClient.streamToContext(request, listener, coalescing);
+  }
+
+  /**
+   * 같은 요청을 여러 LLM 엔드포인트에 동시에 보내고, 가장 먼저 토큰을 생성한 응답을 사용한다.
+   *
+   * <p>
+   * 나머지 요청은 첫 토큰이 선택되는 즉시 취소된다. 서버 부하가 요청 수만큼 늘어나므로
+   * 첫 토큰 지연(TTFT)이 중요한 대화형 요청에만 사용한다.
+   * </p>
+   *
+   * @param requests 엔드포인트(baseUrl, apiKey)만 다른 요청 목록
+   * @param listener 스트리밍 이벤트를 수신할 리스너
+   * @see DirectLlmProcessor#streamRaceToContext(List, WorkflowListener)
+   */
+  public WorkflowContext<AdvancedCompletionResponse> streamLlmRace(
+      final List<DirectLlmRequest> requests,
+      final WorkflowListener<AdvancedCompletionResponse> listener) {
+    return llmClient.streamRaceToContext(requests, listener);
+  }
+
+  /**
+   * OpenAI 호환 LLM API에 직접 스트리밍 요청을 보내고, 구독자의 요청량을 따르는 Flux로 반환한다.
+   *
+   * <p>
+   * 느린 구독자는 버퍼를 늘리지 않고 HTTP 읽기를 늦춘다. 마지막 요소는 누적된 전체 메시지를
+   * {@code choices[0].message}에 담은 응답이다.
+   * </p>
+   *
+   * @param request LLM 요청 (baseUrl, apiKey, body 포함)
+   * @return delta 응답 Flux
+   * @see DirectLlmProcessor#streamFlux(DirectLlmRequest)
+   */
+  public Flux<AdvancedCompletionResponse> streamLlmFlux(final DirectLlmRequest request) {
+    return llmClient.streamFlux(request);
+  }
+
+  /**
+   * OpenAI 호환 LLM API에 직접 스트리밍 요청을 보내고, 경량 delta 이벤트 Flux로 반환한다.
+   *
+   * <p>
+   * {@link #streamLlmFlux}와 달리 토큰마다 응답 객체를 만들지 않으며, 누적된 전체 메시지는 전달하지 않는다.
+   * 많은 스트림을 동시에 중계하는 경우에 사용한다.
+   * </p>
+   *
+   * @param request LLM 요청 (baseUrl, apiKey, body 포함)
+   * @return delta 이벤트 Flux
+   * @see DirectLlmProcessor#streamDeltas(DirectLlmRequest)
+   */
+  public Flux<StreamDelta> streamLlmDeltas(final DirectLlmRequest request) {
+    return llmClient.streamDeltas(request);
+  }
 }
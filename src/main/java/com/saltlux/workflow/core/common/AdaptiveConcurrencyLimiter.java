@@ -0,0 +1,217 @@
+package com.saltlux.workflow.core.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.saltlux.workflow.core.common.WorkflowExceptions.ConcurrencyLimitException;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * 관측 지연 시간에 따라 동시 실행 수를 조절하는 AIMD 방식 제한기.
+ *
+ * <p>
+ * {@link #acquire()}로 받은 {@link Permit}은 작업이 끝나면 반드시 {@link Permit#release()}로 반납해야 한다.
+ * 작업 중 관측한 지연 시간은 {@link Permit#onSample(long)}, 과부하 응답은 {@link Permit#onDropped()}로 알린다.
+ * 설정은 {@link ConcurrencyLimitProperties}를 참고한다.
+ * </p>
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+  /** 기준 지연이 최근 지연 쪽으로 이동하는 비율 (부하 패턴 변화에 천천히 적응) */
+  private static final double BASELINE_DRIFT = 0.01;
+
+  private final String name;
+
+  private final ConcurrencyLimitProperties properties;
+
+  private final Deque<MonoSink<Permit>> waiters = new ArrayDeque<>();
+
+  private double limit;
+
+  private int inFlight;
+
+  /** 기준 지연 (나노초, 0이면 미관측) */
+  private long baselineNanos;
+
+  /**
+   * 제한기를 생성한다.
+   *
+   * @param name       제한 대상 이름 (예외 메시지용)
+   * @param properties 동시 실행 제한 설정
+   */
+  public AdaptiveConcurrencyLimiter(final String name, final ConcurrencyLimitProperties properties) {
+    this.name = name;
+    this.properties = properties;
+    this.limit = Math.max(properties.getMinLimit(), properties.getInitialLimit());
+  }
+
+  /**
+   * 주어진 예외가 과부하 신호인지 확인한다.
+   *
+   * @param e 발생한 예외
+   * @return 429/503/504 응답 또는 타임아웃이면 true
+   */
+  public static boolean isOverload(final Throwable e) {
+    return switch (e) {
+      case WebClientResponseException wre -> {
+        final int status = wre.getStatusCode().value();
+        yield status == 429 || status == 503 || status == 504;
+      }
+      case TimeoutException te -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * 실행 허가를 요청한다.
+   *
+   * <p>
+   * 제한 이내이면 즉시 허가하고, 초과하면 대기열에서 기다린다.
+   * 대기열이 가득 찼거나 대기 시간이 지나면 {@link ConcurrencyLimitException}으로 실패한다.
+   * 허가 전에 구독이 취소되면 대기열에서 제거된다.
+   * </p>
+   *
+   * @return 실행 허가 Mono
+   */
+  public Mono<Permit> acquire() {
+    return Mono.<Permit>create(sink -> {
+      Permit granted = null;
+      boolean rejected = false;
+      synchronized (this) {
+        if (inFlight < currentLimit() && waiters.isEmpty()) {
+          inFlight++;
+          granted = new Permit();
+        } else if (waiters.size() < properties.getMaxQueueSize()) {
+          waiters.add(sink);
+          sink.onCancel(() -> removeWaiter(sink));
+        } else {
+          rejected = true;
+        }
+      }
+      if (granted != null) {
+        sink.success(granted);
+      } else if (rejected) {
+        sink.error(new ConcurrencyLimitException(name));
+      }
+    })
+        .timeout(properties.getQueueTimeout(), Mono.error(() -> new ConcurrencyLimitException(name)))
+        .doOnDiscard(Permit.class, Permit::release);
+  }
+
+  /**
+   * 현재 동시 실행 제한을 반환한다.
+   *
+   * @return 동시 실행 제한
+   */
+  public synchronized int getLimit() {
+    return currentLimit();
+  }
+
+  /**
+   * 실행 중인 작업 수를 반환한다.
+   *
+   * @return 실행 중인 작업 수
+   */
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * 대기 중인 요청 수를 반환한다.
+   *
+   * @return 대기 중인 요청 수
+   */
+  public synchronized int getQueued() {
+    return waiters.size();
+  }
+
+  private int currentLimit() {
+    return Math.max(properties.getMinLimit(), (int) limit);
+  }
+
+  private synchronized void removeWaiter(final MonoSink<Permit> sink) {
+    waiters.remove(sink);
+  }
+
+  private synchronized void sample(final long latencyNanos) {
+    if (baselineNanos == 0 || latencyNanos < baselineNanos) {
+      baselineNanos = latencyNanos;
+    } else {
+      baselineNanos += (long) ((latencyNanos - baselineNanos) * BASELINE_DRIFT);
+    }
+    if (latencyNanos > baselineNanos * properties.getLatencyTolerance()) {
+      decrease();
+    } else if (inFlight * 2 >= currentLimit()) {
+      // 제한의 절반 이상을 사용 중일 때만 늘림 (부하가 없을 때 제한이 무한히 커지는 것을 방지)
+      limit = Math.min(properties.getMaxLimit(), limit + 1.0 / limit);
+    }
+  }
+
+  private synchronized void decrease() {
+    limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+  }
+
+  private void releaseAndDrain() {
+    final List<MonoSink<Permit>> granted = new ArrayList<>();
+    synchronized (this) {
+      inFlight--;
+      while (inFlight < currentLimit() && !waiters.isEmpty()) {
+        inFlight++;
+        granted.add(waiters.poll());
+      }
+    }
+    for (final MonoSink<Permit> sink : granted) {
+      sink.success(new Permit());
+    }
+  }
+
+  /**
+   * 실행 허가.
+   */
+  public final class Permit {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private final AtomicBoolean sampled = new AtomicBoolean();
+
+    private Permit() {
+    }
+
+    /**
+     * 관측한 지연 시간을 알린다. 허가당 첫 번째 호출만 반영된다.
+     *
+     * @param latencyNanos 지연 시간 (나노초)
+     */
+    public void onSample(final long latencyNanos) {
+      if (sampled.compareAndSet(false, true)) {
+        sample(latencyNanos);
+      }
+    }
+
+    /**
+     * 과부하 응답을 받았음을 알린다. 동시 실행 제한이 줄어든다.
+     */
+    public void onDropped() {
+      if (sampled.compareAndSet(false, true)) {
+        decrease();
+      }
+    }
+
+    /**
+     * 허가를 반납한다. 여러 번 호출해도 한 번만 반영된다.
+     */
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        releaseAndDrain();
+      }
+    }
+  }
+}
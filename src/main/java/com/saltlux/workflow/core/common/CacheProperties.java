@@ -0,0 +1,43 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 읽기 위주 플로우 결과 캐시 설정.
+ *
+ * <p>
+ * 항목의 나이에 따라 다음과 같이 동작한다.
+ * <ul>
+ * <li>{@code refreshAfter} 이전: 캐시된 값을 반환</li>
+ * <li>{@code refreshAfter} ~ {@code ttl}: 캐시된 값을 반환하고 백그라운드에서 갱신</li>
+ * <li>{@code ttl} 이후: 동기로 다시 조회하며, 조회 실패 시 {@code ttl + staleIfError}까지는 이전 값을 반환</li>
+ * </ul>
+ * </p>
+ */
+@Getter
+@Builder
+public class CacheProperties {
+
+  /** 캐시 사용 여부 */
+  @Builder.Default
+  private final boolean enabled = true;
+
+  /** 항목 유효 시간 */
+  @Builder.Default
+  private final Duration ttl = Duration.ofMinutes(10);
+
+  /** 백그라운드 갱신을 시작할 항목 나이 (ttl보다 작아야 함) */
+  @Builder.Default
+  private final Duration refreshAfter = Duration.ofMinutes(8);
+
+  /** ttl 만료 후 조회 실패 시 이전 값을 계속 사용할 수 있는 기간 */
+  @Builder.Default
+  private final Duration staleIfError = Duration.ofHours(1);
+
+  /** 캐시 최대 항목 수 */
+  @Builder.Default
+  private final int maxEntries = 256;
+}
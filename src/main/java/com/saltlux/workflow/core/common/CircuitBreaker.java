@@ -0,0 +1,152 @@
+package com.saltlux.workflow.core.common;
+
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * 호출 수 기반 슬라이딩 윈도우 서킷 브레이커.
+ *
+ * <p>
+ * 상태 전이는 모두 동기화되어 있으며, 호출 하나당 {@link #tryAcquire()} 후
+ * {@link #onSuccess()}, {@link #onFailure()}, {@link #onIgnored()} 중 하나를 정확히 한 번 호출해야 한다.
+ * </p>
+ */
+final class CircuitBreaker {
+
+  private enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final CircuitBreakerProperties properties;
+
+  /** 최근 호출 결과 (true: 실패) */
+  private final boolean[] window;
+
+  private int next;
+
+  private int calls;
+
+  private int failures;
+
+  private State state = State.CLOSED;
+
+  private long openedAt;
+
+  private int halfOpenInFlight;
+
+  private int halfOpenSuccesses;
+
+  CircuitBreaker(final CircuitBreakerProperties properties) {
+    this.properties = properties;
+    this.window = new boolean[Math.max(1, properties.getWindowSize())];
+  }
+
+  /**
+   * 주어진 예외가 서킷 브레이커 실패로 집계되는지 확인한다.
+   *
+   * @param e 발생한 예외
+   * @return 실패 집계 대상 여부
+   */
+  static boolean isFailure(final Throwable e) {
+    return switch (e) {
+      case WebClientResponseException wre -> wre.getStatusCode().is5xxServerError();
+      case WebClientRequestException wre -> true;
+      case TimeoutException te -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * 호출 허용 여부를 확인한다.
+   *
+   * @return 호출할 수 있으면 true
+   */
+  synchronized boolean tryAcquire() {
+    if (state == State.OPEN) {
+      if (System.nanoTime() - openedAt < properties.getOpenDuration().toNanos()) {
+        return false;
+      }
+      state = State.HALF_OPEN;
+      halfOpenInFlight = 0;
+      halfOpenSuccesses = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (halfOpenInFlight >= properties.getHalfOpenPermits()) {
+        return false;
+      }
+      halfOpenInFlight++;
+    }
+    return true;
+  }
+
+  /**
+   * 서킷이 열려 있는지 확인한다.
+   *
+   * @return 열린 상태이고 대기 시간이 지나지 않았으면 true
+   */
+  synchronized boolean isOpen() {
+    return state == State.OPEN
+        && System.nanoTime() - openedAt < properties.getOpenDuration().toNanos();
+  }
+
+  /** 호출 성공을 기록한다. */
+  synchronized void onSuccess() {
+    if (state == State.HALF_OPEN) {
+      halfOpenInFlight--;
+      if (++halfOpenSuccesses >= properties.getHalfOpenPermits()) {
+        close();
+      }
+    } else if (state == State.CLOSED) {
+      record(false);
+    }
+  }
+
+  /** 호출 실패를 기록한다. */
+  synchronized void onFailure() {
+    if (state == State.HALF_OPEN) {
+      open();
+    } else if (state == State.CLOSED) {
+      record(true);
+      if (calls >= properties.getMinimumCalls()
+          && (double) failures / calls >= properties.getFailureRateThreshold()) {
+        open();
+      }
+    }
+  }
+
+  /** 결과를 집계하지 않고 호출 허가만 반납한다 (취소 등). */
+  synchronized void onIgnored() {
+    if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+      halfOpenInFlight--;
+    }
+  }
+
+  private void record(final boolean failed) {
+    if (calls == window.length) {
+      if (window[next]) {
+        failures--;
+      }
+    } else {
+      calls++;
+    }
+    window[next] = failed;
+    if (failed) {
+      failures++;
+    }
+    next = (next + 1) % window.length;
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = System.nanoTime();
+  }
+
+  private void close() {
+    state = State.CLOSED;
+    next = 0;
+    calls = 0;
+    failures = 0;
+  }
+}
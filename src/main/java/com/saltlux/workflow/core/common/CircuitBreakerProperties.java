@@ -0,0 +1,46 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 플로우별 서킷 브레이커 설정.
+ *
+ * <p>
+ * 최근 {@code windowSize}회 호출 중 실패 비율이 {@code failureRateThreshold} 이상이면 서킷을 열고,
+ * {@code openDuration} 동안 요청을 보내지 않고 즉시 실패시킨다.
+ * 이후 {@code halfOpenPermits}개의 시험 요청이 모두 성공하면 서킷을 닫는다.
+ * 실패로 집계하는 것은 5xx 응답, 연결 실패 등 전송 오류, 타임아웃이며,
+ * 워크플로우 서버가 정상 응답으로 돌려준 오류는 실패로 집계하지 않는다.
+ * </p>
+ */
+@Getter
+@Builder
+public class CircuitBreakerProperties {
+
+  /** 서킷 브레이커 사용 여부 */
+  @Builder.Default
+  private final boolean enabled = true;
+
+  /** 실패율을 계산할 최근 호출 수 */
+  @Builder.Default
+  private final int windowSize = 20;
+
+  /** 실패율을 계산하기 위한 최소 호출 수 */
+  @Builder.Default
+  private final int minimumCalls = 10;
+
+  /** 서킷을 여는 실패율 (0.0 ~ 1.0) */
+  @Builder.Default
+  private final double failureRateThreshold = 0.5;
+
+  /** 서킷이 열린 상태를 유지하는 시간 */
+  @Builder.Default
+  private final Duration openDuration = Duration.ofSeconds(30);
+
+  /** half-open 상태에서 허용하는 시험 요청 수 */
+  @Builder.Default
+  private final int halfOpenPermits = 3;
+}
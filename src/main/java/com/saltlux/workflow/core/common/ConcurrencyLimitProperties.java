@@ -0,0 +1,62 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 적응형 동시 실행 제한 설정.
+ *
+ * <p>
+ * 응답 지연 시간이 기준 지연(관측된 최소 지연)의 {@code latencyTolerance}배 이내이면 표본마다 제한을 {@code 1 / limit}만큼 늘리고
+ * (현재 제한만큼의 요청이 완료될 때마다 약 1씩 늘어나는 additive increase), 이를 넘거나 과부하 응답(429/503/504, 타임아웃)을 받으면 {@code backoffRatio}를 곱해 줄인다(multiplicative decrease).
+ * 제한을 초과한 요청은 최대 {@code maxQueueSize}개까지 {@code queueTimeout} 동안 대기하며,
+ * 대기열이 가득 차거나 대기 시간이 지나면 {@link WorkflowExceptions.ConcurrencyLimitException}으로 실패한다.
+ * </p>
+ */
+@Getter
+@Builder
+public class ConcurrencyLimitProperties {
+
+  /** 동시 실행 제한 사용 여부 */
+  @Builder.Default
+  private final boolean enabled = false;
+
+  /** 초기 동시 실행 제한 */
+  @Builder.Default
+  private final int initialLimit = 20;
+
+  /** 최소 동시 실행 제한 */
+  @Builder.Default
+  private final int minLimit = 1;
+
+  /** 최대 동시 실행 제한 */
+  @Builder.Default
+  private final int maxLimit = 200;
+
+  /** 기준 지연 대비 허용 배율 (이를 넘으면 제한을 줄임) */
+  @Builder.Default
+  private final double latencyTolerance = 2.0;
+
+  /** 제한을 줄일 때 곱하는 비율 (0.0 ~ 1.0) */
+  @Builder.Default
+  private final double backoffRatio = 0.9;
+
+  /** 최대 대기 요청 수 (0이면 대기 없이 즉시 거절) */
+  @Builder.Default
+  private final int maxQueueSize = 100;
+
+  /** 최대 대기 시간 */
+  @Builder.Default
+  private final Duration queueTimeout = Duration.ofSeconds(5);
+
+  /**
+   * 기본 설정으로 활성화된 동시 실행 제한을 반환한다.
+   *
+   * @return 활성화된 설정
+   */
+  public static ConcurrencyLimitProperties enabled() {
+    return ConcurrencyLimitProperties.builder().enabled(true).build();
+  }
+}
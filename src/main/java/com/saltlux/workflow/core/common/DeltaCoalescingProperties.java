@@ -0,0 +1,41 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * LLM 스트리밍 delta 병합 설정.
+ *
+ * <p>
+ * 활성화하면 연속된 content(또는 reasoning) delta를 {@code window} 동안 또는 {@code maxChars}자가 될 때까지 모아
+ * 한 번에 전달한다. 인용(citation), toolCalls, finishReason이 있는 delta와
+ * content/reasoning 전환 시점에서는 모아둔 내용을 먼저 전달하므로 순서와 경계가 유지된다.
+ * </p>
+ */
+@Getter
+@Builder
+public class DeltaCoalescingProperties {
+
+  /** 병합 사용 여부 */
+  @Builder.Default
+  private final boolean enabled = false;
+
+  /** 최대 병합 시간 (첫 delta를 받은 시점부터) */
+  @Builder.Default
+  private final Duration window = Duration.ofMillis(30);
+
+  /** 최대 병합 글자 수 */
+  @Builder.Default
+  private final int maxChars = 64;
+
+  /**
+   * 기본 설정으로 활성화된 병합 설정을 반환한다.
+   *
+   * @return 활성화된 설정
+   */
+  public static DeltaCoalescingProperties enabled() {
+    return DeltaCoalescingProperties.builder().enabled(true).build();
+  }
+}
@@ -0,0 +1,34 @@
+package com.saltlux.workflow.core.common;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * deepresearch 단계별 첨부 문서 토큰 예산 설정.
+ *
+ * <p>
+ * 예산을 지정한 단계는 검색 점수(rerank 점수, 없으면 fused 점수)가 높은 문서부터 예산 안에 들어가는 만큼만 요청에 포함한다.
+ * 예산을 넘는 문서는 건너뛰고 더 작은 다음 문서를 계속 시도한다. 제외된 문서 ID는 결과의
+ * {@code droppedDocumentIds}로 전달된다. 0이면 해당 단계는 모든 문서를 포함한다.
+ * </p>
+ */
+@Getter
+@Builder
+public class DocumentBudgetProperties {
+
+  /** 검색 시도별 분석(index-level analysis) 문서 토큰 예산 (0이면 제한 없음) */
+  @Builder.Default
+  private final int indexAnalysisTokens = 0;
+
+  /** 전체 분석(global analysis) 문서 토큰 예산 (0이면 제한 없음) */
+  @Builder.Default
+  private final int globalAnalysisTokens = 0;
+
+  /** 분석/계획(analyze-and-plan) 문서 토큰 예산 (0이면 제한 없음) */
+  @Builder.Default
+  private final int analyzeAndPlanTokens = 0;
+
+  /** 문서 토큰 수 추정기 */
+  @Builder.Default
+  private final TokenEstimator tokenEstimator = TokenEstimator.DEFAULT;
+}
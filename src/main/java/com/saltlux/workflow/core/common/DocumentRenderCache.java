@@ -0,0 +1,221 @@
+package com.saltlux.workflow.core.common;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 문서의 프롬프트 문자열과 JSON 직렬화 결과를 재사용하는 LRU 캐시.
+ *
+ * <p>
+ * deepresearch 한 번에 같은 법령/판례 청크가 검색 시도별 분석, 전체 분석, 분석/계획 요청에서 반복 직렬화되고,
+ * 이후 대화 턴마다 {@code ResearchedMessage}로 다시 프롬프트에 렌더링된다.
+ * 문서 타입, ID, 값 기반 hashCode로 항목을 찾고, 저장해 둔 문서와 {@code equals}로 같을 때만 렌더링 결과를 재사용한다.
+ * JSON은 UTF-8로 인코딩된 바이트까지 보관하므로 요청 본문에 그대로 복사된다.
+ * </p>
+ *
+ * <p>
+ * 클라이언트마다 {@link WorkflowClientOptions#getDocumentRenderCache()}에 하나를 둔다.
+ * 문서 타입에 맞는 렌더링은 호출하는 쪽에서 지정하며, {@code IDocument}는
+ * {@code com.saltlux.workflow.direct.common.DocumentRendering}을 통해 사용한다.
+ * </p>
+ *
+ * <p>
+ * 문서 구현체는 값 기반 {@code equals/hashCode}를 제공해야 하며(Lombok {@code @EqualsAndHashCode}),
+ * 캐시에 들어간 뒤에는 변경하지 않아야 한다. ID가 없는 문서는 캐시하지 않는다.
+ * 보관량은 문자열/바이트 크기의 합으로 제한하며, 넘으면 가장 오래 사용되지 않은 항목부터 제거한다.
+ * </p>
+ */
+public final class DocumentRenderCache {
+
+  /** 기본 최대 보관량 (약 32MB) */
+  public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+  /** 캐시하지 않고 매번 렌더링하는 인스턴스 (캐시를 지정하지 않은 변환에 사용) */
+  public static final DocumentRenderCache DISABLED = new DocumentRenderCache(0);
+
+  private final long maxBytes;
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+  private long bytes;
+
+  private long hits;
+
+  private long misses;
+
+  /**
+   * @param maxBytes 최대 보관량 (프롬프트는 문자당 2바이트, JSON은 인코딩된 바이트 수로 계산, 0이면 캐시하지 않음)
+   */
+  public DocumentRenderCache(final long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * 문서를 캐시할 수 있는지 확인한다.
+   *
+   * @param id 문서 ID
+   * @return 캐시가 활성화되어 있고 ID가 있으면 true
+   */
+  public boolean isCacheable(final String id) {
+    return maxBytes > 0 && id != null;
+  }
+
+  /**
+   * 문서의 프롬프트 문자열을 반환한다.
+   *
+   * @param <D>      문서 타입
+   * @param document 문서
+   * @param id       문서 ID (null이면 캐시하지 않음)
+   * @param renderer 프롬프트 문자열 생성 함수
+   * @return 프롬프트 문자열
+   */
+  public <D> String prompt(final D document, final String id, final Function<? super D, String> renderer) {
+    final Key key = keyOf(document, id);
+    if (key == null) {
+      return renderer.apply(document);
+    }
+    synchronized (this) {
+      final Entry entry = entries.get(key);
+      if (entry != null && entry.prompt != null && entry.matches(document)) {
+        hits++;
+        return entry.prompt;
+      }
+      misses++;
+    }
+    final String prompt = renderer.apply(document);
+    synchronized (this) {
+      final Entry entry = entryFor(key, document);
+      if (entry.prompt == null) {
+        entry.prompt = prompt;
+        resize(entry, (long) prompt.length() * 2);
+      }
+    }
+    return prompt;
+  }
+
+  /**
+   * 문서의 JSON 직렬화 결과를 반환한다. 런타임 타입으로 직렬화하므로 타입 정보({@code @JsonTypeInfo})를 포함한다.
+   *
+   * @param document 문서
+   * @param id       문서 ID (null이면 캐시하지 않음)
+   * @param mapper   직렬화에 사용할 ObjectMapper
+   * @return UTF-8 인코딩이 준비된 JSON
+   * @throws IOException 직렬화 실패 시
+   */
+  public SerializedString json(final Object document, final String id, final ObjectMapper mapper) throws IOException {
+    final Key key = keyOf(document, id);
+    if (key == null) {
+      return encode(document, mapper);
+    }
+    synchronized (this) {
+      final Entry entry = entries.get(key);
+      if (entry != null && entry.json != null && entry.jsonMapper == mapper && entry.matches(document)) {
+        hits++;
+        return entry.json;
+      }
+      misses++;
+    }
+    final SerializedString json = encode(document, mapper);
+    synchronized (this) {
+      final Entry entry = entryFor(key, document);
+      final long previous = entry.json == null ? 0 : entry.json.asUnquotedUTF8().length;
+      entry.json = json;
+      entry.jsonMapper = mapper;
+      resize(entry, json.asUnquotedUTF8().length - previous);
+    }
+    return json;
+  }
+
+  /**
+   * 모든 항목을 제거한다.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  /** @return 현재 보관량 (바이트) */
+  public synchronized long getBytes() {
+    return bytes;
+  }
+
+  /** @return 캐시 적중 횟수 */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /** @return 캐시 미스 횟수 */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  private Key keyOf(final Object document, final String id) {
+    if (!isCacheable(id)) {
+      return null;
+    }
+    return new Key(document.getClass(), id, document.hashCode());
+  }
+
+  /**
+   * 문서의 항목을 반환한다. 키가 같지만 다른 문서(hashCode 충돌)의 항목이면 새 항목으로 교체한다. 잠금 안에서 호출한다.
+   */
+  private Entry entryFor(final Key key, final Object document) {
+    final Entry existing = entries.get(key);
+    if (existing != null && existing.matches(document)) {
+      return existing;
+    }
+    if (existing != null) {
+      bytes -= existing.bytes;
+    }
+    final Entry entry = new Entry(document);
+    entries.put(key, entry);
+    return entry;
+  }
+
+  private static SerializedString encode(final Object document, final ObjectMapper mapper) throws IOException {
+    final SerializedString json = new SerializedString(mapper.writeValueAsString(document));
+    // UTF-8 바이트를 미리 인코딩해 두어 이후 요청에서 그대로 복사되도록 한다
+    json.asUnquotedUTF8();
+    return json;
+  }
+
+  /**
+   * 항목 크기를 반영하고 최대 보관량을 넘으면 오래된 항목부터 제거한다. 잠금 안에서 호출한다.
+   */
+  private void resize(final Entry entry, final long delta) {
+    entry.bytes += delta;
+    bytes += delta;
+    final Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+    while (bytes > maxBytes && eldest.hasNext()) {
+      final Entry evicted = eldest.next().getValue();
+      eldest.remove();
+      bytes -= evicted.bytes;
+    }
+  }
+
+  private record Key(Class<?> type, String id, int hash) {
+  }
+
+  private static final class Entry {
+    /** 렌더링한 문서 (키의 hashCode가 같은 다른 문서와 구분) */
+    final Object document;
+    String prompt;
+    SerializedString json;
+    ObjectMapper jsonMapper;
+    long bytes;
+
+    Entry(final Object document) {
+      this.document = document;
+    }
+
+    boolean matches(final Object other) {
+      return document == other || document.equals(other);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 플로우 경로별 호출 정책.
+ *
+ * <p>
+ * {@link WorkflowClientOptions#getFlowPolicies()}에 플로우 경로별로 등록하며,
+ * 등록되지 않은 경로에는 {@link WorkflowClientOptions#getDefaultFlowPolicy()}가 적용된다.
+ * </p>
+ *
+ * <p>
+ * 재시도, hedging, 요청 병합은 모두 기본으로 꺼져 있다. 같은 요청이 서버에서 두 번 실행되거나
+ * 여러 호출이 한 번의 실행 결과를 공유하게 되므로 멱등(idempotent)한 조회 플로우에만 켠다.
+ * hedging은 1차 요청이 {@code hedgeDelay} 안에 응답하지 않으면 같은 요청을 한 번 더 보내고 먼저 도착한 응답을 사용하며,
+ * 나머지 요청은 취소한다.
+ * </p>
+ *
+ * <pre>{@code
+ * FlowPolicy retrieval = FlowPolicy.builder()
+ *     .retry(RetryProperties.builder().maxAttempts(3).build())
+ *     .hedge(true)
+ *     .coalesce(true)
+ *     .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class FlowPolicy {
+
+  /** 재시도 설정 (기본값: 재시도 없음) */
+  @Builder.Default
+  private final RetryProperties retry = RetryProperties.none();
+
+  /** hedged request 사용 여부 */
+  @Builder.Default
+  private final boolean hedge = false;
+
+  /**
+   * hedge 요청을 보내기 전 대기 시간.
+   * <p>
+   * null이면 해당 플로우의 관측 p95 지연 시간을 사용한다.
+   * </p>
+   */
+  private final Duration hedgeDelay;
+
+  /** 관측 지연 표본이 충분하지 않을 때 사용할 hedge 대기 시간 */
+  @Builder.Default
+  private final Duration hedgeFallbackDelay = Duration.ofSeconds(2);
+
+  /** hedge 대기 시간 하한 (p95가 너무 작을 때 요청이 두 배로 늘어나는 것을 방지) */
+  @Builder.Default
+  private final Duration minHedgeDelay = Duration.ofMillis(50);
+
+  /**
+   * 동일한 요청 병합(single-flight) 사용 여부.
+   * <p>
+   * 응답 타입과 요청 본문이 같은 요청이 동시에 들어오면 HTTP 요청을 한 번만 보내고 결과를 공유한다.
+   * 같은 본문이라도 호출마다 결과가 달라야 하는 플로우(생성, 기록 등)에는 켜지 않는다.
+   * </p>
+   */
+  @Builder.Default
+  private final boolean coalesce = false;
+
+  /** 서킷 브레이커 설정 */
+  @Builder.Default
+  private final CircuitBreakerProperties circuitBreaker = CircuitBreakerProperties.builder().build();
+
+  /**
+   * 플로우별 최대 동시 호출 수 (bulkhead).
+   * <p>
+   * 초과한 요청은 대기하지 않고 {@link WorkflowExceptions.BulkheadFullException}으로 즉시 실패한다.
+   * 0 이하이면 제한하지 않는다.
+   * </p>
+   */
+  @Builder.Default
+  private final int maxConcurrentCalls = 0;
+
+  /**
+   * 적응형 동시 실행 제한 설정 (기본 비활성).
+   * <p>
+   * {@code maxConcurrentCalls}가 고정 상한이라면, 이 설정은 관측 지연 시간에 따라 상한을 조절하고
+   * 초과 요청을 대기열에서 기다리게 한다.
+   * </p>
+   */
+  @Builder.Default
+  private final ConcurrencyLimitProperties concurrencyLimit = ConcurrencyLimitProperties.builder().build();
+
+  /**
+   * 기본 정책을 반환한다.
+   *
+   * @return 기본 정책
+   */
+  public static FlowPolicy defaults() {
+    return FlowPolicy.builder().build();
+  }
+}
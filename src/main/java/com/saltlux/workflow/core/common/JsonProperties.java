@@ -0,0 +1,39 @@
+package com.saltlux.workflow.core.common;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 클라이언트 공용 JSON 매퍼 설정.
+ *
+ * <p>
+ * 요청 직렬화, 워크플로우 응답 디코딩(WebClient 코덱), SSE 파싱, LLM 응답 JSON 파싱이 모두
+ * 이 설정으로 만든 하나의 ObjectMapper를 사용한다.
+ * </p>
+ *
+ * @see JsonSupport
+ */
+@Getter
+@Builder
+public class JsonProperties {
+
+  /**
+   * 알 수 없는 속성이 있으면 역직렬화를 실패시킬지 여부.
+   * <p>
+   * 기본값은 Spring WebClient 기본 코덱과 같은 false이다. 서버가 필드를 추가해도 응답을 읽을 수 있다.
+   * </p>
+   */
+  @Builder.Default
+  private final boolean failOnUnknownProperties = false;
+
+  /**
+   * Blackbird 모듈 사용 여부 (기본 비활성).
+   * <p>
+   * getter/setter/생성자 호출을 리플렉션 대신 생성된 람다로 처리하여 (역)직렬화 속도를 높인다.
+   * {@code com.fasterxml.jackson.module:jackson-module-blackbird} 의존성을 직접 추가해야 하며,
+   * 없으면 클라이언트 생성 시 {@link IllegalStateException}이 발생한다.
+   * </p>
+   */
+  @Builder.Default
+  private final boolean blackbird = false;
+}
@@ -0,0 +1,139 @@
+package com.saltlux.workflow.core.common;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * 클라이언트 공용 ObjectMapper와 타입별 ObjectReader/ObjectWriter 캐시.
+ *
+ * <p>
+ * {@code ObjectMapper.readValue(String, TypeReference)}는 호출마다 타입을 해석하고 루트 deserializer를 찾는다.
+ * 이 클래스는 페이로드 타입별로 한 번 만든 reader/writer를 재사용하여 그 비용을 없앤다.
+ * reader/writer는 불변이므로 여러 스레드에서 공유해도 안전하다.
+ * </p>
+ *
+ * <pre>{@code
+ * ObjectMapper mapper = JsonSupport.createMapper(JsonProperties.builder().blackbird(true).build());
+ * JsonSupport json = new JsonSupport(mapper);
+ * ChatCompletionResponse response = json.reader(ChatCompletionResponse.class).readValue(data);
+ * }</pre>
+ */
+public final class JsonSupport {
+
+  private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+  private final ObjectMapper objectMapper;
+
+  private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+  private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  /**
+   * @param objectMapper reader/writer를 만들 ObjectMapper
+   */
+  public JsonSupport(final ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * 설정에 맞춰 클라이언트 공용 ObjectMapper를 생성한다.
+   *
+   * <p>
+   * 실수 파싱/출력에 빠른 구현(fast double parser/writer)을 사용한다. 검색 응답의 점수 필드처럼
+   * 실수가 많은 페이로드에서 효과가 크다.
+   * </p>
+   *
+   * @param properties JSON 설정
+   * @return ObjectMapper
+   * @throws IllegalStateException Blackbird를 사용하도록 설정했지만 모듈이 클래스패스에 없는 경우
+   */
+  public static ObjectMapper createMapper(final JsonProperties properties) {
+    final JsonMapper.Builder builder = JsonMapper.builder()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, properties.isFailOnUnknownProperties())
+        .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+        .enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER);
+    if (properties.isBlackbird()) {
+      builder.addModule(blackbirdModule());
+    }
+    return builder.build();
+  }
+
+  /**
+   * WebClient 코덱이 주어진 ObjectMapper로 JSON을 인코딩/디코딩하도록 설정한다.
+   *
+   * @param builder      WebClient.Builder
+   * @param objectMapper 코덱에 사용할 ObjectMapper
+   * @return 전달받은 builder
+   */
+  public static WebClient.Builder configureCodecs(final WebClient.Builder builder, final ObjectMapper objectMapper) {
+    return builder.codecs(configurer -> {
+      configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+      configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+    });
+  }
+
+  /** @return reader/writer를 만드는 ObjectMapper */
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  /**
+   * 타입별 reader를 반환한다.
+   *
+   * @param type 역직렬화 타입
+   * @return 캐시된 reader
+   */
+  public ObjectReader reader(final Class<?> type) {
+    return readers.computeIfAbsent(type, key -> objectMapper.readerFor(type));
+  }
+
+  /**
+   * 제네릭 타입별 reader를 반환한다.
+   *
+   * @param type 역직렬화 타입 레퍼런스
+   * @return 캐시된 reader
+   */
+  public ObjectReader reader(final TypeReference<?> type) {
+    return readers.computeIfAbsent(type.getType(),
+        key -> objectMapper.readerFor(objectMapper.constructType(key)));
+  }
+
+  /**
+   * 타입별 writer를 반환한다.
+   *
+   * @param type 직렬화 타입
+   * @return 캐시된 writer
+   */
+  public ObjectWriter writer(final Class<?> type) {
+    return writers.computeIfAbsent(type, key -> objectMapper.writerFor(type));
+  }
+
+  /**
+   * Blackbird 모듈을 생성한다. 모듈은 선택 의존성이므로 리플렉션으로 로드한다.
+   */
+  private static Module blackbirdModule() {
+    try {
+      return (Module) Class.forName(BLACKBIRD_MODULE).getDeclaredConstructor().newInstance();
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(
+          "Blackbird is enabled but com.fasterxml.jackson.module:jackson-module-blackbird is not on the classpath", e);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to create BlackbirdModule", e);
+    }
+  }
+}
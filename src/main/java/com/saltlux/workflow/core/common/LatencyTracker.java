@@ -0,0 +1,55 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 최근 응답 지연 시간을 고정 크기 링 버퍼에 기록하고 백분위수를 계산한다.
+ */
+final class LatencyTracker {
+
+  /** 백분위수 계산에 필요한 최소 표본 수 */
+  static final int MIN_SAMPLES = 20;
+
+  private final long[] samples;
+
+  private int next;
+
+  private int size;
+
+  LatencyTracker(final int capacity) {
+    this.samples = new long[capacity];
+  }
+
+  /**
+   * 지연 시간을 기록한다.
+   *
+   * @param nanos 지연 시간 (나노초)
+   */
+  synchronized void record(final long nanos) {
+    samples[next] = nanos;
+    next = (next + 1) % samples.length;
+    if (size < samples.length) {
+      size++;
+    }
+  }
+
+  /**
+   * 기록된 표본의 백분위수를 반환한다.
+   *
+   * @param percentile 백분위 (0.0 ~ 1.0)
+   * @return 백분위수 지연 시간, 표본이 부족하면 null
+   */
+  Duration percentile(final double percentile) {
+    final long[] copy;
+    synchronized (this) {
+      if (size < MIN_SAMPLES) {
+        return null;
+      }
+      copy = Arrays.copyOf(samples, size);
+    }
+    Arrays.sort(copy);
+    final int index = (int) Math.ceil(percentile * copy.length) - 1;
+    return Duration.ofNanos(copy[Math.max(0, Math.min(index, copy.length - 1))]);
+  }
+}
@@ -0,0 +1,392 @@
+package com.saltlux.workflow.core.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * 하나의 논리 모델을 제공하는 LLM 복제본 그룹의 클라이언트 측 부하 분산기.
+ *
+ * <p>
+ * {@link #select()}로 받은 {@link Lease}는 요청이 끝나면 반드시 {@link Lease#release(Throwable)}로 반납해야 한다.
+ * 첫 토큰까지의 시간은 {@link Lease#onFirstToken(long)}으로 알린다.
+ * 대화 단위 친화성(affinity) 키가 있으면 {@link #select(String)}로 일관된 해싱 기반 선택을 할 수 있다.
+ * 설정은 {@link LlmEndpointGroupProperties}를 참고한다.
+ * </p>
+ */
+public final class LlmEndpointGroup {
+
+  private final LlmEndpointGroupProperties properties;
+
+  /** 현재 시각 (나노초) */
+  private final LongSupplier clock;
+
+  /** 복제본 선택에 사용할 난수 생성기 */
+  private final Supplier<? extends RandomGenerator> random;
+
+  private final List<Endpoint> endpoints = new ArrayList<>();
+
+  /** 해시 링 위치 (오름차순) */
+  private final long[] ringHashes;
+
+  /** 해시 링 위치별 복제본 */
+  private final Endpoint[] ringEndpoints;
+
+  /**
+   * 복제본 그룹을 생성한다.
+   *
+   * @param properties 그룹 설정
+   */
+  public LlmEndpointGroup(final LlmEndpointGroupProperties properties) {
+    this(properties, System::nanoTime, ThreadLocalRandom::current);
+  }
+
+  /**
+   * 시각과 난수 생성기를 지정하여 복제본 그룹을 생성한다.
+   *
+   * @param properties 그룹 설정
+   * @param clock      현재 시각 (나노초)
+   * @param random     난수 생성기
+   */
+  LlmEndpointGroup(
+      final LlmEndpointGroupProperties properties,
+      final LongSupplier clock,
+      final Supplier<? extends RandomGenerator> random) {
+    if (properties.getEndpoints() == null || properties.getEndpoints().isEmpty()) {
+      throw new IllegalArgumentException("LLM endpoint group requires at least one endpoint");
+    }
+    this.properties = properties;
+    this.clock = clock;
+    this.random = random;
+    for (final String baseUrl : properties.getEndpoints()) {
+      endpoints.add(new Endpoint(baseUrl));
+    }
+    final int virtualNodes = Math.max(1, properties.getVirtualNodes());
+    final long[][] ring = new long[endpoints.size() * virtualNodes][];
+    for (int i = 0; i < endpoints.size(); i++) {
+      for (int v = 0; v < virtualNodes; v++) {
+        ring[i * virtualNodes + v] = new long[] { hash(endpoints.get(i).baseUrl + "#" + v), i };
+      }
+    }
+    Arrays.sort(ring, (a, b) -> Long.compare(a[0], b[0]));
+    this.ringHashes = new long[ring.length];
+    this.ringEndpoints = new Endpoint[ring.length];
+    for (int i = 0; i < ring.length; i++) {
+      ringHashes[i] = ring[i][0];
+      ringEndpoints[i] = endpoints.get((int) ring[i][1]);
+    }
+  }
+
+  /**
+   * 주어진 예외가 복제본 장애 신호인지 확인한다.
+   *
+   * @param e 발생한 예외
+   * @return 5xx 응답, 연결 오류, 타임아웃이면 true
+   */
+  public static boolean isFailure(final Throwable e) {
+    return switch (e) {
+      case WebClientResponseException wre -> wre.getStatusCode().is5xxServerError();
+      case WebClientRequestException wre -> true;
+      case TimeoutException te -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * 요청을 보낼 복제본을 선택한다.
+   *
+   * <p>
+   * 제외되지 않은 복제본 중 (진행 중인 요청 수 + 1) / 가중치가 가장 작은 복제본을 선택한다.
+   * 모든 복제본이 제외되어 있으면 제외 여부와 관계없이 선택한다.
+   * </p>
+   *
+   * @return 선택된 복제본의 임대
+   */
+  public synchronized Lease select() {
+    final long now = clock.getAsLong();
+    final List<Endpoint> available = available(now);
+    final Endpoint chosen = switch (properties.getBalancing()) {
+      case POWER_OF_TWO_CHOICES -> powerOfTwo(available, now);
+      case LEAST_OUTSTANDING -> leastOutstanding(available, now);
+    };
+    chosen.outstanding++;
+    return new Lease(chosen);
+  }
+
+  /**
+   * 친화성 키에 대응하는 복제본을 선택한다.
+   *
+   * <p>
+   * 같은 키(대화/세션 ID 등)는 해시 링에서 같은 복제본으로 향하므로, 매 턴 전체 대화 이력을 다시 보내는 요청이
+   * 이전 턴과 같은 복제본의 prefix cache를 재사용할 수 있다. 다만 한 복제본에 요청이 몰리지 않도록
+   * 진행 중인 요청 수가 (전체 진행 중인 요청 수 + 1) / 복제본 수 × {@code affinityLoadFactor}를 넘는 복제본은
+   * 건너뛰고 링의 다음 복제본을 선택한다(bounded-load consistent hashing).
+   * 제외된 복제본도 건너뛰며, 복제본이 추가/제외되어도 다른 키의 배치는 대부분 유지된다.
+   * </p>
+   *
+   * @param affinityKey 친화성 키 (null이면 {@link #select()}와 같음)
+   * @return 선택된 복제본의 임대
+   */
+  public synchronized Lease select(final String affinityKey) {
+    if (affinityKey == null) {
+      return select();
+    }
+    final long now = clock.getAsLong();
+    final List<Endpoint> available = available(now);
+    int total = 0;
+    for (final Endpoint endpoint : available) {
+      total += endpoint.outstanding;
+    }
+    final double capacity = Math.ceil(properties.getAffinityLoadFactor() * (total + 1) / available.size());
+    Endpoint chosen = null;
+    final int start = ringIndex(hash(affinityKey));
+    for (int i = 0; i < ringHashes.length && chosen == null; i++) {
+      final Endpoint endpoint = ringEndpoints[(start + i) % ringHashes.length];
+      if (available.contains(endpoint) && load(endpoint, now) <= capacity) {
+        chosen = endpoint;
+      }
+    }
+    if (chosen == null) {
+      chosen = leastOutstanding(available, now);
+    }
+    chosen.outstanding++;
+    return new Lease(chosen);
+  }
+
+  /**
+   * 복제본의 진행 중인 요청 수를 반환한다.
+   *
+   * @param baseUrl 복제본 베이스 URL
+   * @return 진행 중인 요청 수, 그룹에 없으면 -1
+   */
+  public synchronized int getOutstanding(final String baseUrl) {
+    for (final Endpoint endpoint : endpoints) {
+      if (endpoint.baseUrl.equals(baseUrl)) {
+        return endpoint.outstanding;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 복제본이 현재 제외되어 있는지 확인한다.
+   *
+   * @param baseUrl 복제본 베이스 URL
+   * @return 제외되어 있으면 true
+   */
+  public synchronized boolean isEjected(final String baseUrl) {
+    final long now = clock.getAsLong();
+    for (final Endpoint endpoint : endpoints) {
+      if (endpoint.baseUrl.equals(baseUrl)) {
+        return endpoint.isEjected(now);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 제외되지 않은 복제본 목록을 반환한다. 제외 시간이 지난 복제본은 slow start를 시작한다.
+   */
+  private List<Endpoint> available(final long now) {
+    final List<Endpoint> available = new ArrayList<>(endpoints.size());
+    for (final Endpoint endpoint : endpoints) {
+      if (endpoint.ejectedUntil != 0 && endpoint.ejectedUntil - now <= 0) {
+        endpoint.ejectedUntil = 0;
+        endpoint.recoveredAt = now;
+      }
+      if (!endpoint.isEjected(now)) {
+        available.add(endpoint);
+      }
+    }
+    return available.isEmpty() ? endpoints : available;
+  }
+
+  /**
+   * 해시 값 이상인 첫 링 위치를 반환한다. 링 끝을 넘으면 처음으로 돌아간다.
+   */
+  private int ringIndex(final long hash) {
+    final int index = Arrays.binarySearch(ringHashes, hash);
+    final int position = index >= 0 ? index : -index - 1;
+    return position == ringHashes.length ? 0 : position;
+  }
+
+  /**
+   * 64비트 FNV-1a 해시에 MurmurHash3 최종 혼합을 적용한다. 링 위치가 고르게 퍼지도록 한다.
+   */
+  private static long hash(final String value) {
+    long h = 0xcbf29ce484222325L;
+    for (final byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b & 0xff;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private Endpoint powerOfTwo(final List<Endpoint> available, final long now) {
+    if (available.size() == 1) {
+      return available.get(0);
+    }
+    final RandomGenerator generator = random.get();
+    final int first = generator.nextInt(available.size());
+    int second = generator.nextInt(available.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    final Endpoint a = available.get(first);
+    final Endpoint b = available.get(second);
+    return load(a, now) <= load(b, now) ? a : b;
+  }
+
+  private Endpoint leastOutstanding(final List<Endpoint> available, final long now) {
+    // 동률일 때 항상 앞쪽 복제본이 선택되지 않도록 임의 위치부터 탐색
+    final int offset = random.get().nextInt(available.size());
+    Endpoint best = null;
+    double bestLoad = Double.MAX_VALUE;
+    for (int i = 0; i < available.size(); i++) {
+      final Endpoint endpoint = available.get((offset + i) % available.size());
+      final double load = load(endpoint, now);
+      if (load < bestLoad) {
+        best = endpoint;
+        bestLoad = load;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * 가중치를 반영한 부하. slow start 중인 복제본은 가중치가 낮아 부하가 크게 계산된다.
+   */
+  private double load(final Endpoint endpoint, final long now) {
+    return (endpoint.outstanding + 1) / weight(endpoint, now);
+  }
+
+  private double weight(final Endpoint endpoint, final long now) {
+    final long slowStartNanos = properties.getSlowStart().toNanos();
+    if (endpoint.recoveredAt == 0 || slowStartNanos <= 0) {
+      return 1.0;
+    }
+    final long elapsed = now - endpoint.recoveredAt;
+    if (elapsed >= slowStartNanos) {
+      endpoint.recoveredAt = 0;
+      return 1.0;
+    }
+    return Math.max(properties.getSlowStartMinWeight(), (double) elapsed / slowStartNanos);
+  }
+
+  private synchronized void onResult(final Endpoint endpoint, final boolean failure) {
+    endpoint.outstanding--;
+    if (!failure) {
+      endpoint.consecutiveFailures = 0;
+      return;
+    }
+    endpoint.consecutiveFailures++;
+    final long now = clock.getAsLong();
+    if (endpoint.consecutiveFailures < properties.getConsecutiveFailures() || endpoint.isEjected(now)) {
+      return;
+    }
+    final long ejected = endpoints.stream().filter(e -> e.isEjected(now)).count();
+    if (ejected + 1 > Math.floor(properties.getMaxEjectionPercent() * endpoints.size())) {
+      return;
+    }
+    endpoint.consecutiveFailures = 0;
+    endpoint.ejectedUntil = now + Math.max(1, properties.getEjectionDuration().toNanos());
+  }
+
+  private synchronized void onNeutral(final Endpoint endpoint) {
+    endpoint.outstanding--;
+  }
+
+  /**
+   * 복제본 상태. 그룹의 잠금 안에서만 접근한다.
+   */
+  private static final class Endpoint {
+    final String baseUrl;
+    int outstanding;
+    int consecutiveFailures;
+    /** 제외 종료 시각 (나노초, 0이면 제외되지 않음) */
+    long ejectedUntil;
+    /** slow start 시작 시각 (나노초, 0이면 최대 가중치) */
+    long recoveredAt;
+
+    Endpoint(final String baseUrl) {
+      this.baseUrl = baseUrl;
+    }
+
+    boolean isEjected(final long now) {
+      return ejectedUntil != 0 && ejectedUntil - now > 0;
+    }
+  }
+
+  /**
+   * 선택된 복제본의 임대. 요청이 끝나면 한 번만 반납된다.
+   */
+  public final class Lease {
+
+    private final Endpoint endpoint;
+
+    private boolean slow;
+
+    private boolean released;
+
+    private Lease(final Endpoint endpoint) {
+      this.endpoint = endpoint;
+    }
+
+    /**
+     * 선택된 복제본의 베이스 URL을 반환한다.
+     *
+     * @return 베이스 URL
+     */
+    public String getBaseUrl() {
+      return endpoint.baseUrl;
+    }
+
+    /**
+     * 첫 토큰까지의 시간을 알린다. {@code maxTtft}를 넘으면 요청이 성공해도 실패로 집계한다.
+     *
+     * @param ttftNanos 첫 토큰까지의 시간 (나노초)
+     */
+    public synchronized void onFirstToken(final long ttftNanos) {
+      if (properties.getMaxTtft() != null && ttftNanos > properties.getMaxTtft().toNanos()) {
+        slow = true;
+      }
+    }
+
+    /**
+     * 임대를 반납한다.
+     *
+     * @param error 실패 원인 (성공이면 null). {@link #isFailure}에 해당하지 않는 오류(4xx, 취소 등)는 집계하지 않는다.
+     */
+    public void release(final Throwable error) {
+      final boolean wasSlow;
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+        wasSlow = slow;
+      }
+      if (error == null) {
+        onResult(endpoint, wasSlow);
+      } else if (isFailure(error)) {
+        onResult(endpoint, true);
+      } else {
+        onNeutral(endpoint);
+      }
+    }
+  }
+}
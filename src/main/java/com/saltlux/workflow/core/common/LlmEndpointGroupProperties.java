@@ -0,0 +1,83 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 하나의 논리 모델을 제공하는 LLM 복제본(replica) 그룹 설정.
+ *
+ * <p>
+ * 요청마다 진행 중인 요청 수가 적은 복제본을 선택한다. {@code balancing}이 {@link Balancing#POWER_OF_TWO_CHOICES}이면
+ * 임의의 두 복제본 중 진행 중인 요청이 적은 쪽을, {@link Balancing#LEAST_OUTSTANDING}이면 전체 중 가장 적은 쪽을 고른다.
+ * 연속 실패가 {@code consecutiveFailures}회에 이르거나 첫 토큰까지의 시간이 {@code maxTtft}를 넘은 요청이 이어지면
+ * 해당 복제본을 {@code ejectionDuration} 동안 제외하며, 복귀한 복제본은 {@code slowStart} 동안 가중치를 점차 높인다.
+ * 전체 복제본 중 {@code maxEjectionPercent}를 넘는 수는 제외하지 않는다.
+ * 요청에 친화성 키가 있으면 해시 링으로 복제본을 고르고, 부하가 평균의 {@code affinityLoadFactor}배를 넘으면 다음 복제본으로 넘긴다.
+ * </p>
+ */
+@Getter
+@Builder
+public class LlmEndpointGroupProperties {
+
+  /**
+   * 복제본 선택 방식.
+   */
+  public enum Balancing {
+    /** 임의의 두 복제본 중 진행 중인 요청이 적은 쪽 */
+    POWER_OF_TWO_CHOICES,
+    /** 전체 복제본 중 진행 중인 요청이 가장 적은 쪽 */
+    LEAST_OUTSTANDING
+  }
+
+  /** 복제본 베이스 URL 목록 (예: {@code "http://vllm-0:8000"}) */
+  private final List<String> endpoints;
+
+  /** 복제본 선택 방식 */
+  @Builder.Default
+  private final Balancing balancing = Balancing.POWER_OF_TWO_CHOICES;
+
+  /** 제외 기준 연속 실패 횟수 (5xx, 연결 오류, 타임아웃, {@code maxTtft} 초과) */
+  @Builder.Default
+  private final int consecutiveFailures = 3;
+
+  /** 첫 토큰까지 허용하는 최대 시간 (초과하면 실패로 집계, null이면 사용 안함) */
+  @Builder.Default
+  private final Duration maxTtft = Duration.ofSeconds(30);
+
+  /** 제외 유지 시간 */
+  @Builder.Default
+  private final Duration ejectionDuration = Duration.ofSeconds(30);
+
+  /** 동시에 제외할 수 있는 최대 비율 (0.0 ~ 1.0) */
+  @Builder.Default
+  private final double maxEjectionPercent = 0.5;
+
+  /** 복귀 후 가중치를 최대로 올리는 데 걸리는 시간 (0이면 즉시 복귀) */
+  @Builder.Default
+  private final Duration slowStart = Duration.ofSeconds(30);
+
+  /** slow start 시작 가중치 (0.0 ~ 1.0) */
+  @Builder.Default
+  private final double slowStartMinWeight = 0.1;
+
+  /** 친화성 선택 시 복제본별 해시 링 가상 노드 수 */
+  @Builder.Default
+  private final int virtualNodes = 100;
+
+  /** 친화성 선택 시 평균 대비 허용 부하 배수 (1.0 이상, 작을수록 고르게 분산되고 클수록 친화성이 유지됨) */
+  @Builder.Default
+  private final double affinityLoadFactor = 1.25;
+
+  /**
+   * 기본 설정으로 복제본 그룹을 생성한다.
+   *
+   * @param endpoints 복제본 베이스 URL 목록
+   * @return 그룹 설정
+   */
+  public static LlmEndpointGroupProperties of(final String... endpoints) {
+    return LlmEndpointGroupProperties.builder().endpoints(List.of(endpoints)).build();
+  }
+}
@@ -0,0 +1,193 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer 기반 {@link WorkflowMetrics} 구현.
+ *
+ * <p>
+ * Micrometer는 선택 의존성이므로 이 클래스를 사용하려면 {@code io.micrometer:micrometer-core}를 직접 추가해야 한다.
+ * </p>
+ *
+ * <table>
+ * <caption>기록하는 미터</caption>
+ * <tr><th>이름</th><th>종류</th><th>태그</th></tr>
+ * <tr><td>workflow.flow.latency</td><td>Timer (histogram)</td><td>flow, status, error</td></tr>
+ * <tr><td>workflow.flow.request.bytes</td><td>DistributionSummary</td><td>flow</td></tr>
+ * <tr><td>workflow.flow.response.bytes</td><td>DistributionSummary</td><td>flow</td></tr>
+ * <tr><td>workflow.flow.inflight</td><td>Gauge</td><td>flow</td></tr>
+ * <tr><td>workflow.llm.ttft</td><td>Timer (histogram)</td><td>endpoint</td></tr>
+ * <tr><td>workflow.llm.stream.duration</td><td>Timer</td><td>endpoint, error</td></tr>
+ * <tr><td>workflow.llm.tokens.per.second</td><td>DistributionSummary</td><td>endpoint</td></tr>
+ * <tr><td>workflow.llm.headers</td><td>Timer (histogram)</td><td>endpoint</td></tr>
+ * <tr><td>workflow.llm.first.token</td><td>Timer (histogram)</td><td>endpoint, kind (reasoning, content)</td></tr>
+ * <tr><td>workflow.llm.inter.token.gap</td><td>Timer (SLO 버킷)</td><td>endpoint</td></tr>
+ * <tr><td>workflow.llm.inter.token.gap.max</td><td>Timer (histogram)</td><td>endpoint</td></tr>
+ * <tr><td>workflow.llm.inflight</td><td>Gauge</td><td>endpoint</td></tr>
+ * <tr><td>workflow.deepresearch.stage</td><td>Timer (histogram)</td><td>stage, error</td></tr>
+ * </table>
+ *
+ * <p>
+ * {@code workflow.llm.inter.token.gap}은 스트림의 토큰 간 간격을 모두 기록한다. 간격은 스트림마다
+ * {@link StreamTimings#GAP_BUCKET_BOUNDS_MILLIS} 버킷 히스토그램으로만 보관되므로 각 간격은 속한 버킷의 상한
+ * (스트림 최댓값 이하)으로 기록하며, 같은 경계를 SLO 버킷으로 내보내 버킷별 개수는 정확하다.
+ * 합계/평균은 실제보다 크게 집계될 수 있다. 스트림별 최대 멈춤은 {@code workflow.llm.inter.token.gap.max}로 본다.
+ * </p>
+ *
+ * <pre>{@code
+ * WorkflowClientOptions options = WorkflowClientOptions.builder()
+ *     .metrics(new MicrometerWorkflowMetrics(meterRegistry))
+ *     .build();
+ * }</pre>
+ */
+public class MicrometerWorkflowMetrics implements WorkflowMetrics {
+
+  private static final String NONE = "none";
+
+  /** 토큰 간 간격 Timer의 SLO 버킷 경계 */
+  private static final Duration[] GAP_BUCKETS = StreamTimings.GAP_BUCKET_BOUNDS_MILLIS.stream()
+      .map(Duration::ofMillis)
+      .toArray(Duration[]::new);
+
+  private final MeterRegistry registry;
+
+  private final Map<String, AtomicInteger> flowInFlight = new ConcurrentHashMap<>();
+
+  private final Map<String, AtomicInteger> llmInFlight = new ConcurrentHashMap<>();
+
+  public MicrometerWorkflowMetrics(final MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void onFlowStart(final String flowPath) {
+    inFlight(flowInFlight, "workflow.flow.inflight", "flow", flowPath).incrementAndGet();
+  }
+
+  @Override
+  public void onFlowEnd(final String flowPath, final long latencyNanos, final long requestBytes,
+      final long responseBytes, final int status, final Throwable error) {
+    inFlight(flowInFlight, "workflow.flow.inflight", "flow", flowPath).decrementAndGet();
+    Timer.builder("workflow.flow.latency")
+        .tags("flow", flowPath, "status", Integer.toString(status), "error", errorTag(error))
+        .publishPercentileHistogram()
+        .register(registry)
+        .record(latencyNanos, TimeUnit.NANOSECONDS);
+    DistributionSummary.builder("workflow.flow.request.bytes")
+        .baseUnit("bytes")
+        .tag("flow", flowPath)
+        .register(registry)
+        .record(requestBytes);
+    DistributionSummary.builder("workflow.flow.response.bytes")
+        .baseUnit("bytes")
+        .tag("flow", flowPath)
+        .register(registry)
+        .record(responseBytes);
+  }
+
+  @Override
+  public void onLlmStreamStart(final String baseUrl) {
+    inFlight(llmInFlight, "workflow.llm.inflight", "endpoint", baseUrl).incrementAndGet();
+  }
+
+  @Override
+  public void onLlmStreamEnd(final String baseUrl, final long ttftNanos, final long durationNanos,
+      final long tokens, final Throwable error) {
+    inFlight(llmInFlight, "workflow.llm.inflight", "endpoint", baseUrl).decrementAndGet();
+    if (ttftNanos >= 0) {
+      Timer.builder("workflow.llm.ttft")
+          .tag("endpoint", baseUrl)
+          .publishPercentileHistogram()
+          .register(registry)
+          .record(ttftNanos, TimeUnit.NANOSECONDS);
+    }
+    Timer.builder("workflow.llm.stream.duration")
+        .tags("endpoint", baseUrl, "error", errorTag(error))
+        .register(registry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+    // 생성 구간(첫 청크 이후) 기준 토큰 처리량
+    final long generationNanos = ttftNanos >= 0 ? durationNanos - ttftNanos : 0;
+    if (tokens > 1 && generationNanos > 0) {
+      DistributionSummary.builder("workflow.llm.tokens.per.second")
+          .tag("endpoint", baseUrl)
+          .register(registry)
+          .record((tokens - 1) / (generationNanos / (double) Duration.ofSeconds(1).toNanos()));
+    }
+  }
+
+  @Override
+  public void onLlmStreamTimings(final String baseUrl, final StreamTimings timings, final Throwable error) {
+    if (timings == null) {
+      return;
+    }
+    recordLlmTimer("workflow.llm.headers", Tags.of("endpoint", baseUrl), timings.getHeadersNanos());
+    recordLlmTimer("workflow.llm.first.token", Tags.of("endpoint", baseUrl, "kind", "reasoning"),
+        timings.getFirstReasoningNanos());
+    recordLlmTimer("workflow.llm.first.token", Tags.of("endpoint", baseUrl, "kind", "content"),
+        timings.getFirstContentNanos());
+    recordGaps(baseUrl, timings);
+    recordLlmTimer("workflow.llm.inter.token.gap.max", Tags.of("endpoint", baseUrl),
+        timings.getInterTokenGapMaxNanos());
+  }
+
+  /**
+   * 스트림의 토큰 간 간격 히스토그램을 버킷별로 기록한다.
+   */
+  private void recordGaps(final String baseUrl, final StreamTimings timings) {
+    final List<Long> counts = timings.getInterTokenGapCounts();
+    final Long max = timings.getInterTokenGapMaxNanos();
+    if (counts == null || max == null) {
+      return;
+    }
+    final Timer timer = Timer.builder("workflow.llm.inter.token.gap")
+        .tag("endpoint", baseUrl)
+        .serviceLevelObjectives(GAP_BUCKETS)
+        .register(registry);
+    for (int i = 0; i < counts.size(); i++) {
+      final long nanos = i < GAP_BUCKETS.length ? Math.min(GAP_BUCKETS[i].toNanos(), max) : max;
+      for (long n = counts.get(i); n > 0; n--) {
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  @Override
+  public void onStage(final String stage, final long durationNanos, final Throwable error) {
+    Timer.builder("workflow.deepresearch.stage")
+        .tags("stage", stage, "error", errorTag(error))
+        .publishPercentileHistogram()
+        .register(registry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private void recordLlmTimer(final String name, final Tags tags, final Long nanos) {
+    if (nanos == null) {
+      return;
+    }
+    Timer.builder(name)
+        .tags(tags)
+        .publishPercentileHistogram()
+        .register(registry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private AtomicInteger inFlight(final Map<String, AtomicInteger> gauges, final String name,
+      final String tagKey, final String tagValue) {
+    return gauges.computeIfAbsent(tagValue,
+        k -> registry.gauge(name, Tags.of(tagKey, k), new AtomicInteger()));
+  }
+
+  private static String errorTag(final Throwable error) {
+    return error == null ? NONE : error.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,103 @@
+package com.saltlux.workflow.core.common;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실행 현황을 집계하는 {@link Executor} 래퍼.
+ *
+ * <p>
+ * 제출/완료/실패/거부 건수와 현재 실행 중인 작업 수, 대기 중인 작업 수,
+ * 작업이 실제 실행되기까지의 대기 시간을 집계하여 executor 포화 여부를 판단할 수 있게 한다.
+ * </p>
+ */
+public class MonitoredExecutor implements Executor {
+
+  private final Executor delegate;
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder queueWaitNanos = new LongAdder();
+
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger peakActive = new AtomicInteger();
+
+  public MonitoredExecutor(final Executor delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void execute(final Runnable task) {
+    final long enqueuedAt = System.nanoTime();
+    submitted.increment();
+    queued.incrementAndGet();
+    try {
+      delegate.execute(() -> {
+        queued.decrementAndGet();
+        queueWaitNanos.add(System.nanoTime() - enqueuedAt);
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+          task.run();
+        } catch (RuntimeException | Error e) {
+          failed.increment();
+          throw e;
+        } finally {
+          active.decrementAndGet();
+          completed.increment();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      queued.decrementAndGet();
+      rejected.increment();
+      throw e;
+    }
+  }
+
+  /**
+   * 현재까지 집계된 실행 현황을 반환한다.
+   *
+   * @return 실행 현황 스냅샷
+   */
+  public Stats getStats() {
+    final long completedCount = completed.sum();
+    final long waitNanos = queueWaitNanos.sum();
+    final long started = completedCount + active.get();
+    return new Stats(
+        submitted.sum(),
+        completedCount,
+        failed.sum(),
+        rejected.sum(),
+        active.get(),
+        queued.get(),
+        peakActive.get(),
+        started == 0 ? 0 : waitNanos / started);
+  }
+
+  /**
+   * executor 실행 현황 스냅샷.
+   *
+   * @param submitted           제출된 작업 수
+   * @param completed           완료된 작업 수 (실패 포함)
+   * @param failed              예외로 종료된 작업 수
+   * @param rejected            executor가 거부한 작업 수
+   * @param active              현재 실행 중인 작업 수
+   * @param queued              실행을 기다리는 작업 수
+   * @param peakActive          동시 실행 작업 수의 최댓값
+   * @param avgQueueWaitNanos   작업이 실행되기까지의 평균 대기 시간 (ns)
+   */
+  public record Stats(
+      long submitted,
+      long completed,
+      long failed,
+      long rejected,
+      int active,
+      int queued,
+      int peakActive,
+      long avgQueueWaitNanos) {
+  }
+}
@@ -0,0 +1,164 @@
+package com.saltlux.workflow.core.common;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * TTL, 선제 갱신(refresh-ahead), stale-if-error를 지원하는 비동기 캐시.
+ *
+ * <p>
+ * 같은 키에 대한 동시 조회는 하나의 로딩으로 합쳐진다.
+ * 동작 방식은 {@link CacheProperties}를 참고한다.
+ * </p>
+ *
+ * @param <K> 키 타입
+ * @param <V> 값 타입
+ */
+@Slf4j
+public class RefreshAheadCache<K, V> {
+
+  private final CacheProperties properties;
+  private final Function<K, Mono<V>> loader;
+
+  /** 현재 시각 (나노초) */
+  private final LongSupplier clock;
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final Map<K, Mono<V>> loading = new ConcurrentHashMap<>();
+
+  /**
+   * @param properties 캐시 설정
+   * @param loader     키에 해당하는 값을 조회하는 함수
+   */
+  public RefreshAheadCache(final CacheProperties properties, final Function<K, Mono<V>> loader) {
+    this(properties, loader, System::nanoTime);
+  }
+
+  /**
+   * 시각을 지정하여 캐시를 생성한다.
+   *
+   * @param properties 캐시 설정
+   * @param loader     키에 해당하는 값을 조회하는 함수
+   * @param clock      현재 시각 (나노초)
+   */
+  RefreshAheadCache(final CacheProperties properties, final Function<K, Mono<V>> loader, final LongSupplier clock) {
+    this.properties = properties;
+    this.loader = loader;
+    this.clock = clock;
+  }
+
+  /**
+   * 키에 해당하는 값을 반환한다.
+   *
+   * <p>
+   * 유효한 값이 있으면 네트워크를 기다리지 않고 즉시 반환한다.
+   * </p>
+   *
+   * @param key 조회 키
+   * @return 값 Mono
+   */
+  public Mono<V> get(final K key) {
+    if (!properties.isEnabled()) {
+      return loader.apply(key);
+    }
+
+    final Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return load(key);
+    }
+
+    final long age = clock.getAsLong() - entry.loadedAt();
+    if (age < properties.getRefreshAfter().toNanos()) {
+      return Mono.just(entry.value());
+    }
+    if (age < properties.getTtl().toNanos()) {
+      refreshInBackground(key);
+      return Mono.just(entry.value());
+    }
+
+    final long staleLimit = properties.getTtl().plus(properties.getStaleIfError()).toNanos();
+    return load(key).onErrorResume(e -> {
+      if (clock.getAsLong() - entry.loadedAt() < staleLimit) {
+        log.warn("Failed to reload cache entry, serving stale value: key={}", key, e);
+        return Mono.just(entry.value());
+      }
+      return Mono.error(e);
+    });
+  }
+
+  /**
+   * 키에 해당하는 항목을 제거한다.
+   *
+   * <p>
+   * 진행 중인 로딩도 함께 버린다. 이미 그 로딩을 기다리는 호출자는 결과를 받지만 캐시에는 저장되지 않으며,
+   * 이후 조회는 새로 로딩한다.
+   * </p>
+   *
+   * @param key 제거할 키
+   */
+  public void invalidate(final K key) {
+    loading.remove(key);
+    entries.remove(key);
+  }
+
+  /**
+   * 모든 항목과 진행 중인 로딩을 제거한다.
+   */
+  public void invalidateAll() {
+    loading.clear();
+    entries.clear();
+  }
+
+  private void refreshInBackground(final K key) {
+    load(key).subscribe(
+        value -> log.debug("Cache entry refreshed: key={}", key),
+        e -> log.warn("Background cache refresh failed: key={}", key, e));
+  }
+
+  private Mono<V> load(final K key) {
+    final Mono<V> existing = loading.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    // 로딩은 자신이 loading에 등록된 동안에만 값을 저장하고, 끝나면 자신의 항목만 제거한다
+    final AtomicReference<Mono<V>> self = new AtomicReference<>();
+    final Mono<V> load = Mono.defer(() -> loader.apply(key))
+        .doOnNext(value -> store(key, value, self.get()))
+        .doFinally(signal -> loading.remove(key, self.get()))
+        .cache();
+    self.set(load);
+    final Mono<V> raced = loading.putIfAbsent(key, load);
+    return raced != null ? raced : load;
+  }
+
+  /**
+   * 로딩한 값을 저장한다. 로딩 중에 무효화되었으면 저장하지 않는다.
+   */
+  private void store(final K key, final V value, final Mono<V> load) {
+    if (loading.get(key) != load) {
+      return;
+    }
+    final Entry<V> entry = new Entry<>(value, clock.getAsLong());
+    entries.put(key, entry);
+    // 저장과 무효화가 겹쳤으면 방금 저장한 값을 되돌린다
+    if (loading.get(key) != load) {
+      entries.remove(key, entry);
+      return;
+    }
+    while (entries.size() > Math.max(1, properties.getMaxEntries())) {
+      entries.entrySet().stream()
+          .min(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+          .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+    }
+  }
+
+  private record Entry<V>(V value, long loadedAt) {
+  }
+}
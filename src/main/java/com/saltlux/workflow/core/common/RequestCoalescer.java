@@ -0,0 +1,112 @@
+package com.saltlux.workflow.core.common;
+
+import java.lang.reflect.Type;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 동일한 워크플로우 요청의 동시 실행을 하나로 합치는 single-flight 도우미.
+ *
+ * <p>
+ * 키는 플로우 경로, 응답 타입, 직렬화된 요청 본문의 SHA-256 해시로 구성된다.
+ * 같은 키의 요청이 진행 중이면 새 HTTP 요청을 보내지 않고 진행 중인 교환의 결과를 공유한다.
+ * 모든 구독자가 취소하면 진행 중인 요청도 취소된다.
+ * </p>
+ */
+final class RequestCoalescer {
+
+  private final Map<Key, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * 같은 키의 요청이 진행 중이면 그 결과를 공유하고, 없으면 새로 교환을 시작한다.
+   *
+   * @param key      요청 키
+   * @param exchange 실제 요청을 수행하는 Mono 공급자
+   * @param <T>      결과 타입
+   * @return 공유되는 결과 Mono
+   */
+  @SuppressWarnings("unchecked")
+  <T> Mono<T> coalesce(final Key key, final Supplier<Mono<T>> exchange) {
+    final Mono<?> existing = inFlight.get(key);
+    if (existing != null) {
+      return (Mono<T>) existing;
+    }
+    // share()는 결과를 받은 뒤에도 원본을 정상 완료시키고, 모든 구독자가 취소할 때만 원본을 취소한다.
+    // 완료된 교환은 자신이 등록한 항목만 제거하여 같은 키로 새로 등록된 교환을 지우지 않는다.
+    // share()는 늦은 구독자에게 이미 받은 결과를 재전달하므로, 결과를 구독자에게 전달하기 전에 제거해야
+    // 결과를 받은 호출자가 곧바로 보낸 다음 요청이 끝난 교환의 결과를 받지 않는다.
+    final AtomicReference<Mono<T>> self = new AtomicReference<>();
+    final Runnable remove = () -> inFlight.remove(key, self.get());
+    final Mono<T> shared = Mono.defer(exchange)
+        .doOnTerminate(remove)
+        .doOnCancel(remove)
+        .share();
+    self.set(shared);
+    final Mono<?> raced = inFlight.putIfAbsent(key, shared);
+    return raced != null ? (Mono<T>) raced : shared;
+  }
+
+  /**
+   * 진행 중인 요청 수를 반환한다.
+   *
+   * @return 진행 중인 요청 수
+   */
+  int inFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * 요청 키를 생성한다.
+   *
+   * @param flowPath   플로우 경로 (앞뒤 '/'는 무시)
+   * @param resultType 응답 타입
+   * @param body       정규화된(맵 키 정렬) JSON 요청 본문
+   * @return 요청 키
+   */
+  static Key key(final String flowPath, final Type resultType, final byte[] body) {
+    return new Key(normalizePath(flowPath), resultType, sha256(body));
+  }
+
+  /**
+   * 플로우 경로의 앞뒤 '/'를 제거한다.
+   *
+   * @param flowPath 플로우 경로
+   * @return 정규화된 플로우 경로
+   */
+  static String normalizePath(final String flowPath) {
+    int start = 0;
+    int end = flowPath.length();
+    while (start < end && flowPath.charAt(start) == '/') {
+      start++;
+    }
+    while (end > start && flowPath.charAt(end - 1) == '/') {
+      end--;
+    }
+    return flowPath.substring(start, end);
+  }
+
+  private static String sha256(final byte[] body) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * 요청 키.
+   *
+   * @param flowPath   정규화된 플로우 경로
+   * @param resultType 응답 타입 ({@code ParameterizedTypeReference#getType()})
+   * @param bodyHash   요청 본문 SHA-256 해시 (hex)
+   */
+  record Key(String flowPath, Type resultType, String bodyHash) {
+  }
+}
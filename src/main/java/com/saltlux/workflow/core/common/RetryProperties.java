@@ -0,0 +1,79 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 워크플로우 요청 재시도 설정.
+ *
+ * <p>
+ * 지수 백오프(exponential backoff)에 지터를 더해 재시도한다.
+ * 재시도 대상은 {@code retryableStatusCodes}에 포함된 HTTP 상태 코드 응답과 연결 실패 등 요청 전송 오류이며,
+ * 워크플로우 서버가 정상 응답으로 돌려준 오류({@link WorkflowExceptions.WorkflowException})는 재시도하지 않는다.
+ * </p>
+ *
+ * <p>
+ * 기본값은 재시도하지 않음({@code maxAttempts = 1})이며, 멱등(idempotent)한 플로우에만 {@link FlowPolicy}로 켠다.
+ * 요청 전송 오류({@link WebClientRequestException})는 요청 본문을 보낸 뒤에도 발생할 수 있어,
+ * 멱등하지 않은 플로우를 재시도하면 서버에서 같은 작업이 두 번 실행될 수 있다.
+ * </p>
+ *
+ * <pre>{@code
+ * FlowPolicy retrieval = FlowPolicy.builder()
+ *     .retry(RetryProperties.builder().maxAttempts(3).build())
+ *     .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class RetryProperties {
+
+  /** 최대 시도 횟수 (최초 요청 포함, 1이면 재시도하지 않음) */
+  @Builder.Default
+  private final int maxAttempts = 1;
+
+  /** 첫 재시도 전 대기 시간 */
+  @Builder.Default
+  private final Duration initialBackoff = Duration.ofMillis(200);
+
+  /** 재시도 대기 시간 상한 */
+  @Builder.Default
+  private final Duration maxBackoff = Duration.ofSeconds(2);
+
+  /** 대기 시간 지터 비율 (0.0 ~ 1.0) */
+  @Builder.Default
+  private final double jitter = 0.5;
+
+  /** 재시도할 HTTP 상태 코드 */
+  @Builder.Default
+  private final Set<Integer> retryableStatusCodes = Set.of(502, 503, 504);
+
+  /**
+   * 재시도를 사용하지 않는 설정을 반환한다.
+   *
+   * @return 재시도 없음 설정
+   */
+  public static RetryProperties none() {
+    return RetryProperties.builder().maxAttempts(1).build();
+  }
+
+  /**
+   * 주어진 예외가 재시도 대상인지 확인한다.
+   *
+   * @param e 발생한 예외
+   * @return 재시도 대상 여부
+   */
+  public boolean isRetryable(final Throwable e) {
+    return switch (e) {
+      case WebClientResponseException wre -> retryableStatusCodes.contains(wre.getStatusCode().value());
+      case WebClientRequestException wre -> true;
+      default -> false;
+    };
+  }
+}
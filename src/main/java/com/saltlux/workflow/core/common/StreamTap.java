@@ -0,0 +1,131 @@
+package com.saltlux.workflow.core.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 스트림 하나의 raw 프레임을 진단용으로 수집하는 탭.
+ *
+ * <p>
+ * 최근 프레임을 고정 크기 링 버퍼에 바이트 그대로 보관했다가 오류/취소 시에만 문자열로 변환하여 출력한다.
+ * 샘플링된 스트림은 프레임마다 즉시 로그를 남긴다.
+ * 설정은 {@link StreamTapProperties}를 참고한다.
+ * </p>
+ */
+@Slf4j
+public final class StreamTap {
+
+  /** 아무것도 수집하지 않는 탭 */
+  public static final StreamTap DISABLED = new StreamTap(null, null, 0, false);
+
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+
+  private final String label;
+
+  private final byte[][] frames;
+
+  private final int maxFrameBytes;
+
+  private final boolean traced;
+
+  private int next;
+
+  private int count;
+
+  private StreamTap(final String label, final byte[][] frames, final int maxFrameBytes, final boolean traced) {
+    this.label = label;
+    this.frames = frames;
+    this.maxFrameBytes = maxFrameBytes;
+    this.traced = traced;
+  }
+
+  /**
+   * 새 스트림용 탭을 연다.
+   *
+   * @param properties 수집 설정
+   * @param target     스트림 대상 (로그 표시용, 예: LLM baseUrl)
+   * @return 탭 (비활성이면 {@link #DISABLED})
+   */
+  public static StreamTap open(final StreamTapProperties properties, final String target) {
+    if (properties == null || !properties.isEnabled()) {
+      return DISABLED;
+    }
+    final boolean traced = properties.getSampleRate() > 0
+        && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    return new StreamTap(
+        "#" + SEQUENCE.incrementAndGet() + " " + target,
+        new byte[Math.max(1, properties.getRingSize())][],
+        properties.getMaxFrameBytes(),
+        traced);
+  }
+
+  /**
+   * 수집 중인지 확인한다.
+   *
+   * @return 수집 중이면 true
+   */
+  public boolean isEnabled() {
+    return frames != null;
+  }
+
+  /**
+   * 프레임을 기록한다.
+   *
+   * @param bytes  프레임 바이트
+   * @param offset 시작 위치
+   * @param length 길이
+   */
+  public void onFrame(final byte[] bytes, final int offset, final int length) {
+    if (frames == null) {
+      return;
+    }
+    if (traced) {
+      log.info("[TRACE {}] {}", label, new String(bytes, offset, length, StandardCharsets.UTF_8));
+    }
+    final byte[] frame = Arrays.copyOfRange(bytes, offset, offset + Math.min(length, maxFrameBytes));
+    synchronized (this) {
+      frames[next] = frame;
+      next = (next + 1) % frames.length;
+      if (count < frames.length) {
+        count++;
+      }
+    }
+  }
+
+  /**
+   * 스트림이 오류로 끝났을 때 보관된 프레임을 출력한다.
+   *
+   * @param e 오류
+   */
+  public void onError(final Throwable e) {
+    if (frames != null) {
+      dump("error: " + e);
+    }
+  }
+
+  /**
+   * 스트림이 취소되었을 때 보관된 프레임을 출력한다.
+   */
+  public void onCancel() {
+    if (frames != null) {
+      dump("cancelled");
+    }
+  }
+
+  private void dump(final String reason) {
+    final StringBuilder sb = new StringBuilder();
+    synchronized (this) {
+      final int start = (next - count + frames.length) % frames.length;
+      for (int i = 0; i < count; i++) {
+        final byte[] frame = frames[(start + i) % frames.length];
+        sb.append('\n').append(new String(frame, StandardCharsets.UTF_8));
+      }
+      sb.insert(0, "[TAP " + label + "] stream " + reason + ", last " + count + " frames:");
+    }
+    log.warn(sb.toString());
+  }
+}
@@ -0,0 +1,35 @@
+package com.saltlux.workflow.core.common;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * LLM 스트림 진단용 raw 프레임 수집 설정.
+ *
+ * <p>
+ * 활성화하면 스트림마다 최근 {@code ringSize}개의 SSE data 프레임을 메모리에 보관하고,
+ * 스트림이 오류나 취소로 끝나면 WARN 로그로 출력한다.
+ * 또한 전체 스트림 중 {@code sampleRate} 비율은 모든 프레임을 INFO 로그로 남긴다.
+ * 비활성화(기본값) 상태에서는 프레임 복사나 로그 문자열 생성이 일어나지 않는다.
+ * </p>
+ */
+@Getter
+@Builder
+public class StreamTapProperties {
+
+  /** 수집 사용 여부 */
+  @Builder.Default
+  private final boolean enabled = false;
+
+  /** 스트림마다 보관할 최근 프레임 수 */
+  @Builder.Default
+  private final int ringSize = 64;
+
+  /** 전체 프레임을 로그로 남길 스트림 비율 (0.0 ~ 1.0) */
+  @Builder.Default
+  private final double sampleRate = 0.0;
+
+  /** 프레임당 보관할 최대 바이트 수 (초과분은 잘라냄) */
+  @Builder.Default
+  private final int maxFrameBytes = 2048;
+}
@@ -0,0 +1,113 @@
+package com.saltlux.workflow.core.common;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * LLM 스트리밍 요청 한 건의 클라이언트 측 시점 측정값.
+ *
+ * <p>
+ * 모든 시간 값은 요청 전송 시점을 기준으로 한 경과 시간(나노초)이며, 해당 이벤트가 없었으면 null이다.
+ * {@code headersNanos}가 크면 서버 대기열(queueing) 지연, {@code headersNanos}와 첫 토큰 사이가 크면
+ * prefill 지연, 토큰 간 간격이 크면 생성(decode) 지연이 주된 원인이다.
+ * </p>
+ *
+ * <p>
+ * 토큰 간 간격은 reasoning/content가 포함된 청크 사이의 시간으로,
+ * {@link #GAP_BUCKET_BOUNDS_MILLIS} 경계의 고정 버킷 히스토그램으로 보관한다.
+ * </p>
+ */
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@ToString
+public class StreamTimings {
+
+  /** 토큰 간 간격 히스토그램의 버킷 상한 (밀리초). 마지막 버킷은 상한이 없다. */
+  public static final List<Long> GAP_BUCKET_BOUNDS_MILLIS = List.of(
+      1L, 2L, 5L, 10L, 20L, 50L, 100L, 200L, 500L, 1000L, 2000L);
+
+  /** 요청 전송 시각 (epoch 밀리초) */
+  private Long requestSentAt;
+
+  /** 응답 헤더 수신까지의 시간 */
+  private Long headersNanos;
+
+  /** 첫 reasoning 토큰까지의 시간 */
+  private Long firstReasoningNanos;
+
+  /** 첫 content 토큰까지의 시간 */
+  private Long firstContentNanos;
+
+  /** 스트림 종료까지의 시간 (진행 중이면 측정 시점까지) */
+  private Long durationNanos;
+
+  /** 생성 토큰 수 (usage가 있으면 completionTokens, 없으면 토큰이 포함된 청크 수) */
+  private Long tokens;
+
+  /** 토큰 간 간격 히스토그램 ({@link #GAP_BUCKET_BOUNDS_MILLIS}보다 하나 많은 버킷) */
+  private List<Long> interTokenGapCounts;
+
+  /** 토큰 간 간격 평균 */
+  private Long interTokenGapMeanNanos;
+
+  /** 토큰 간 간격 최댓값 */
+  private Long interTokenGapMaxNanos;
+
+  /**
+   * 첫 토큰(reasoning, content 중 먼저 온 것)까지의 시간을 반환한다.
+   *
+   * @return 첫 토큰까지의 시간, 토큰이 없었으면 null
+   */
+  public Long firstTokenNanos() {
+    if (firstReasoningNanos == null) {
+      return firstContentNanos;
+    }
+    if (firstContentNanos == null) {
+      return firstReasoningNanos;
+    }
+    return Math.min(firstReasoningNanos, firstContentNanos);
+  }
+
+  /**
+   * 토큰 간 간격의 근사 백분위수를 반환한다.
+   *
+   * <p>
+   * 해당 백분위가 속한 버킷의 상한을 반환하며, 마지막 버킷이면 최댓값을 반환한다.
+   * </p>
+   *
+   * @param percentile 백분위 (0.0 ~ 1.0)
+   * @return 근사 백분위수 (나노초), 간격이 기록되지 않았으면 null
+   */
+  public Long interTokenGapPercentileNanos(final double percentile) {
+    if (interTokenGapCounts == null) {
+      return null;
+    }
+    final long total = interTokenGapCounts.stream().mapToLong(Long::longValue).sum();
+    if (total == 0) {
+      return null;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+    long seen = 0;
+    for (int i = 0; i < interTokenGapCounts.size(); i++) {
+      seen += interTokenGapCounts.get(i);
+      if (seen >= rank) {
+        return i < GAP_BUCKET_BOUNDS_MILLIS.size()
+            ? Math.min(GAP_BUCKET_BOUNDS_MILLIS.get(i) * 1_000_000L, interTokenGapMaxNanos)
+            : interTokenGapMaxNanos;
+      }
+    }
+    return interTokenGapMaxNanos;
+  }
+}
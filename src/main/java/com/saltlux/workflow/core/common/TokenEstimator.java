@@ -0,0 +1,49 @@
+package com.saltlux.workflow.core.common;
+
+/**
+ * 텍스트의 LLM 토큰 수 추정기.
+ *
+ * <p>
+ * 프롬프트에 넣을 문서를 토큰 예산에 맞춰 고를 때 사용한다. 정확한 값이 필요하면
+ * 사용하는 모델의 토크나이저로 구현하여 {@link DocumentBudgetProperties#getTokenEstimator()}에 지정한다.
+ * 요청 처리 스레드에서 호출되므로 블로킹 없이 빠르게 반환해야 한다.
+ * </p>
+ */
+@FunctionalInterface
+public interface TokenEstimator {
+
+  /**
+   * 문자 종류별 평균 토큰 비용으로 근사하는 기본 구현.
+   *
+   * <p>
+   * BPE 계열 다국어 토크나이저 기준으로 한글/한자는 글자당 약 1토큰, 영문/숫자는 약 4글자당 1토큰,
+   * 공백은 약 4글자당 1토큰, 그 외 기호는 약 2글자당 1토큰으로 계산한다. 실제보다 약간 크게 추정하는 편이다.
+   * </p>
+   */
+  TokenEstimator DEFAULT = text -> {
+    if (text == null) {
+      return 0;
+    }
+    // 토큰 비용을 1/4 단위 정수로 누적한다
+    long quarters = 0;
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (c < 0x80) {
+        quarters += Character.isLetterOrDigit(c) || Character.isWhitespace(c) ? 1 : 2;
+      } else if (Character.isWhitespace(c)) {
+        quarters += 1;
+      } else {
+        quarters += 4;
+      }
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (quarters + 3) / 4);
+  };
+
+  /**
+   * 텍스트의 토큰 수를 추정한다.
+   *
+   * @param text 텍스트 (nullable)
+   * @return 추정 토큰 수
+   */
+  int estimate(CharSequence text);
+}
@@ -0,0 +1,110 @@
+package com.saltlux.workflow.core.common;
+
+import java.time.Duration;
+
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+
+import io.netty.channel.ChannelOption;
+import lombok.Builder;
+import lombok.Getter;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * HTTP 전송 계층(커넥션 풀, 프로토콜, keep-alive) 설정.
+ *
+ * <p>
+ * Spring 의존성 없이 직접 생성하여 사용한다.
+ * 설정마다 독립된 reactor-netty {@link ConnectionProvider}가 생성되며,
+ * 하나의 provider 안에서도 원격 호스트별로 풀이 분리되므로
+ * {@link #maxConnections} 등 풀 설정은 호스트 단위로 적용된다.
+ * </p>
+ *
+ * <pre>{@code
+ * TransportProperties transport = TransportProperties.builder()
+ *     .maxConnections(200)
+ *     .pendingAcquireTimeout(Duration.ofSeconds(10))
+ *     .h2c(true)
+ *     .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class TransportProperties {
+
+  /** 호스트당 최대 커넥션 수 */
+  @Builder.Default
+  private final int maxConnections = 500;
+
+  /** 커넥션 획득 대기열 최대 길이 (-1이면 무제한) */
+  @Builder.Default
+  private final int pendingAcquireMaxCount = 1000;
+
+  /** 커넥션 획득 대기 제한 시간 */
+  @Builder.Default
+  private final Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+
+  /** 유휴 커넥션을 닫기까지의 시간 */
+  @Builder.Default
+  private final Duration maxIdleTime = Duration.ofSeconds(30);
+
+  /** 커넥션 최대 수명 */
+  @Builder.Default
+  private final Duration maxLifeTime = Duration.ofMinutes(10);
+
+  /** 백그라운드 유휴 커넥션 정리 주기 */
+  @Builder.Default
+  private final Duration evictInBackground = Duration.ofSeconds(30);
+
+  /** TCP 연결 제한 시간 */
+  @Builder.Default
+  private final Duration connectTimeout = Duration.ofSeconds(5);
+
+  /** 응답 제한 시간 (null이면 제한 없음) */
+  private final Duration responseTimeout;
+
+  /** HTTP keep-alive 및 TCP SO_KEEPALIVE 사용 여부 */
+  @Builder.Default
+  private final boolean keepAlive = true;
+
+  /**
+   * HTTP/2 cleartext(h2c) 사용 여부.
+   * <p>
+   * HTTP/1.1 Upgrade로 협상하며, 서버가 지원하지 않으면 HTTP/1.1로 동작한다.
+   * 협상에 성공하면 하나의 커넥션에서 여러 요청이 다중화된다.
+   * </p>
+   */
+  @Builder.Default
+  private final boolean h2c = false;
+
+  /**
+   * 이 설정으로 구성된 {@link ClientHttpConnector}를 생성한다.
+   *
+   * @param name 커넥션 풀 이름 (로그/메트릭 식별용)
+   * @return 커넥터
+   */
+  public ClientHttpConnector createConnector(final String name) {
+    final ConnectionProvider provider = ConnectionProvider.builder(name)
+        .maxConnections(maxConnections)
+        .pendingAcquireMaxCount(pendingAcquireMaxCount)
+        .pendingAcquireTimeout(pendingAcquireTimeout)
+        .maxIdleTime(maxIdleTime)
+        .maxLifeTime(maxLifeTime)
+        .evictInBackground(evictInBackground)
+        .build();
+
+    HttpClient httpClient = HttpClient.create(provider)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+        .option(ChannelOption.SO_KEEPALIVE, keepAlive)
+        .keepAlive(keepAlive);
+    if (responseTimeout != null) {
+      httpClient = httpClient.responseTimeout(responseTimeout);
+    }
+    if (h2c) {
+      httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+    return new ReactorClientHttpConnector(httpClient);
+  }
+}
@@ -0,0 +1,197 @@
+package com.saltlux.workflow.core.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 워크플로우 클라이언트 실행 옵션.
+ *
+ * <p>
+ * Spring 의존성 없이 직접 생성하여 사용한다.
+ * 지정하지 않은 항목은 기본값이 사용된다.
+ * </p>
+ *
+ * <pre>{@code
+ * WorkflowClientOptions options = WorkflowClientOptions.builder()
+ *     .executor(Executors.newFixedThreadPool(64))
+ *     .build();
+ * }</pre>
+ */
+@Getter
+@Builder(toBuilder = true)
+public class WorkflowClientOptions {
+
+  /**
+   * deepresearch 파이프라인 등 블로킹 작업을 실행할 executor.
+   * <p>
+   * 기본값은 작업마다 가상 스레드를 생성하므로 동시 실행 수가 CPU 코어 수에 묶이지 않는다.
+   * 고정 크기 풀을 지정하는 경우, deepresearch 1건이 최대 3개의 작업(본 흐름, 법령/판례 검색)을
+   * 동시에 점유하므로 풀 크기를 충분히 잡아야 한다.
+   * </p>
+   */
+  @Builder.Default
+  private final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * 워크플로우 서버 전송 설정.
+   * <p>
+   * null이면 전달받은 WebClient.Builder의 커넥터를 그대로 사용한다.
+   * </p>
+   */
+  private final TransportProperties workflowTransport;
+
+  /**
+   * LLM 직접 호출 전송 설정.
+   * <p>
+   * 워크플로우 서버와 별도의 커넥션 풀을 사용하며, 풀은 LLM baseUrl(호스트)별로 분리된다.
+   * null이면 전달받은 WebClient.Builder의 커넥터를 그대로 사용한다.
+   * </p>
+   */
+  private final TransportProperties llmTransport;
+
+  /**
+   * 읽기 위주 플로우(models, systemPrompt) 결과 캐시 설정.
+   * <p>
+   * 비활성화하려면 {@code CacheProperties.builder().enabled(false).build()}를 지정한다.
+   * </p>
+   */
+  @Builder.Default
+  private final CacheProperties cache = CacheProperties.builder().build();
+
+  /**
+   * 플로우별 정책이 등록되지 않은 경로에 적용할 기본 호출 정책.
+   * <p>
+   * 기본값은 재시도와 hedging을 사용하지 않는다. 재시도는 멱등한 플로우에만 {@link #getFlowPolicies()}로 켠다.
+   * </p>
+   */
+  @Builder.Default
+  private final FlowPolicy defaultFlowPolicy = FlowPolicy.defaults();
+
+  /**
+   * 플로우 경로별 호출 정책 (키: 플로우 경로, 예: {@code "lexai-statute-retrieve"}).
+   * <p>
+   * 키의 앞뒤 '/'는 무시된다.
+   * </p>
+   */
+  @Builder.Default
+  private final Map<String, FlowPolicy> flowPolicies = Map.of();
+
+  /** 키를 정규화한 flowPolicies (처음 조회할 때 만든다) */
+  @Getter(AccessLevel.NONE)
+  private final AtomicReference<Map<String, FlowPolicy>> normalizedFlowPolicies = new AtomicReference<>();
+
+  /**
+   * LLM 직접 호출의 적응형 동시 실행 제한 설정 (기본 비활성).
+   * <p>
+   * {@code DirectLlmRequest}의 baseUrl별로 별도 제한이 적용되며, 첫 토큰까지의 지연 시간(TTFT)을 신호로 사용한다.
+   * 허가는 스트림이 끝날 때까지 유지된다.
+   * </p>
+   */
+  @Builder.Default
+  private final ConcurrencyLimitProperties llmConcurrencyLimit = ConcurrencyLimitProperties.builder().build();
+
+  /**
+   * LLM 복제본 그룹 (키: 워크플로우가 반환하는 논리 baseUrl, 예: {@code "http://vllm:8000"}).
+   * <p>
+   * {@code DirectLlmRequest}의 baseUrl이 키와 같으면 그룹의 복제본 중 하나를 선택하여 요청한다.
+   * </p>
+   */
+  @Builder.Default
+  private final Map<String, LlmEndpointGroupProperties> llmEndpointGroups = Map.of();
+
+  /**
+   * 계측 구현.
+   * <p>
+   * 플로우별 지연 시간/요청·응답 크기/상태, LLM 스트림 TTFT/토큰 처리량, deepresearch 단계별 소요 시간을 전달받는다.
+   * </p>
+   */
+  @Builder.Default
+  private final WorkflowMetrics metrics = WorkflowMetrics.NOOP;
+
+  /**
+   * LLM 스트림 진단용 raw 프레임 수집 설정 (기본 비활성).
+   */
+  @Builder.Default
+  private final StreamTapProperties streamTap = StreamTapProperties.builder().build();
+
+  /**
+   * {@code streamLlm} 기본 delta 병합 설정 (기본 비활성).
+   * <p>
+   * 호출마다 다르게 지정하려면 {@code streamLlm(request, listener, coalescing)}을 사용한다.
+   * </p>
+   */
+  @Builder.Default
+  private final DeltaCoalescingProperties deltaCoalescing = DeltaCoalescingProperties.builder().build();
+
+  /**
+   * deepresearch 단계별 첨부 문서 토큰 예산 (기본 제한 없음).
+   */
+  @Builder.Default
+  private final DocumentBudgetProperties documentBudget = DocumentBudgetProperties.builder().build();
+
+  /**
+   * 첨부 문서의 프롬프트 문자열과 JSON 직렬화 결과 캐시 (기본 약 32MB).
+   * <p>
+   * deepresearch 분석 요청 직렬화, 문서 예산 계산, LLM 요청 메시지 변환에 사용된다.
+   * {@code new DocumentRenderCache(0)}을 지정하면 캐시하지 않는다.
+   * </p>
+   */
+  @Builder.Default
+  private final DocumentRenderCache documentRenderCache = new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES);
+
+  /**
+   * 공용 JSON 매퍼 설정.
+   * <p>
+   * 요청 직렬화, 워크플로우 응답 디코딩, SSE 파싱에 같은 ObjectMapper가 사용된다.
+   * </p>
+   */
+  @Builder.Default
+  private final JsonProperties json = JsonProperties.builder().build();
+
+  /**
+   * 기본값으로 구성된 옵션을 반환한다.
+   *
+   * @return 기본 옵션
+   */
+  public static WorkflowClientOptions defaults() {
+    return WorkflowClientOptions.builder().build();
+  }
+
+  /**
+   * 플로우 경로에 적용할 호출 정책을 반환한다.
+   *
+   * @param flowPath 플로우 경로
+   * @return 등록된 정책, 없으면 기본 정책
+   */
+  public FlowPolicy flowPolicy(final String flowPath) {
+    return normalizedFlowPolicies().getOrDefault(RequestCoalescer.normalizePath(flowPath), defaultFlowPolicy);
+  }
+
+  /**
+   * 키의 앞뒤 '/'를 제거한 flowPolicies를 반환한다.
+   *
+   * @return 정규화된 플로우 경로별 정책
+   * @throws IllegalArgumentException 정규화 후 같은 경로가 된 키가 있는 경우
+   */
+  Map<String, FlowPolicy> normalizedFlowPolicies() {
+    final Map<String, FlowPolicy> cached = normalizedFlowPolicies.get();
+    if (cached != null) {
+      return cached;
+    }
+    final Map<String, FlowPolicy> normalized = new HashMap<>(Math.max(16, flowPolicies.size() * 2));
+    flowPolicies.forEach((path, policy) -> {
+      if (normalized.put(RequestCoalescer.normalizePath(path), policy) != null) {
+        throw new IllegalArgumentException("Duplicate flow policy for path: " + path);
+      }
+    });
+    normalizedFlowPolicies.compareAndSet(null, normalized);
+    return normalizedFlowPolicies.get();
+  }
+}
@@ -129,14 +129,20 @@ public class WorkflowContext<T> {
   /**
    * 다음 결과 항목을 리스너에 전달한다.
    * <p>
-   * 이미 완료된 워크플로우에서는 무시된다.
+   * 이미 완료된 워크플로우에서는 무시된다. 리스너의 {@link WorkflowListener#awaitDemand()}는
+   * 잠금 밖에서 호출하므로 리스너가 대기하는 동안에도 완료와 취소는 막히지 않는다.
    * </p>
    *
    * @param item 전달할 결과 항목
    */
-  public synchronized void emitNext(final T item) {
-    if (!completed) {
-      listener.onNext(item);
+  public void emitNext(final T item) {
+    if (completed || !listener.awaitDemand()) {
+      return;
+    }
+    synchronized (this) {
+      if (!completed) {
+        listener.onNext(item);
+      }
     }
   }
 
@@ -55,4 +55,58 @@ public final class WorkflowExceptions {
       super(message, cause);
     }
   }
+
+  /**
+   * 플로우의 서킷이 열려 있어 요청을 보내지 않은 경우의 예외.
+   */
+  public static class CircuitOpenException extends WorkflowClientException {
+
+    /** 서킷이 열린 플로우 경로 */
+    private final String flowPath;
+
+    public CircuitOpenException(final String flowPath) {
+      super("Circuit open: " + flowPath);
+      this.flowPath = flowPath;
+    }
+
+    public String getFlowPath() {
+      return this.flowPath;
+    }
+  }
+
+  /**
+   * 적응형 동시 실행 제한을 초과하여 대기열이 가득 찼거나 대기 시간이 지난 경우의 예외.
+   */
+  public static class ConcurrencyLimitException extends WorkflowClientException {
+
+    /** 제한 대상 (플로우 경로 또는 LLM baseUrl) */
+    private final String target;
+
+    public ConcurrencyLimitException(final String target) {
+      super("Concurrency limit exceeded: " + target);
+      this.target = target;
+    }
+
+    public String getTarget() {
+      return this.target;
+    }
+  }
+
+  /**
+   * 플로우의 동시 호출 수 제한(bulkhead)을 초과한 경우의 예외.
+   */
+  public static class BulkheadFullException extends WorkflowClientException {
+
+    /** 제한을 초과한 플로우 경로 */
+    private final String flowPath;
+
+    public BulkheadFullException(final String flowPath) {
+      super("Bulkhead full: " + flowPath);
+      this.flowPath = flowPath;
+    }
+
+    public String getFlowPath() {
+      return this.flowPath;
+    }
+  }
 }
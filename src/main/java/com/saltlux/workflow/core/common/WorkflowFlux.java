@@ -0,0 +1,122 @@
+package com.saltlux.workflow.core.common;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * 리스너 기반 워크플로우 API를 구독자의 요청량(demand)을 따르는 {@link Flux}로 변환하는 유틸리티.
+ *
+ * <p>
+ * 구독자가 요청한 개수만큼만 {@link WorkflowContext#emitNext}가 반환되며, 요청량이 없으면 이벤트를 보내는 스레드가
+ * {@link WorkflowListener#awaitDemand()}에서 대기한다. 따라서 느린 구독자는 버퍼를 늘리는 대신 생산 측(HTTP 읽기까지)을 늦춘다.
+ * 대기는 context 잠금 밖에서 하므로 다른 스레드의 완료/취소를 막지 않는다.
+ * 이벤트를 보내는 스레드가 대기하므로 네트워크 이벤트 루프가 아닌 워커 스레드에서 이벤트를 보내는 API에만 사용한다.
+ * </p>
+ *
+ * <p>
+ * 워크플로우가 끝나면 최종 결과({@link WorkflowContext#get()}과 같은 값)를 마지막 요소로 전달하고 완료한다.
+ * 구독을 취소하면 워크플로우도 취소된다.
+ * </p>
+ */
+public final class WorkflowFlux {
+
+  /** 무제한 요청 시 대기 중인 스레드를 모두 깨우기 위해 반납하는 허가 수 */
+  private static final int UNBOUNDED_PERMITS = Integer.MAX_VALUE / 2;
+
+  private WorkflowFlux() {
+  }
+
+  /**
+   * 리스너 기반 워크플로우를 Flux로 변환한다.
+   *
+   * @param starter 리스너를 받아 워크플로우를 시작하고 context를 반환하는 함수
+   * @param <T>     결과 항목 타입
+   * @return 워크플로우 이벤트 Flux (마지막 요소는 최종 결과)
+   */
+  public static <T> Flux<T> from(final Function<WorkflowListener<T>, WorkflowContext<T>> starter) {
+    return Flux.create(sink -> {
+      final Semaphore demand = new Semaphore(0);
+      final AtomicBoolean unbounded = new AtomicBoolean();
+      final AtomicReference<WorkflowContext<T>> contextRef = new AtomicReference<>();
+
+      sink.onRequest(n -> {
+        if (unbounded.get()) {
+          return;
+        }
+        if (n >= UNBOUNDED_PERMITS) {
+          releaseAll(demand, unbounded);
+        } else {
+          demand.release((int) n);
+        }
+      });
+      // 대기 중인 생산 스레드를 깨운 뒤 취소한다. 깨어난 스레드의 항목은 context가 완료되어 버려진다
+      sink.onCancel(() -> {
+        releaseAll(demand, unbounded);
+        final WorkflowContext<T> context = contextRef.get();
+        if (context != null) {
+          context.cancel();
+        }
+      });
+
+      final WorkflowContext<T> context = starter.apply(new WorkflowListener<>() {
+        @Override
+        public boolean awaitDemand() {
+          if (unbounded.get()) {
+            return true;
+          }
+          try {
+            demand.acquire();
+            return true;
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+          }
+        }
+
+        @Override
+        public void onNext(final T item) {
+          sink.next(item);
+        }
+
+        @Override
+        public void onError(final Throwable e) {
+          // 최종 결과는 future 완료 시점에 전달
+        }
+
+        @Override
+        public void onComplete() {
+          // 최종 결과는 future 완료 시점에 전달
+        }
+      });
+      contextRef.set(context);
+      if (sink.isCancelled()) {
+        context.cancel();
+        return;
+      }
+
+      context.toFuture().whenComplete((result, e) -> {
+        // 완료 시점에 대기 중인 생산 스레드가 있으면 깨운다 (항목은 context가 완료되어 버려진다)
+        releaseAll(demand, unbounded);
+        if (e != null) {
+          sink.error(e);
+          return;
+        }
+        if (result != null) {
+          sink.next(result);
+        }
+        sink.complete();
+      });
+    }, FluxSink.OverflowStrategy.BUFFER);
+  }
+
+  private static void releaseAll(final Semaphore demand, final AtomicBoolean unbounded) {
+    if (unbounded.compareAndSet(false, true)) {
+      demand.release(UNBOUNDED_PERMITS);
+    }
+  }
+}
@@ -25,6 +25,19 @@ public interface WorkflowListener<T> {
    */
   void onNext(final T item);
 
+  /**
+   * {@link #onNext}를 호출하기 전에 context 잠금 밖에서 호출된다.
+   * <p>
+   * 구독자의 요청량을 기다려야 하는 리스너는 여기서 대기한다. 잠금을 잡지 않은 채 대기하므로
+   * 대기 중에도 다른 스레드가 워크플로우를 완료하거나 취소할 수 있다. 기본 구현은 대기하지 않는다.
+   * </p>
+   *
+   * @return 항목을 전달하려면 {@code true}, 버리려면 {@code false}
+   */
+  default boolean awaitDemand() {
+    return true;
+  }
+
   /**
    * 워크플로우 실행 중 에러가 발생했을 때 호출된다.
    * <p>
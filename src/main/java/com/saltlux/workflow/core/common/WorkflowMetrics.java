@@ -0,0 +1,85 @@
+package com.saltlux.workflow.core.common;
+
+/**
+ * 워크플로우 클라이언트 계측 SPI.
+ *
+ * <p>
+ * 모든 메서드는 기본 구현이 비어 있으므로 필요한 메서드만 재정의하면 된다.
+ * 요청 처리 스레드(네트워크 이벤트 루프 포함)에서 호출되므로 블로킹 없이 빠르게 반환해야 한다.
+ * Micrometer를 사용하는 경우 {@link MicrometerWorkflowMetrics}를 사용할 수 있다.
+ * </p>
+ */
+public interface WorkflowMetrics {
+
+  /** 아무것도 기록하지 않는 구현 */
+  WorkflowMetrics NOOP = new WorkflowMetrics() {
+  };
+
+  /**
+   * 플로우 HTTP 요청 시작 시 호출된다. 재시도, hedge 요청도 각각 호출된다.
+   *
+   * @param flowPath 플로우 경로
+   */
+  default void onFlowStart(final String flowPath) {
+  }
+
+  /**
+   * 플로우 HTTP 요청 종료 시 호출된다.
+   *
+   * @param flowPath      플로우 경로
+   * @param latencyNanos  요청 시작부터 종료까지의 시간 (나노초)
+   * @param requestBytes  요청 본문 크기
+   * @param responseBytes 수신한 응답 본문 크기
+   * @param status        HTTP 상태 코드 (응답을 받지 못했으면 -1)
+   * @param error         실패 원인 (성공이면 null, 취소면 {@link java.util.concurrent.CancellationException})
+   */
+  default void onFlowEnd(final String flowPath, final long latencyNanos, final long requestBytes,
+      final long responseBytes, final int status, final Throwable error) {
+  }
+
+  /**
+   * LLM 스트리밍 요청 시작 시 호출된다.
+   *
+   * @param baseUrl LLM API 베이스 URL
+   */
+  default void onLlmStreamStart(final String baseUrl) {
+  }
+
+  /**
+   * LLM 스트리밍 요청 종료 시 호출된다.
+   *
+   * @param baseUrl        LLM API 베이스 URL
+   * @param ttftNanos      첫 응답 청크까지의 시간 (나노초, 청크를 받지 못했으면 -1)
+   * @param durationNanos  요청 시작부터 종료까지의 시간 (나노초)
+   * @param tokens         생성 토큰 수 (usage가 있으면 completionTokens, 없으면 청크 수)
+   * @param error          실패 원인 (성공이면 null, 취소면 {@link java.util.concurrent.CancellationException})
+   */
+  default void onLlmStreamEnd(final String baseUrl, final long ttftNanos, final long durationNanos,
+      final long tokens, final Throwable error) {
+  }
+
+  /**
+   * LLM 스트리밍 요청 종료 시 {@link #onLlmStreamEnd} 직전에 세부 시점 측정값과 함께 호출된다.
+   *
+   * <p>
+   * 응답 헤더 수신, 첫 reasoning/content 토큰, 토큰 간 간격 분포를 통해
+   * 서버 대기열 지연과 생성 지연을 구분할 수 있다.
+   * </p>
+   *
+   * @param baseUrl LLM API 베이스 URL
+   * @param timings 시점 측정값
+   * @param error   실패 원인 (성공이면 null, 취소면 {@link java.util.concurrent.CancellationException})
+   */
+  default void onLlmStreamTimings(final String baseUrl, final StreamTimings timings, final Throwable error) {
+  }
+
+  /**
+   * deepresearch 파이프라인 단계 종료 시 호출된다.
+   *
+   * @param stage         단계 이름 (예: {@code "selfQuery"}, {@code "statuteRetrieval"})
+   * @param durationNanos 단계 소요 시간 (나노초)
+   * @param error         실패 원인 (성공이면 null)
+   */
+  default void onStage(final String stage, final long durationNanos, final Throwable error) {
+  }
+}
@@ -1,16 +1,39 @@
 package com.saltlux.workflow.core.common;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.codec.CodecException;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.saltlux.workflow.core.common.WorkflowExceptions.BulkheadFullException;
+import com.saltlux.workflow.core.common.WorkflowExceptions.CircuitOpenException;
 import com.saltlux.workflow.core.common.WorkflowExceptions.WorkflowClientException;
 import com.saltlux.workflow.core.common.WorkflowExceptions.WorkflowException;
 import com.saltlux.workflow.core.payload.WorkflowResponse;
 
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
 /**
  * 워크플로우 서버와의 HTTP 통신을 처리하는 클래스.
@@ -30,14 +53,63 @@ public class WorkflowProcessor {
 
   private final WebClient client;
 
+  /** 요청 본문 직렬화용 writer (맵 키를 정렬하여 동일 요청이 동일 바이트가 되도록 함) */
+  private final ObjectWriter requestWriter;
+
+  /** 동일 요청 병합기 ({@link FlowPolicy#isCoalesce()}가 켜진 플로우에만 사용) */
+  private final RequestCoalescer coalescer = new RequestCoalescer();
+
+  /** 클라이언트 실행 옵션 (플로우별 정책 조회용) */
+  private final WorkflowClientOptions options;
+
+  private final WorkflowMetrics metrics;
+
+  /** 플로우 경로별 최근 응답 지연 시간 (hedge 대기 시간 산출용) */
+  private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+  /** 플로우 경로별 서킷 브레이커 */
+  private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+  /** 플로우 경로별 동시 호출 제한 */
+  private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+  /** 플로우 경로별 적응형 동시 실행 제한 */
+  private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
   public WorkflowProcessor(
       final WebClient.Builder clientBuilder,
       final String url,
       final String apiKey) {
-    this.client = clientBuilder
+    this(clientBuilder, url, apiKey, JsonSupport.createMapper(JsonProperties.builder().build()),
+        WorkflowClientOptions.defaults());
+  }
+
+  /**
+   * 실행 옵션을 지정하여 WorkflowProcessor를 생성한다.
+   *
+   * @param clientBuilder WebClient.Builder 인스턴스
+   * @param url           워크플로우 API 베이스 URL
+   * @param apiKey        워크플로우 API 키
+   * @param objectMapper  요청 본문 직렬화와 응답 디코딩에 사용할 ObjectMapper
+   * @param options       클라이언트 실행 옵션
+   */
+  public WorkflowProcessor(
+      final WebClient.Builder clientBuilder,
+      final String url,
+      final String apiKey,
+      final ObjectMapper objectMapper,
+      final WorkflowClientOptions options) {
+    this.client = JsonSupport.configureCodecs(clientBuilder.clone(), objectMapper)
         .baseUrl(url + "/api/flow/")
         .defaultHeaders(headers -> headers.setBearerAuth(apiKey))
         .build();
+    this.requestWriter = objectMapper.writer()
+        .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .withAttribute(DocumentRenderCache.class, options.getDocumentRenderCache());
+    this.options = options;
+    // 플로우 정책 설정 오류(정규화 후 중복 경로)를 생성 시점에 드러낸다
+    options.normalizedFlowPolicies();
+    this.metrics = options.getMetrics();
   }
 
   /**
@@ -58,6 +130,315 @@ public class WorkflowProcessor {
     }
   }
 
+  /**
+   * 클라이언트/통신 예외를 워크플로우 예외 체계로 변환한다.
+   *
+   * @param e 발생한 예외
+   * @return {@link WorkflowException} 또는 {@link WorkflowClientException}
+   */
+  private Throwable mapError(final Throwable e) {
+    return switch (e) {
+      case WorkflowException we -> we;
+      case WorkflowClientException wce -> wce;
+      case CodecException ce -> new WorkflowClientException("Failed to serialize/deserialize", ce);
+      case WebClientException wce -> new WorkflowClientException("Request failed", wce);
+      default -> new WorkflowClientException("Unexpected error", e);
+    };
+  }
+
+  /**
+   * 비동기 방식으로 워크플로우를 실행하고 결과 Mono를 반환한다.
+   *
+   * <p>
+   * 스레드를 블로킹하지 않으므로 여러 플로우 호출을 조합할 때 사용한다.
+   * 에러는 {@link #getResult}와 동일하게 {@link WorkflowException} 또는
+   * {@link WorkflowClientException}으로 전달된다.
+   * </p>
+   *
+   * <p>
+   * 플로우 정책에서 요청 병합({@link FlowPolicy#isCoalesce()})을 켜면 플로우 경로, 응답 타입, 요청 본문이 같은 요청이 진행 중일 때
+   * 새 요청을 보내지 않고 그 결과를 공유한다. 이 경우 호출자들은 같은 결과 인스턴스를 받는다.
+   * </p>
+   *
+   * <p>
+   * 재시도, hedging, 서킷 브레이커, 동시 호출 제한은 플로우 경로별 {@link FlowPolicy}에 따라 적용된다.
+   * 서킷이 열려 있거나 동시 호출 수를 초과하면 요청을 보내지 않고
+   * {@link CircuitOpenException} 또는 {@link BulkheadFullException}으로 즉시 실패한다.
+   * </p>
+   *
+   * @param flowPath  플로우 경로
+   * @param bodyValue 요청 본문
+   * @param typeRef   응답 타입 참조
+   * @param <T>       결과 타입
+   * @return 워크플로우 실행 결과 Mono
+   */
+  public <T> Mono<T> getResultAsync(
+      final String flowPath,
+      final Object bodyValue,
+      final ParameterizedTypeReference<WorkflowResponse<T>> typeRef) {
+    return Mono.defer(() -> {
+      final byte[] body;
+      try {
+        body = requestWriter.writeValueAsBytes(bodyValue);
+      } catch (JsonProcessingException e) {
+        return Mono.error(new WorkflowClientException("Failed to serialize/deserialize", e));
+      }
+      if (!options.flowPolicy(flowPath).isCoalesce()) {
+        return exchange(flowPath, body, typeRef);
+      }
+      return coalescer.coalesce(
+          RequestCoalescer.key(flowPath, typeRef.getType(), body),
+          () -> exchange(flowPath, body, typeRef));
+    });
+  }
+
+  /**
+   * 직렬화된 요청 본문으로 플로우 정책(재시도, hedging)을 적용하여 워크플로우 서버와 교환한다.
+   */
+  private <T> Mono<T> exchange(
+      final String flowPath,
+      final byte[] body,
+      final ParameterizedTypeReference<WorkflowResponse<T>> typeRef) {
+    final FlowPolicy policy = options.flowPolicy(flowPath);
+    final Mono<T> attempt = guarded(flowPath, policy, limited(flowPath, policy, attempt(flowPath, body, typeRef)));
+    final Mono<T> call = policy.isHedge()
+        ? hedged(flowPath, policy, attempt)
+        : attempt;
+    return withRetry(call, policy.getRetry())
+        .onErrorMap(this::mapError);
+  }
+
+  /**
+   * 워크플로우 서버에 요청을 한 번 보내고 성공한 응답의 지연 시간을 기록한다.
+   *
+   * <p>
+   * 응답 본문은 기존 코덱으로 디코딩하되, 지나가는 버퍼 크기만 집계하여 계측에 전달한다.
+   * </p>
+   */
+  private <T> Mono<T> attempt(
+      final String flowPath,
+      final byte[] body,
+      final ParameterizedTypeReference<WorkflowResponse<T>> typeRef) {
+    final LatencyTracker tracker = latencyTracker(flowPath);
+    return Mono.defer(() -> {
+      final long start = System.nanoTime();
+      final AtomicInteger status = new AtomicInteger(-1);
+      final LongAdder responseBytes = new LongAdder();
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      metrics.onFlowStart(flowPath);
+      return this.client.post()
+          .uri(flowPath)
+          .contentType(MediaType.APPLICATION_JSON)
+          .bodyValue(body)
+          .exchangeToMono(response -> {
+            status.set(response.statusCode().value());
+            final var counted = response.mutate()
+                .body(buffers -> buffers.doOnNext(buffer -> responseBytes.add(buffer.readableByteCount())))
+                .build();
+            return response.statusCode().isError()
+                ? counted.<WorkflowResponse<T>>createError()
+                : counted.bodyToMono(typeRef);
+          })
+          .map(this::validateWorkflowResponse)
+          .switchIfEmpty(Mono.error(() -> new WorkflowException(-1, "Empty response")))
+          .doOnNext(result -> tracker.record(System.nanoTime() - start))
+          .doOnError(error::set)
+          .doFinally(signal -> metrics.onFlowEnd(
+              flowPath,
+              System.nanoTime() - start,
+              body.length,
+              responseBytes.sum(),
+              status.get(),
+              signal == SignalType.CANCEL ? new CancellationException() : error.get()));
+    });
+  }
+
+  /**
+   * 서킷 브레이커와 동시 호출 제한을 단건 요청에 적용한다.
+   */
+  private <T> Mono<T> guarded(final String flowPath, final FlowPolicy policy, final Mono<T> attempt) {
+    return Mono.defer(() -> {
+      final CircuitBreaker breaker = circuitBreaker(flowPath, policy);
+      if (breaker != null && !breaker.tryAcquire()) {
+        return Mono.error(new CircuitOpenException(flowPath));
+      }
+      final Semaphore bulkhead = bulkhead(flowPath, policy);
+      if (bulkhead != null && !bulkhead.tryAcquire()) {
+        if (breaker != null) {
+          breaker.onIgnored();
+        }
+        return Mono.error(new BulkheadFullException(flowPath));
+      }
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      return attempt
+          .doOnError(error::set)
+          .doFinally(signal -> {
+            if (bulkhead != null) {
+              bulkhead.release();
+            }
+            if (breaker != null) {
+              switch (signal) {
+                case ON_ERROR -> {
+                  if (CircuitBreaker.isFailure(error.get())) {
+                    breaker.onFailure();
+                  } else {
+                    breaker.onSuccess();
+                  }
+                }
+                case CANCEL -> breaker.onIgnored();
+                default -> breaker.onSuccess();
+              }
+            }
+          });
+    });
+  }
+
+  /**
+   * 적응형 동시 실행 제한을 단건 요청에 적용한다.
+   *
+   * <p>
+   * 허가를 받은 시점부터 응답까지의 지연 시간과 과부하 응답이 제한 조절 신호로 사용된다.
+   * </p>
+   */
+  private <T> Mono<T> limited(final String flowPath, final FlowPolicy policy, final Mono<T> attempt) {
+    final ConcurrencyLimitProperties limit = policy.getConcurrencyLimit();
+    if (!limit.isEnabled()) {
+      return attempt;
+    }
+    final AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(
+        RequestCoalescer.normalizePath(flowPath), k -> new AdaptiveConcurrencyLimiter(k, limit));
+    return Mono.usingWhen(
+        limiter.acquire(),
+        permit -> {
+          final long start = System.nanoTime();
+          return attempt.doOnNext(result -> permit.onSample(System.nanoTime() - start));
+        },
+        permit -> Mono.fromRunnable(permit::release),
+        (permit, e) -> Mono.fromRunnable(() -> {
+          if (AdaptiveConcurrencyLimiter.isOverload(e)) {
+            permit.onDropped();
+          }
+          permit.release();
+        }),
+        permit -> Mono.fromRunnable(permit::release));
+  }
+
+  /**
+   * 플로우의 서킷이 열려 있는지 확인한다.
+   *
+   * <p>
+   * 서킷이 열려 있으면 해당 플로우 요청은 보내지 않고 즉시 실패하므로,
+   * 호출자는 이 값을 보고 해당 플로우를 건너뛰는 등 축소 모드로 동작할 수 있다.
+   * </p>
+   *
+   * @param flowPath 플로우 경로
+   * @return 서킷이 열려 있으면 true
+   */
+  public boolean isCircuitOpen(final String flowPath) {
+    final CircuitBreaker breaker = breakers.get(RequestCoalescer.normalizePath(flowPath));
+    return breaker != null && breaker.isOpen();
+  }
+
+  private CircuitBreaker circuitBreaker(final String flowPath, final FlowPolicy policy) {
+    if (!policy.getCircuitBreaker().isEnabled()) {
+      return null;
+    }
+    return breakers.computeIfAbsent(RequestCoalescer.normalizePath(flowPath),
+        k -> new CircuitBreaker(policy.getCircuitBreaker()));
+  }
+
+  private Semaphore bulkhead(final String flowPath, final FlowPolicy policy) {
+    if (policy.getMaxConcurrentCalls() <= 0) {
+      return null;
+    }
+    return bulkheads.computeIfAbsent(RequestCoalescer.normalizePath(flowPath),
+        k -> new Semaphore(policy.getMaxConcurrentCalls()));
+  }
+
+  /**
+   * 1차 요청이 hedge 대기 시간 안에 응답하지 않으면 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 사용한다.
+   *
+   * <p>
+   * 1차 요청이 재시도 대상 오류({@link RetryProperties#isRetryable(Throwable)})로 실패하면 hedge 요청이 대체 요청이 되며,
+   * 두 요청이 모두 실패하면 1차 요청의 예외를 전달한다.
+   * 서킷 열림, 동시 호출 초과, 4xx 응답처럼 다시 보내도 실패할 오류이면 hedge 요청을 보내지 않고 즉시 실패한다.
+   * </p>
+   */
+  private <T> Mono<T> hedged(final String flowPath, final FlowPolicy policy, final Mono<T> attempt) {
+    return Mono.defer(() -> {
+      final Duration delay = hedgeDelay(flowPath, policy);
+      final Sinks.Empty<T> abort = Sinks.empty();
+      final Mono<T> primary = attempt.doOnError(e -> {
+        if (!policy.getRetry().isRetryable(e)) {
+          abort.tryEmitError(e);
+        }
+      });
+      final Mono<T> first = Mono.firstWithValue(primary, Mono.delay(delay).then(attempt))
+          .onErrorMap(NoSuchElementException.class, WorkflowProcessor::firstHedgeError);
+      // abort는 1차 요청이 재시도 대상이 아닌 오류로 실패할 때만 신호를 내며, 이때 대기 중인 hedge 요청을 취소한다
+      return Mono.firstWithSignal(first, abort.asMono());
+    });
+  }
+
+  /**
+   * 플로우의 hedge 대기 시간을 계산한다.
+   */
+  private Duration hedgeDelay(final String flowPath, final FlowPolicy policy) {
+    Duration delay = policy.getHedgeDelay();
+    if (delay == null) {
+      delay = latencyTracker(flowPath).percentile(0.95);
+    }
+    if (delay == null) {
+      delay = policy.getHedgeFallbackDelay();
+    }
+    return delay.compareTo(policy.getMinHedgeDelay()) < 0 ? policy.getMinHedgeDelay() : delay;
+  }
+
+  /**
+   * {@link Mono#firstWithValue}가 모든 요청 실패 시 감싸는 예외에서 첫 번째 원인을 꺼낸다.
+   */
+  private static Throwable firstHedgeError(final NoSuchElementException e) {
+    if (e.getCause() == null) {
+      return e;
+    }
+    return Exceptions.unwrapMultiple(e.getCause()).stream().findFirst().orElse(e);
+  }
+
+  /**
+   * 재시도 설정을 적용한다.
+   */
+  private static <T> Mono<T> withRetry(final Mono<T> call, final RetryProperties retry) {
+    if (retry.getMaxAttempts() <= 1) {
+      return call;
+    }
+    return call.retryWhen(Retry.backoff(retry.getMaxAttempts() - 1L, retry.getInitialBackoff())
+        .maxBackoff(retry.getMaxBackoff())
+        .jitter(retry.getJitter())
+        .filter(retry::isRetryable)
+        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+  }
+
+  private LatencyTracker latencyTracker(final String flowPath) {
+    return latencies.computeIfAbsent(RequestCoalescer.normalizePath(flowPath), k -> new LatencyTracker(128));
+  }
+
+  /**
+   * 비동기 방식으로 워크플로우를 실행하고 결과 CompletableFuture를 반환한다.
+   *
+   * @param flowPath  플로우 경로
+   * @param bodyValue 요청 본문
+   * @param typeRef   응답 타입 참조
+   * @param <T>       결과 타입
+   * @return 워크플로우 실행 결과 CompletableFuture
+   * @see #getResultAsync(String, Object, ParameterizedTypeReference)
+   */
+  public <T> CompletableFuture<T> getResultFuture(
+      final String flowPath,
+      final Object bodyValue,
+      final ParameterizedTypeReference<WorkflowResponse<T>> typeRef) {
+    return getResultAsync(flowPath, bodyValue, typeRef).toFuture();
+  }
+
   /**
    * 동기 방식으로 워크플로우를 실행하고 결과를 반환한다.
    *
@@ -73,21 +454,7 @@ public class WorkflowProcessor {
       final String flowPath,
       final Object bodyValue,
       final ParameterizedTypeReference<WorkflowResponse<T>> typeRef) {
-    try {
-      final WorkflowResponse<T> response = this.client.post()
-          .uri(flowPath)
-          .bodyValue(bodyValue)
-          .retrieve()
-          .bodyToMono(typeRef)
-          .block();
-      return validateWorkflowResponse(response);
-    } catch (WorkflowException e) {
-      throw e;
-    } catch (CodecException e) {
-      throw new WorkflowClientException("Failed to serialize/deserialize", e);
-    } catch (WebClientException e) {
-      throw new WorkflowClientException("Request failed", e);
-    }
+    return getResultAsync(flowPath, bodyValue, typeRef).block();
   }
 
   /**
@@ -109,12 +476,7 @@ public class WorkflowProcessor {
         .retrieve()
         .bodyToFlux(typeRef)
         .map(this::validateWorkflowResponse)
-        .onErrorMap(e -> switch (e) {
-          case WorkflowException we -> we;
-          case CodecException ce -> new WorkflowClientException("Failed to serialize/deserialize", ce);
-          case WebClientException wce -> new WorkflowClientException("Request failed", wce);
-          default -> new WorkflowClientException("Unexpected error", e);
-        })
+        .onErrorMap(this::mapError)
         .publishOn(Schedulers.boundedElastic());
   }
 }
@@ -3,17 +3,30 @@ package com.saltlux.workflow.deepresearch;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.springframework.core.ParameterizedTypeReference;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.saltlux.workflow.core.common.DocumentBudgetProperties;
+import com.saltlux.workflow.core.common.JsonSupport;
+import com.saltlux.workflow.core.common.RefreshAheadCache;
+import com.saltlux.workflow.core.common.WorkflowClientOptions;
 import com.saltlux.workflow.core.common.WorkflowContext;
+import com.saltlux.workflow.core.common.WorkflowExceptions.BulkheadFullException;
+import com.saltlux.workflow.core.common.WorkflowExceptions.CircuitOpenException;
+import com.saltlux.workflow.core.common.WorkflowExceptions.WorkflowClientException;
+import com.saltlux.workflow.core.common.WorkflowFlux;
 import com.saltlux.workflow.core.common.WorkflowListener;
+import com.saltlux.workflow.core.common.WorkflowMetrics;
 import com.saltlux.workflow.core.common.WorkflowProcessor;
 import com.saltlux.workflow.core.payload.WorkflowResponse;
 import com.saltlux.workflow.deepresearch.common.FlowPathProperties;
@@ -49,6 +62,10 @@ import com.saltlux.workflow.deepresearch.payload.messageable.PrecedentRetrievalF
 import com.saltlux.workflow.deepresearch.payload.messageable.ResearchResult;
 import com.saltlux.workflow.deepresearch.payload.messageable.StatuteRetrievalFlow;
 import com.saltlux.workflow.direct.DirectLlmProcessor;
+import com.saltlux.workflow.direct.common.ChoiceAssemblers;
+import com.saltlux.workflow.direct.common.DocumentPacker;
+import com.saltlux.workflow.direct.common.DocumentPacker.Packed;
+import com.saltlux.workflow.direct.common.StreamTimingRecorder;
 import com.saltlux.workflow.direct.payload.DirectLlmRequest;
 import com.saltlux.workflow.direct.payload.chatcompletion.ChatCompletionResponse;
 import com.saltlux.workflow.direct.payload.chatcompletion.Message;
@@ -57,6 +74,8 @@ import com.saltlux.workflow.direct.payload.messageable.ResponseMessage;
 
 import lombok.extern.slf4j.Slf4j;
 import me.hanju.adapter.transition.TransitionSchema;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * 심층 연구 워크플로우 서비스.
@@ -101,17 +120,70 @@ public class DeepresearchProcessor {
   private final WorkflowProcessor processor;
   private final FlowPathProperties properties;
   private final DirectLlmProcessor llmClient;
-  private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
+
+  /** LLM 응답 JSON 파싱용 reader 캐시 */
+  private final JsonSupport json;
+
+  /** 파이프라인 본 흐름과 법령/판례 검색 분기를 실행할 executor */
+  private final Executor executor;
+
+  /** models 결과 캐시 (키: 플로우 경로) */
+  private final RefreshAheadCache<String, ModelInfoResponse> modelsCache;
+
+  /** systemPrompt 결과 캐시 (키: 프롬프트 유형) */
+  private final RefreshAheadCache<String, String> systemPromptCache;
+
+  /** 단계별 소요 시간 계측 */
+  private final WorkflowMetrics metrics;
+
+  /** 단계별 첨부 문서 토큰 예산 */
+  private final DocumentBudgetProperties documentBudget;
+
+  private final DocumentPacker documentPacker;
 
   public DeepresearchProcessor(
       final WorkflowProcessor processor,
       final FlowPathProperties properties,
       final DirectLlmProcessor llmClient,
       final com.fasterxml.jackson.databind.ObjectMapper objectMapper) {
+    this(processor, properties, llmClient, objectMapper, WorkflowClientOptions.defaults());
+  }
+
+  /**
+   * 실행 옵션을 지정하여 DeepresearchProcessor를 생성한다.
+   *
+   * <p>
+   * 파이프라인은 각 단계에서 블로킹 HTTP 호출을 하므로
+   * {@link java.util.concurrent.ForkJoinPool#commonPool()}이 아닌 옵션의 executor에서 실행한다.
+   * </p>
+   *
+   * @param processor    워크플로우 프로세서
+   * @param properties   플로우 경로 설정
+   * @param llmClient    LLM 직접 호출 프로세서
+   * @param objectMapper JSON 파서
+   * @param options      클라이언트 실행 옵션 (executor, cache 등)
+   */
+  public DeepresearchProcessor(
+      final WorkflowProcessor processor,
+      final FlowPathProperties properties,
+      final DirectLlmProcessor llmClient,
+      final com.fasterxml.jackson.databind.ObjectMapper objectMapper,
+      final WorkflowClientOptions options) {
     this.processor = processor;
     this.properties = properties;
     this.llmClient = llmClient;
-    this.objectMapper = objectMapper;
+    this.json = new JsonSupport(objectMapper);
+    this.executor = options.getExecutor();
+    this.metrics = options.getMetrics();
+    this.documentBudget = options.getDocumentBudget();
+    this.documentPacker = new DocumentPacker(documentBudget.getTokenEstimator(), options.getDocumentRenderCache());
+    this.modelsCache = new RefreshAheadCache<>(options.getCache(),
+        path -> processor.getResultAsync(path, Map.of("", ""), MODEL_INFO_RESPONSE_TYPE));
+    this.systemPromptCache = new RefreshAheadCache<>(options.getCache(),
+        type -> processor.getResultAsync(
+            properties.getSystemPromptPath(),
+            SystemPromptRequest.builder().type(type).build(),
+            SYSTEM_PROMPT_RESPONSE_TYPE));
   }
 
   // ========== 공개 API 메서드 ==========
@@ -123,10 +195,29 @@ public class DeepresearchProcessor {
    * @return 시스템 프롬프트 문자열
    */
   public String systemPrompt(final String type) {
-    return processor.getResult(
-        properties.getSystemPromptPath(),
-        SystemPromptRequest.builder().type(type).build(),
-        SYSTEM_PROMPT_RESPONSE_TYPE);
+    return systemPromptAsync(type).block();
+  }
+
+  /**
+   * 시스템 프롬프트를 비동기로 조회한다.
+   *
+   * <p>
+   * 결과는 유형별로 캐시되며, 캐시가 유효하면 네트워크를 기다리지 않는다.
+   * </p>
+   *
+   * @param type 프롬프트 유형 (예: "deepresearch")
+   * @return 시스템 프롬프트 문자열 Mono
+   */
+  public Mono<String> systemPromptAsync(final String type) {
+    return systemPromptCache.get(type);
+  }
+
+  /**
+   * models, systemPrompt 캐시를 비운다.
+   */
+  public void invalidateCaches() {
+    modelsCache.invalidateAll();
+    systemPromptCache.invalidateAll();
   }
 
   // ========== 내부 플로우 메서드 (package-private for testing) ==========
@@ -172,7 +263,7 @@ public class DeepresearchProcessor {
       final WorkflowListener<ReasoningObject<IndexLevelAnalysisResponse>> listener) {
     final WorkflowContext<ReasoningObject<IndexLevelAnalysisResponse>> context = new WorkflowContext<>(listener);
     streamToReasoningObject(
-        processor.getResult(properties.getIndexLevelAnalysisPath(), req, DIRECT_LLM_REQUEST_TYPE),
+        processor.getResultAsync(properties.getIndexLevelAnalysisPath(), req, DIRECT_LLM_REQUEST_TYPE),
         context,
         INDEX_LEVEL_ANALYSIS_RESPONSE_TYPE);
     return context;
@@ -183,7 +274,7 @@ public class DeepresearchProcessor {
       final WorkflowListener<ReasoningObject<GlobalAnalysisResponse>> listener) {
     final WorkflowContext<ReasoningObject<GlobalAnalysisResponse>> context = new WorkflowContext<>(listener);
     streamToReasoningObject(
-        processor.getResult(properties.getGlobalLevelAnalysisPath(), req, DIRECT_LLM_REQUEST_TYPE),
+        processor.getResultAsync(properties.getGlobalLevelAnalysisPath(), req, DIRECT_LLM_REQUEST_TYPE),
         context,
         GLOBAL_ANALYSIS_RESPONSE_TYPE);
     return context;
@@ -192,7 +283,7 @@ public class DeepresearchProcessor {
   public WorkflowContext<ReasoningObject<String>> analyzeAndPlan(
       final AnalyzeAndPlanRequest req,
       final WorkflowListener<ReasoningObject<String>> listener) {
-    final DirectLlmRequest directRequest = processor.getResult(
+    final Mono<DirectLlmRequest> directRequest = processor.getResultAsync(
         properties.getAnalyzeAndPlanPath(),
         req,
         DIRECT_LLM_REQUEST_TYPE);
@@ -202,7 +293,20 @@ public class DeepresearchProcessor {
   // ========== 공개 워크플로우 메서드 ==========
 
   public ModelInfoResponse models() {
-    return processor.getResult(properties.getModelsPath(), Map.of("", ""), MODEL_INFO_RESPONSE_TYPE);
+    return modelsAsync().block();
+  }
+
+  /**
+   * 사용 가능한 LLM 모델 목록을 비동기로 조회한다.
+   *
+   * <p>
+   * 결과는 캐시되며, 캐시가 유효하면 네트워크를 기다리지 않는다.
+   * </p>
+   *
+   * @return 모델 목록 Mono
+   */
+  public Mono<ModelInfoResponse> modelsAsync() {
+    return modelsCache.get(properties.getModelsPath());
   }
 
   /**
@@ -212,8 +316,18 @@ public class DeepresearchProcessor {
    * @return 생성된 제목
    */
   public TitleGenerationResponse titleGeneration(final TitleGenerationRequest req) {
+    return titleGenerationAsync(req).block();
+  }
+
+  /**
+   * 대화 내용을 기반으로 채팅방 제목을 비동기로 생성한다.
+   *
+   * @param req 제목 생성 요청 (사용자 질의, LLM 응답 포함)
+   * @return 생성된 제목 Mono
+   */
+  public Mono<TitleGenerationResponse> titleGenerationAsync(final TitleGenerationRequest req) {
     return processor
-        .getResult(
+        .getResultAsync(
             properties.getTitleGenerationPath(),
             req,
             TITLE_GENERATION_RESPONSE_TYPE);
@@ -232,7 +346,19 @@ public class DeepresearchProcessor {
    */
   public IntentClassificationResponse intentClassification(
       final ChatRequest req) {
-    return processor.getResult(
+    return intentClassificationAsync(req).block();
+  }
+
+  /**
+   * 사용자 질의의 의도를 비동기로 분류한다.
+   *
+   * @param req 요청 객체 (history, lastQuery)
+   * @return {@link IntentClassificationResponse} 의도 분류 결과 Mono
+   * @see #intentClassification(ChatRequest)
+   */
+  public Mono<IntentClassificationResponse> intentClassificationAsync(
+      final ChatRequest req) {
+    return processor.getResultAsync(
         properties.getIntentClassificationPath(),
         req,
         INTENT_CLASSIFICATION_RESPONSE_TYPE);
@@ -279,7 +405,7 @@ public class DeepresearchProcessor {
             .build();
 
         // 1. self-query
-        final SelfQueryResponse selfQueryResponse = selfQuery(chatRequest);
+        final SelfQueryResponse selfQueryResponse = timed("selfQuery", () -> selfQuery(chatRequest));
         if (selfQueryResponse.getBaseDate() == null) {
           selfQueryResponse.setBaseDate(
               Integer.parseInt(LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)));
@@ -291,17 +417,20 @@ public class DeepresearchProcessor {
         context.checkCompleted();
 
         // 2. query-reconstruction
-        final String searchQuery = queryReconstruction(chatRequest).getSearchQuery();
+        final String searchQuery = timed("queryReconstruction",
+            () -> queryReconstruction(chatRequest).getSearchQuery());
         context.emitNext(ResearchResult.builder().searchQuery(searchQuery).build());
         result.setSearchQuery(searchQuery);
         context.setResult(result);
 
         context.checkCompleted();
 
-        // 3. 병렬: 법령/판례 검색
+        // 3. 병렬: 법령/판례 검색 (서킷이 열린 분기는 건너뜀)
         final AtomicInteger flowIndex = new AtomicInteger(0);
-        final CompletableFuture<Void> statuteFuture = CompletableFuture
-            .runAsync(() -> executeStatuteRetrieval(
+        final CompletableFuture<Boolean> statuteFuture = runRetrievalBranch(
+            "statuteRetrieval",
+            properties.getStatuteRetrievePath(),
+            () -> executeStatuteRetrieval(
                 searchQuery,
                 selfQueryResponse.getStatuteFilter(),
                 selfQueryResponse.getBaseDate(),
@@ -309,8 +438,10 @@ public class DeepresearchProcessor {
                 flowIndex,
                 context));
 
-        final CompletableFuture<Void> precedentFuture = CompletableFuture
-            .runAsync(() -> executePrecedentRetrieval(
+        final CompletableFuture<Boolean> precedentFuture = runRetrievalBranch(
+            "precedentRetrieval",
+            properties.getPrecedentRetrievePath(),
+            () -> executePrecedentRetrieval(
                 searchQuery,
                 selfQueryResponse.getPrecedentFilter(),
                 selfQueryResponse.getBaseDate(),
@@ -319,6 +450,22 @@ public class DeepresearchProcessor {
                 context));
         CompletableFuture.allOf(statuteFuture, precedentFuture).join();
 
+        final List<String> degradedFlows = new ArrayList<>();
+        if (!statuteFuture.join()) {
+          degradedFlows.add(properties.getStatuteRetrievePath());
+        }
+        if (!precedentFuture.join()) {
+          degradedFlows.add(properties.getPrecedentRetrievePath());
+        }
+        if (!degradedFlows.isEmpty()) {
+          result.setDegradedFlows(degradedFlows);
+          context.emitNext(ResearchResult.builder().degradedFlows(degradedFlows).build());
+          context.setResult(result);
+          if (degradedFlows.size() == 2) {
+            throw new WorkflowClientException("All retrieval branches degraded: " + degradedFlows);
+          }
+        }
+
         context.checkCompleted();
 
         // 4. 글로벌 판단
@@ -328,8 +475,17 @@ public class DeepresearchProcessor {
         }
         final List<IDocument> allDocs = result.getAllDocuments();
         log.info("[ALL DOCS] count={}, docs={}", allDocs.size(), allDocs);
-        final ReasoningObject<GlobalAnalysisResponse> globalAnalysis = globalLevelAnalysis(
-            AnalysisRequest.builder().query(searchQuery).documents(allDocs).build(),
+        final Packed<IDocument> globalDocs = packDocuments(allDocs, result, documentBudget.getGlobalAnalysisTokens());
+        final Packed<IDocument> planDocs = packDocuments(allDocs, result, documentBudget.getAnalyzeAndPlanTokens());
+        final LinkedHashSet<String> dropped = new LinkedHashSet<>(globalDocs.droppedIds());
+        dropped.addAll(planDocs.droppedIds());
+        if (!dropped.isEmpty()) {
+          log.info("[DROPPED DOCS] global={}, analyzeAndPlan={}", globalDocs.droppedIds().size(), planDocs.droppedIds().size());
+          result.setDroppedDocumentIds(new ArrayList<>(dropped));
+          context.emitNext(ResearchResult.builder().droppedDocumentIds(result.getDroppedDocumentIds()).build());
+        }
+        final ReasoningObject<GlobalAnalysisResponse> globalAnalysis = timed("globalAnalysis", () -> globalLevelAnalysis(
+            AnalysisRequest.builder().query(searchQuery).documents(globalDocs.documents()).build(),
             new WorkflowListener<ReasoningObject<GlobalAnalysisResponse>>() {
               StringBuilder reasonBuilder = new StringBuilder();
               Sufficiency sufficiencyChecker = null;
@@ -366,7 +522,7 @@ public class DeepresearchProcessor {
                 context.cancel();
               }
 
-            }).get();
+            }).get());
 
         result.setReason(globalAnalysis.getReason());
         result.setSufficiency(globalAnalysis.getData().getIsDataSufficient());
@@ -377,10 +533,10 @@ public class DeepresearchProcessor {
         // 6. 작성계획
         final AnalyzeAndPlanRequest analyzeReq = AnalyzeAndPlanRequest.builder()
             .query(searchQuery)
-            .documents(allDocs)
+            .documents(planDocs.documents())
             .reason(globalAnalysis.getReason())
             .build();
-        final ReasoningObject<String> analysisPlan = analyzeAndPlan(
+        final ReasoningObject<String> analysisPlan = timed("analyzeAndPlan", () -> analyzeAndPlan(
             analyzeReq, new WorkflowListener<ReasoningObject<String>>() {
               StringBuilder sb = new StringBuilder();
 
@@ -409,7 +565,7 @@ public class DeepresearchProcessor {
                 context.setResult(result);
                 context.cancel();
               }
-            }).get();
+            }).get());
 
         result.setPlan(analysisPlan.getData());
 
@@ -425,11 +581,96 @@ public class DeepresearchProcessor {
         context.setResult(result);
         context.emitComplete();
       }
-    });
+    }, executor);
 
     return context;
   }
 
+  /**
+   * 검색 분기를 executor에서 실행한다.
+   *
+   * <p>
+   * 분기의 검색 플로우 서킷이 열려 있으면 실행하지 않으며,
+   * 실행 중 서킷 차단이나 동시 호출 제한으로 실패하면 분기만 건너뛰고 나머지 흐름은 계속한다.
+   * </p>
+   *
+   * @param stage    계측용 단계 이름
+   * @param flowPath 분기의 검색 플로우 경로
+   * @param branch   분기 실행 로직
+   * @return 분기가 정상 실행되었으면 true, 건너뛰었으면 false
+   */
+  private CompletableFuture<Boolean> runRetrievalBranch(
+      final String stage,
+      final String flowPath,
+      final Runnable branch) {
+    if (processor.isCircuitOpen(flowPath)) {
+      log.warn("Skip retrieval branch, circuit open: {}", flowPath);
+      return CompletableFuture.completedFuture(false);
+    }
+    return CompletableFuture.runAsync(() -> timed(stage, () -> {
+      branch.run();
+      return null;
+    }), executor).handle((ignored, e) -> {
+      if (e == null) {
+        return true;
+      }
+      if (isDegradation(e)) {
+        log.warn("Retrieval branch degraded: {} ({})", flowPath, e.getMessage());
+        return false;
+      }
+      throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+    });
+  }
+
+  /**
+   * 파이프라인 단계를 실행하고 소요 시간을 계측한다.
+   */
+  private <T> T timed(final String stage, final Supplier<T> step) {
+    final long start = System.nanoTime();
+    Throwable error = null;
+    try {
+      return step.get();
+    } catch (RuntimeException e) {
+      error = e;
+      throw e;
+    } finally {
+      metrics.onStage(stage, System.nanoTime() - start, error);
+    }
+  }
+
+  /**
+   * 예외 원인 중 서킷 차단 또는 동시 호출 제한 예외가 있는지 확인한다.
+   */
+  private static boolean isDegradation(final Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof CircuitOpenException || cause instanceof BulkheadFullException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 심층 연구 워크플로우를 실행하고 이벤트를 구독자의 요청량(demand)을 따르는 Flux로 반환한다.
+   *
+   * <p>
+   * {@link #deepresearch(String, List, String, WorkflowListener)}와 같은 partial 이벤트를 전달하며,
+   * 마지막 요소는 누적된 전체 결과다. 구독자가 요청하지 않으면 파이프라인이 다음 이벤트 전달 시점에서 대기하고,
+   * 구독을 취소하면 워크플로우도 취소된다.
+   * </p>
+   *
+   * @param model     사용할 모델
+   * @param history   이전 대화 내역
+   * @param lastQuery 사용자의 마지막 질의
+   * @return 워크플로우 이벤트 Flux
+   */
+  public Flux<ResearchResult> deepresearchFlux(
+      final String model,
+      final List<Message> history,
+      final String lastQuery) {
+    return WorkflowFlux.from(listener -> deepresearch(model, history, lastQuery, listener));
+  }
+
   /**
    * 법령 검색을 실행하고 재시도를 처리한다.
    * 검색 결과는 실시간으로 result에 누적되고 emit된다.
@@ -463,7 +704,7 @@ public class DeepresearchProcessor {
       context.checkCompleted();
 
       // 1. 검색 실행
-      final List<StatuteChunk> docs = doStatuteRetrieve(searchQuery, currentQueries, filter, baseDate);
+      final List<StatuteChunk> docs = doStatuteRetrieve(searchQuery, currentQueries, filter, baseDate, result);
       final StatuteRetrievalFlow searchResultFlow = StatuteRetrievalFlow.builder()
           .index(curIndex)
           .documents(docs)
@@ -474,10 +715,11 @@ public class DeepresearchProcessor {
       context.checkCompleted();
 
       // 2. 분석
+      final Packed<IDocument> analysisDocs = packDocuments(docs, result, documentBudget.getIndexAnalysisTokens());
       final ReasoningObject<IndexLevelAnalysisResponse> analysis = indexLevelAnalysis(
           AnalysisRequest.builder()
               .query(searchQuery)
-              .documents(docs.stream().map(c -> (IDocument) c).toList())
+              .documents(analysisDocs.documents())
               .build(),
           new WorkflowListener<ReasoningObject<IndexLevelAnalysisResponse>>() {
 
@@ -501,6 +743,7 @@ public class DeepresearchProcessor {
           .reason(analysis.getReason())
           .sufficiency(analysis.getData().getIsDataSufficient())
           .documents(docs)
+          .droppedDocumentIds(analysisDocs.droppedIds().isEmpty() ? null : analysisDocs.droppedIds())
           .build();
       flow.updateDocumentCount();
 
@@ -554,7 +797,7 @@ public class DeepresearchProcessor {
       context.checkCompleted();
 
       // 1. 검색 실행
-      final List<PrecedentChunk> docs = doPrecedentRetrieve(searchQuery, currentQueries, filter, baseDate);
+      final List<PrecedentChunk> docs = doPrecedentRetrieve(searchQuery, currentQueries, filter, baseDate, result);
       final PrecedentRetrievalFlow searchResultFlow = PrecedentRetrievalFlow.builder()
           .index(curIndex)
           .documents(docs)
@@ -565,10 +808,11 @@ public class DeepresearchProcessor {
       context.checkCompleted();
 
       // 2. 분석
+      final Packed<IDocument> analysisDocs = packDocuments(docs, result, documentBudget.getIndexAnalysisTokens());
       final ReasoningObject<IndexLevelAnalysisResponse> analysis = indexLevelAnalysis(
           AnalysisRequest.builder()
               .query(searchQuery)
-              .documents(docs.stream().map(c -> (IDocument) c).toList())
+              .documents(analysisDocs.documents())
               .build(),
           new WorkflowListener<ReasoningObject<IndexLevelAnalysisResponse>>() {
 
@@ -592,6 +836,7 @@ public class DeepresearchProcessor {
           .reason(analysis.getReason())
           .sufficiency(analysis.getData().getIsDataSufficient())
           .documents(docs)
+          .droppedDocumentIds(analysisDocs.droppedIds().isEmpty() ? null : analysisDocs.droppedIds())
           .build();
       flow.updateDocumentCount();
 
@@ -612,6 +857,56 @@ public class DeepresearchProcessor {
     }
   }
 
+  /**
+   * 검색 결과의 점수를 문서 타입과 ID별로 기록한다. 문서 선택 우선순위에 사용된다.
+   *
+   * <p>
+   * 한 목록 안에서는 한 가지 점수만 사용한다(모든 결과에 rerank 점수가 있으면 rerank 점수, 아니면 fused 점수).
+   * 법령과 판례처럼 척도가 다른 목록의 문서를 함께 고를 수 있도록 목록마다 0~1로 정규화(min-max)하며,
+   * 같은 문서가 여러 검색 시도에 나오면 큰 값을 사용한다.
+   * </p>
+   */
+  static void recordScores(final List<? extends Scored<? extends IDocument>> scored, final ResearchResult result) {
+    final boolean reranked = !scored.isEmpty() && scored.stream().allMatch(item -> item.getRerankedScore() != null);
+    float min = Float.POSITIVE_INFINITY;
+    float max = Float.NEGATIVE_INFINITY;
+    for (final Scored<? extends IDocument> item : scored) {
+      final Float score = reranked ? item.getRerankedScore() : item.getFusedScore();
+      if (score != null) {
+        min = Math.min(min, score);
+        max = Math.max(max, score);
+      }
+    }
+    for (final Scored<? extends IDocument> item : scored) {
+      final Float score = reranked ? item.getRerankedScore() : item.getFusedScore();
+      if (item.getData() != null && item.getData().getId() != null && score != null) {
+        final float normalized = max > min ? (score - min) / (max - min) : 1f;
+        result.getDocumentScores().merge(scoreKey(item.getData()), normalized, Math::max);
+      }
+    }
+  }
+
+  /**
+   * 점수 기록 키. 법령과 판례의 ID가 겹쳐도 구분되도록 문서 타입을 포함한다.
+   */
+  static String scoreKey(final IDocument document) {
+    return document.getClass().getName() + "#" + document.getId();
+  }
+
+  /**
+   * 검색 점수가 높은 문서부터 토큰 예산 안에 들어가는 문서를 고른다.
+   */
+  private Packed<IDocument> packDocuments(
+      final List<? extends IDocument> documents,
+      final ResearchResult result,
+      final int budget) {
+    final Map<String, Float> scores = result.getDocumentScores();
+    return documentPacker.pack(
+        new ArrayList<IDocument>(documents),
+        document -> document.getId() == null ? null : scores.get(scoreKey(document)),
+        budget);
+  }
+
   /**
    * 법령 검색을 실행한다.
    */
@@ -619,7 +914,8 @@ public class DeepresearchProcessor {
       final String representQuery,
       final List<String> queryStrs,
       final StatuteFilter filter,
-      final Integer baseDate) {
+      final Integer baseDate,
+      final ResearchResult result) {
 
     final List<StatuteQuery> queries = new ArrayList<>();
     queries.add(StatuteQuery.builder()
@@ -641,6 +937,7 @@ public class DeepresearchProcessor {
             .build())
         .getResults();
 
+    recordScores(results, result);
     return results.stream()
         .map(Scored::getData)
         .toList();
@@ -653,7 +950,8 @@ public class DeepresearchProcessor {
       final String representQuery,
       final List<String> queryStrs,
       final PrecedentFilter filter,
-      final Integer baseDate) {
+      final Integer baseDate,
+      final ResearchResult result) {
 
     final List<PrecedentQuery> queries = new ArrayList<>();
     queries.add(PrecedentQuery.builder()
@@ -675,6 +973,7 @@ public class DeepresearchProcessor {
             .build())
         .getResults();
 
+    recordScores(results, result);
     return results.stream()
         .map(Scored::getData)
         .toList();
@@ -684,17 +983,25 @@ public class DeepresearchProcessor {
 
   /**
    * reasoning 과정이 혼합된 객체를 context를 이용해 스트림 형식으로 전달한다.
+   *
+   * <p>
+   * LLM 요청 정보를 받아오는 플로우 호출부터 스트림 종료까지 스레드를 점유하지 않는다.
+   * </p>
    */
   private <T> void streamToReasoningObject(
-      final DirectLlmRequest request,
+      final Mono<DirectLlmRequest> request,
       final WorkflowContext<ReasoningObject<T>> context,
       final TypeReference<T> type) {
     final StringBuilder reasonBuilder = new StringBuilder();
     final StringBuilder contentBuilder = new StringBuilder();
-    context.setDisposable(llmClient.streamRaw(request)
+    final StreamTimingRecorder recorder = new StreamTimingRecorder();
+    context.setDisposable(request.flatMapMany(llmRequest -> llmClient.streamRaw(llmRequest, recorder))
         .subscribe(
             item -> {
-              ResponseMessage delta = item.getChoices().get(0).getDelta();
+              final ResponseMessage delta = extractDelta(item);
+              if (delta == null) {
+                return;
+              }
               if (delta.getReasoning() != null && !delta.getReasoning().isBlank()) {
                 reasonBuilder.append(delta.getReasoning());
                 context.emitNext(ReasoningObject.<T>builder().reason(delta.getReasoning()).build());
@@ -707,10 +1014,11 @@ public class DeepresearchProcessor {
             () -> {
               try {
                 final ReasoningObject<T> result = ReasoningObject.<T>builder()
-                    .data(objectMapper.readValue(contentBuilder.toString(), type))
+                    .data(json.reader(type).readValue(contentBuilder.toString()))
                     .build();
                 context.emitNext(result);
                 result.setReason(reasonBuilder.toString());
+                result.setTimings(recorder.snapshot());
                 context.setResult(result);
                 context.emitComplete();
               } catch (Exception e) {
@@ -723,13 +1031,14 @@ public class DeepresearchProcessor {
    * plan 태그를 파싱하여 ReasoningObject로 반환한다.
    */
   private WorkflowContext<ReasoningObject<String>> streamToAnalysisPlan(
-      final DirectLlmRequest request,
+      final Mono<DirectLlmRequest> request,
       final WorkflowListener<ReasoningObject<String>> listener) {
     final WorkflowContext<ReasoningObject<String>> context = new WorkflowContext<>(listener);
     final StringBuilder reasonBuilder = new StringBuilder();
     final StringBuilder planBuilder = new StringBuilder();
+    final StreamTimingRecorder recorder = new StreamTimingRecorder();
 
-    context.setDisposable(llmClient.streamRaw(request)
+    context.setDisposable(request.flatMapMany(llmRequest -> llmClient.streamRaw(llmRequest, recorder))
         .subscribe(
             response -> {
               final ResponseMessage delta = extractDelta(response);
@@ -752,6 +1061,7 @@ public class DeepresearchProcessor {
               final ReasoningObject<String> result = ReasoningObject.<String>builder()
                   .reason(reasonBuilder.toString())
                   .data(planBuilder.toString())
+                  .timings(recorder.snapshot())
                   .build();
               context.setResult(result);
               context.emitComplete();
@@ -760,10 +1070,22 @@ public class DeepresearchProcessor {
     return context;
   }
 
+  /**
+   * 첫 번째 선택지(index 0)의 delta를 반환한다.
+   *
+   * <p>
+   * 분석 단계는 선택지 하나만 사용하므로 {@code n > 1} 응답이 섞여 와도 index 0만 누적한다.
+   * </p>
+   */
   private ResponseMessage extractDelta(final ChatCompletionResponse response) {
-    if (response.getChoices() == null || response.getChoices().isEmpty()) {
+    if (response.getChoices() == null) {
       return null;
     }
-    return response.getChoices().get(0).getDelta();
+    for (final var choice : response.getChoices()) {
+      if (ChoiceAssemblers.indexOf(choice) == 0) {
+        return choice.getDelta();
+      }
+    }
+    return null;
   }
 }
@@ -3,6 +3,8 @@ package com.saltlux.workflow.deepresearch.payload;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.saltlux.workflow.direct.common.DocumentRendering;
 import com.saltlux.workflow.direct.payload.messageable.IDocument;
 
 import lombok.AccessLevel;
@@ -34,6 +36,7 @@ public final class AnalysisPayloads {
   public static class AnalysisRequest {
 
     private String query;
+    @JsonSerialize(contentUsing = DocumentRendering.CachedJsonSerializer.class)
     private List<IDocument> documents;
   }
 
@@ -71,6 +74,7 @@ public final class AnalysisPayloads {
   public static class AnalyzeAndPlanRequest {
 
     private String query;
+    @JsonSerialize(contentUsing = DocumentRendering.CachedJsonSerializer.class)
     private List<IDocument> documents;
     /** global-level-analysis의 reasoning 결과 */
     private String reason;
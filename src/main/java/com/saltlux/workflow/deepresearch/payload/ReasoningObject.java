@@ -1,5 +1,7 @@
 package com.saltlux.workflow.deepresearch.payload;
 
+import com.saltlux.workflow.core.common.StreamTimings;
+
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,4 +21,7 @@ import lombok.ToString;
 public class ReasoningObject<T> {
   private String reason;
   private T data;
+
+  /** LLM 스트리밍 시점 정보 (최종 결과에만 설정) */
+  private StreamTimings timings;
 }
@@ -12,6 +12,7 @@ import com.saltlux.workflow.direct.payload.messageable.IDocument;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -35,6 +36,7 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
+@EqualsAndHashCode
 public abstract class IRetrievalFlow {
 
   /** 배열 내 순서 */
@@ -56,6 +58,9 @@ public abstract class IRetrievalFlow {
     this.documentCount = getDocuments().size();
   }
 
+  /** 토큰 예산을 넘어 분석 요청에서 제외된 문서 ID (null이면 JSON에서 생략) */
+  private List<String> droppedDocumentIds;
+
   /** IndexLevelAnalysis의 reason */
   private String reason;
 
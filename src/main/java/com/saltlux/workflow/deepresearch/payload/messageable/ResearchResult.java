@@ -3,7 +3,9 @@ package com.saltlux.workflow.deepresearch.payload.messageable;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -14,6 +16,7 @@ import com.saltlux.workflow.direct.payload.messageable.IDocument;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -32,6 +35,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
 public class ResearchResult {
 
   private SelfQueryResponse selfQuery;
@@ -53,6 +57,18 @@ public class ResearchResult {
   /** 에러로 멈췄으면 true (null이면 JSON에서 생략) */
   private Boolean error;
 
+  /** 서킷 차단 등으로 건너뛴 검색 분기의 플로우 경로 (null이면 JSON에서 생략) */
+  private List<String> degradedFlows;
+
+  /** 토큰 예산을 넘어 전체 분석 또는 분석/계획 요청에서 제외된 문서 ID (null이면 JSON에서 생략) */
+  private List<String> droppedDocumentIds;
+
+  /** 문서 타입과 ID별 정규화된 검색 점수 (내부용, 문서 선택 우선순위, JSON 직렬화 제외) */
+  @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  @Builder.Default
+  private Map<String, Float> documentScores = new ConcurrentHashMap<>();
+
   /**
    * 모든 retrievalFlows에서 중복을 제거한 문서 목록을 반환한다.
    * <p>
@@ -1,9 +1,14 @@
 package com.saltlux.workflow.deepresearch.payload.messageable;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.saltlux.workflow.direct.payload.chatcompletion.Message;
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.direct.common.DocumentRendering;
+import com.saltlux.workflow.direct.payload.chatcompletion.ContentSegments;
 import com.saltlux.workflow.direct.payload.messageable.AttachedMessage;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -30,91 +35,99 @@ public class ResearchedMessage extends AttachedMessage {
   private ResearchResult researchResult;
 
   /**
-   * 일반 Message로 변환한다.
+   * content 조각을 만든다.
    * <p>
    * content에 다음 순서로 병합됩니다:
    * editor -> content -> documents -> researchResult
    * </p>
+   * <p>
+   * {@code documentTokenBudget}은 documents와 researchResult의 문서 블록에 각각 적용됩니다.
+   * </p>
    *
-   * @return 변환된 Message
+   * @param renderCache 문서 렌더링 캐시
+   * @return content 조각
    */
   @Override
-  @JsonIgnore
-  public Message toMessage() {
-    final StringBuilder sb = new StringBuilder();
+  protected ContentSegments contentSegments(final DocumentRenderCache renderCache) {
+    final ContentSegments segments = new ContentSegments();
 
     // 1. editor
     if (editor != null && !editor.isEmpty()) {
-      sb.append("<editor>\n").append(editor).append("\n</editor>");
+      segments.add("<editor>\n").add(editor).add("\n</editor>");
     }
 
     // 2. content
     final String contentText = getContent();
     if (contentText != null && !contentText.isEmpty()) {
-      if (!sb.isEmpty()) {
-        sb.append("\n\n");
-      }
-      sb.append(contentText);
+      appendSection(segments, new ContentSegments().add(contentText));
     }
 
     // 3. documents
-    final String documentsText = serializeDocuments();
-    if (!documentsText.isEmpty()) {
-      if (!sb.isEmpty()) {
-        sb.append("\n\n");
-      }
-      sb.append(documentsText);
-    }
+    appendSection(segments, documentsSegments(renderCache));
 
     // 4. researchResult
-    final String researchResultText = serializeResearchResult();
-    if (!researchResultText.isEmpty()) {
-      if (!sb.isEmpty()) {
-        sb.append("\n\n");
-      }
-      sb.append(researchResultText);
+    appendSection(segments, researchResultSegments(renderCache));
+
+    return segments;
+  }
+
+  /**
+   * documents와 researchResult의 검색 문서를 인용 가능한 문서로 반환한다.
+   */
+  @Override
+  public List<IDocument> citableDocuments() {
+    if (researchResult == null) {
+      return super.citableDocuments();
     }
+    final List<IDocument> documents = new ArrayList<>(super.citableDocuments());
+    documents.addAll(researchResult.getAllDocuments());
+    return documents;
+  }
 
-    return Message.builder()
-        .role(getRole())
-        .content(sb.toString())
-        .build();
+  private static void appendSection(final ContentSegments segments, final ContentSegments section) {
+    if (section.isEmpty()) {
+      return;
+    }
+    if (!segments.isEmpty()) {
+      segments.add("\n\n");
+    }
+    segments.addAll(section);
   }
 
   /**
-   * researchResult를 {@code <research-result>} 태그로 감싸서 직렬화한다.
+   * researchResult를 {@code <research-result>} 태그로 감싼 조각을 만든다.
    * <p>
    * 검색된 문서들, reason, plan만 포함합니다.
    * </p>
    */
-  @JsonIgnore
-  private String serializeResearchResult() {
+  private ContentSegments researchResultSegments(final DocumentRenderCache renderCache) {
+    final ContentSegments segments = new ContentSegments();
     if (researchResult == null) {
-      return "";
+      return segments;
     }
 
-    final StringBuilder sb = new StringBuilder();
-    sb.append("<research-result>\n");
+    segments.add("<research-result>\n");
 
     // 검색된 문서들
     final var docs = researchResult.getAllDocuments();
     if (docs != null && !docs.isEmpty()) {
-      sb.append("<retrieved-documents>\n");
-      for (final var doc : docs) {
-        sb.append(doc.toSerializedPrompt()).append("\n");
+      segments.add("<retrieved-documents>\n");
+      for (final var doc : packDocuments(docs, renderCache)) {
+        DocumentRendering.appendPrompt(renderCache, doc, segments);
+        segments.add("\n");
       }
-      sb.append("</retrieved-documents>\n");
+      segments.add("</retrieved-documents>\n");
     }
 
     if (researchResult.getReason() != null) {
-      sb.append("<reason>").append(researchResult.getReason()).append("</reason>\n");
+      segments.add("<reason>").add(researchResult.getReason()).add("</reason>\n");
     }
 
     if (researchResult.getPlan() != null) {
-      sb.append("<plan>").append(researchResult.getPlan()).append("</plan>\n");
+      segments.add("<plan>").add(researchResult.getPlan()).add("</plan>\n");
     }
 
-    sb.append("</research-result>");
-    return sb.toString();
+    segments.add("</research-result>");
+    return segments;
   }
 }
@@ -1,29 +1,66 @@
 package com.saltlux.workflow.direct;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import org.springframework.core.codec.CodecException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.saltlux.workflow.core.common.AdaptiveConcurrencyLimiter;
+import com.saltlux.workflow.core.common.ConcurrencyLimitProperties;
+import com.saltlux.workflow.core.common.DeltaCoalescingProperties;
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.core.common.LlmEndpointGroup;
+import com.saltlux.workflow.core.common.StreamTap;
+import com.saltlux.workflow.core.common.StreamTapProperties;
+import com.saltlux.workflow.core.common.WorkflowClientOptions;
 import com.saltlux.workflow.core.common.WorkflowContext;
+import com.saltlux.workflow.core.common.WorkflowExceptions.ConcurrencyLimitException;
 import com.saltlux.workflow.core.common.WorkflowListener;
+import com.saltlux.workflow.core.common.WorkflowMetrics;
 import com.saltlux.workflow.direct.common.ChatMessageAssembler;
+import com.saltlux.workflow.direct.common.ChoiceAssemblers;
 import com.saltlux.workflow.direct.common.CitedMessageAssembler;
+import com.saltlux.workflow.direct.common.DataBufferChunkOutputStream;
+import com.saltlux.workflow.direct.common.DeltaCoalescer;
 import com.saltlux.workflow.direct.common.DirectLlmClientException;
+import com.saltlux.workflow.direct.common.SseChatCompletionDecoder;
+import com.saltlux.workflow.direct.common.StreamTimingRecorder;
 import com.saltlux.workflow.direct.payload.DirectLlmRequest;
 import com.saltlux.workflow.direct.payload.chatcompletion.AdvancedCompletionResponse;
 import com.saltlux.workflow.direct.payload.chatcompletion.BaseCompletionResponse;
 import com.saltlux.workflow.direct.payload.chatcompletion.ChatCompletionResponse;
+import com.saltlux.workflow.direct.payload.chatcompletion.StreamingCompletionRequest;
+import com.saltlux.workflow.direct.payload.messageable.AttachedMessage;
 import com.saltlux.workflow.direct.payload.messageable.CitedMessage;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
+import com.saltlux.workflow.direct.payload.messageable.IMessageable;
 import com.saltlux.workflow.direct.payload.messageable.ResponseMessage;
+import com.saltlux.workflow.direct.payload.messageable.StreamDelta;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -37,27 +74,69 @@ import reactor.core.scheduler.Schedulers;
 @Slf4j
 public class DirectLlmProcessor {
 
-  /** Chat Completion Stream Response DONE 검출 로직 */
-  private static final Predicate<String> SSE_DONE_PREDICATE = "[DONE]"::equals;
+  /** 스트림 단계별 선요청(prefetch) 개수. 느린 구독자일 때 메모리에 쌓이는 양을 제한한다. */
+  private static final int STREAM_PREFETCH = 32;
+
+  /** 요청 본문 버퍼 초기 크기. 버퍼는 본문 크기에 맞춰 늘어난다. */
+  private static final int REQUEST_BUFFER_SIZE = 16 * 1024;
 
   private final WebClient client;
   private final ObjectMapper objectMapper;
 
+  /** SSE data 파싱용 reader */
+  private final ObjectReader chatResponseReader;
+
+  /** 요청 본문 직렬화용 writer */
+  private final ObjectWriter requestWriter;
+
+  /** LLM 동시 실행 제한 설정 */
+  private final ConcurrencyLimitProperties concurrencyLimit;
+
+  /** baseUrl별 적응형 동시 실행 제한 */
+  private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+  private final WorkflowMetrics metrics;
+
+  /** 진단용 raw 프레임 수집 설정 */
+  private final StreamTapProperties streamTap;
+
+  /** streamToContext 기본 delta 병합 설정 */
+  private final DeltaCoalescingProperties deltaCoalescing;
+
+  /** 첨부 문서 프롬프트 렌더링 캐시 */
+  private final DocumentRenderCache documentRenderCache;
+
+  /** 논리 baseUrl별 복제본 그룹 */
+  private final Map<String, LlmEndpointGroup> endpointGroups = new HashMap<>();
+
   public DirectLlmProcessor(
       final WebClient.Builder clientBuilder,
       final ObjectMapper objectMapper) {
-    this.client = clientBuilder.build();
-    this.objectMapper = objectMapper;
+    this(clientBuilder, objectMapper, WorkflowClientOptions.defaults());
   }
 
-  private ChatCompletionResponse parseChatResponse(final String json) {
-    try {
-      return objectMapper.readValue(json, ChatCompletionResponse.class);
-    } catch (JsonProcessingException e) {
-      throw new DirectLlmClientException(
-          "Failed to parse SSE data: " + json.substring(0, Math.min(200, json.length())),
-          e);
-    }
+  /**
+   * 실행 옵션을 지정하여 DirectLlmProcessor를 생성한다.
+   *
+   * @param clientBuilder WebClient.Builder 인스턴스
+   * @param objectMapper  SSE 파싱용 ObjectMapper
+   * @param options       클라이언트 실행 옵션
+   */
+  public DirectLlmProcessor(
+      final WebClient.Builder clientBuilder,
+      final ObjectMapper objectMapper,
+      final WorkflowClientOptions options) {
+    this.client = clientBuilder.build();
+    this.objectMapper = objectMapper;
+    this.chatResponseReader = objectMapper.readerFor(ChatCompletionResponse.class);
+    this.requestWriter = objectMapper.writerFor(StreamingCompletionRequest.class);
+    this.concurrencyLimit = options.getLlmConcurrencyLimit();
+    this.metrics = options.getMetrics();
+    this.streamTap = options.getStreamTap();
+    this.deltaCoalescing = options.getDeltaCoalescing();
+    this.documentRenderCache = options.getDocumentRenderCache();
+    options.getLlmEndpointGroups().forEach((baseUrl, group) -> endpointGroups.put(
+        normalizeBaseUrl(baseUrl), new LlmEndpointGroup(group)));
   }
 
   /**
@@ -68,10 +147,385 @@ public class DirectLlmProcessor {
    * 내부 모듈(DeepresearchProcessor 등)에서만 사용하며, WorkflowClient에 노출하지 않는다.
    * </p>
    *
+   * <p>
+   * LLM 동시 실행 제한이 활성화되어 있으면 baseUrl별 허가를 받은 뒤 요청하며,
+   * 허가는 스트림이 끝나거나 취소될 때까지 유지된다.
+   * </p>
+   *
    * @param directLlmRequest LLM 직접 호출 요청 정보
    * @return 원본 스트리밍 응답 Flux
    */
   public Flux<ChatCompletionResponse> streamRaw(final DirectLlmRequest directLlmRequest) {
+    return streamRaw(directLlmRequest, new StreamTimingRecorder());
+  }
+
+  /**
+   * 시점 측정값을 기록하며 Chat Completion 스트리밍 raw 요청을 보낸다.
+   *
+   * <p>
+   * 요청 전송, 응답 헤더 수신, 첫 reasoning/content 토큰, 토큰 간 간격을 {@code recorder}에 기록한다.
+   * 스트림 종료 후 {@link StreamTimingRecorder#snapshot()}으로 최종 측정값을 얻을 수 있다.
+   * </p>
+   *
+   * @param directLlmRequest LLM 직접 호출 요청 정보
+   * @param recorder         시점 기록기 (구독마다 초기화됨)
+   * @return 원본 스트리밍 응답 Flux
+   * @see #streamRaw(DirectLlmRequest)
+   */
+  public Flux<ChatCompletionResponse> streamRaw(
+      final DirectLlmRequest directLlmRequest,
+      final StreamTimingRecorder recorder) {
+    return routed(directLlmRequest, recorder)
+        .onErrorMap(DirectLlmProcessor::mapError)
+        .publishOn(Schedulers.boundedElastic());
+  }
+
+  /**
+   * 같은 요청을 여러 엔드포인트에 동시에 보내고, 가장 먼저 토큰을 생성한 응답만 전달한다.
+   *
+   * <p>
+   * 각 요청은 첫 토큰(content, reasoning, toolCalls 중 하나)이 올 때까지 앞선 청크(role 등)를 보관하며,
+   * 가장 먼저 토큰을 받은 요청이 보관한 청크부터 그대로 전달되고 나머지 요청은 즉시 취소된다.
+   * 따라서 하위 어셈블러는 선택된 요청의 청크만 처음부터 받는다.
+   * 모든 요청이 실패하면 첫 번째 요청의 오류를 전달한다.
+   * 서버 부하가 요청 수만큼 늘어나므로 첫 토큰 지연이 중요한 대화형 요청에만 사용한다.
+   * </p>
+   *
+   * @param requests 엔드포인트만 다른 요청 목록 (하나면 {@link #streamRaw(DirectLlmRequest)}와 같다)
+   * @return 선택된 요청의 원본 스트리밍 응답 Flux
+   */
+  public Flux<ChatCompletionResponse> streamRawRace(final List<DirectLlmRequest> requests) {
+    return streamRawRace(requests, new StreamTimingRecorder());
+  }
+
+  /**
+   * 시점 측정값을 기록하며 여러 엔드포인트에 경쟁 요청을 보낸다.
+   *
+   * @param requests 엔드포인트만 다른 요청 목록
+   * @param recorder 선택된 요청의 측정값을 반환할 기록기
+   * @return 선택된 요청의 원본 스트리밍 응답 Flux
+   * @see #streamRawRace(List)
+   */
+  public Flux<ChatCompletionResponse> streamRawRace(
+      final List<DirectLlmRequest> requests,
+      final StreamTimingRecorder recorder) {
+    if (requests.isEmpty()) {
+      return Flux.error(new DirectLlmClientException("No endpoints to race"));
+    }
+    if (requests.size() == 1) {
+      return streamRaw(requests.get(0), recorder);
+    }
+    final Flux<ChatCompletionResponse> race = Flux.defer(() -> {
+      final List<Flux<RaceChunk>> candidates = new ArrayList<>(requests.size());
+      for (final DirectLlmRequest request : requests) {
+        final StreamTimingRecorder candidateRecorder = new StreamTimingRecorder();
+        candidates.add(untilFirstToken(routed(request, candidateRecorder))
+            .map(response -> new RaceChunk(candidateRecorder, response)));
+      }
+      final boolean[] decided = { false };
+      return Flux.firstWithValue(candidates)
+          .onErrorMap(NoSuchElementException.class, DirectLlmProcessor::firstRaceError)
+          .map(chunk -> {
+            if (!decided[0]) {
+              decided[0] = true;
+              recorder.follow(chunk.recorder());
+            }
+            return chunk.response();
+          });
+    });
+    return race
+        .onErrorMap(DirectLlmProcessor::mapError)
+        .publishOn(Schedulers.boundedElastic());
+  }
+
+  /**
+   * 첫 토큰이 올 때까지 청크를 보관했다가 한 번에 전달하고, 이후에는 그대로 전달한다.
+   */
+  private static Flux<ChatCompletionResponse> untilFirstToken(final Flux<ChatCompletionResponse> stream) {
+    return Flux.defer(() -> {
+      final boolean[] started = { false };
+      return stream
+          .bufferUntil(response -> started[0] || (started[0] = hasToken(response)))
+          .concatMapIterable(Function.identity());
+    });
+  }
+
+  /**
+   * 응답에 토큰(content, reasoning, toolCalls)이 있는지 확인한다.
+   */
+  private static boolean hasToken(final ChatCompletionResponse response) {
+    if (response.getChoices() == null) {
+      return false;
+    }
+    for (final var choice : response.getChoices()) {
+      final ResponseMessage delta = choice.getDelta();
+      if (delta != null && ((delta.getContent() != null && !delta.getContent().isEmpty())
+          || (delta.getReasoning() != null && !delta.getReasoning().isEmpty())
+          || (delta.getToolCalls() != null && !delta.getToolCalls().isEmpty()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 모든 경쟁 요청이 실패했을 때 첫 번째 요청의 오류를 꺼낸다.
+   */
+  private static Throwable firstRaceError(final NoSuchElementException e) {
+    if (e.getCause() == null) {
+      return e;
+    }
+    return Exceptions.unwrapMultiple(e.getCause()).stream().findFirst().orElse(e);
+  }
+
+  /**
+   * 경쟁 요청의 청크와 해당 요청의 recorder.
+   */
+  private record RaceChunk(StreamTimingRecorder recorder, ChatCompletionResponse response) {
+  }
+
+  /**
+   * LLM 스트리밍 응답을 구독자의 요청량(demand)을 따르는 Flux로 반환한다.
+   *
+   * <p>
+   * 인용 처리된 delta를 {@link #streamToContext}와 같은 형태로 전달하고,
+   * 마지막 요소로 선택지별 누적된 전체 메시지를 {@code choices[i].message}에, 시점 측정값을 {@code streamTimings}에 담은
+   * 응답(finishReason "stop")을 전달한다.
+   * 스레드 전환 없이 각 단계가 적은 개수만 미리 요청하므로 느린 구독자는 HTTP 읽기(TCP)까지 늦춘다.
+   * 요소는 네트워크 이벤트 루프 스레드에서 전달되므로 블로킹 처리가 필요하면 구독자 쪽에서 {@code publishOn}을 사용한다.
+   * 오류는 {@link DirectLlmClientException}으로 전달된다.
+   * </p>
+   *
+   * @param request 요청 정보
+   * @return delta 응답 Flux (마지막 요소는 최종 메시지)
+   */
+  public Flux<AdvancedCompletionResponse> streamFlux(final DirectLlmRequest request) {
+    return Flux.defer(() -> {
+      final ChoiceAssemblers<CitedMessageAssembler> assemblers = citedAssemblers(request);
+      final StreamTimingRecorder recorder = new StreamTimingRecorder();
+      final ChatCompletionResponse[] lastResponse = { null };
+      return routed(request, recorder)
+          .onErrorMap(DirectLlmProcessor::mapError)
+          .concatMapIterable(response -> {
+            lastResponse[0] = response;
+            return toAdvancedResponses(response, assemblers);
+          }, STREAM_PREFETCH)
+          .concatWith(Mono.fromSupplier(() -> withTimings(
+              buildFinalAdvancedResponse(lastResponse[0], assemblers, "stop"), recorder)));
+    });
+  }
+
+  /**
+   * LLM 스트리밍 응답을 경량 {@link StreamDelta} 이벤트 Flux로 반환한다.
+   *
+   * <p>
+   * {@link #streamFlux}와 같은 요청량(demand) 전파를 따르지만, 토큰마다 {@code Choice}/{@link AdvancedCompletionResponse}
+   * 래퍼와 메시지 빌더를 만들지 않는다. 많은 스트림을 동시에 중계하는 경로에 사용한다.
+   * 선택지마다 종료 이유가 오면 내용 없이 {@code finishReason}만 담은 이벤트를 전달하며, 누적된 전체 메시지는 전달하지 않는다.
+   * 오류는 {@link DirectLlmClientException}으로 전달된다.
+   * </p>
+   *
+   * @param request 요청 정보
+   * @return delta 이벤트 Flux
+   */
+  public Flux<StreamDelta> streamDeltas(final DirectLlmRequest request) {
+    return Flux.defer(() -> {
+      final ChoiceAssemblers<CitedMessageAssembler> assemblers = citedAssemblers(request);
+      // concatMapIterable은 이전 목록을 모두 소비한 뒤 다음 응답을 변환하므로 목록 하나를 재사용한다
+      final List<StreamDelta> buffer = new ArrayList<>();
+      return routed(request, new StreamTimingRecorder())
+          .onErrorMap(DirectLlmProcessor::mapError)
+          .concatMapIterable(response -> {
+            buffer.clear();
+            final var choices = response.getChoices();
+            if (choices == null || choices.isEmpty()) {
+              return buffer;
+            }
+            for (final var choice : choices) {
+              final int index = ChoiceAssemblers.indexOf(choice);
+              assemblers.get(index).processDelta(choice.getDelta(), buffer::add);
+              if (choice.getFinishReason() != null) {
+                buffer.add(StreamDelta.finish(index, choice.getFinishReason()));
+              }
+            }
+            return buffer;
+          }, STREAM_PREFETCH);
+    });
+  }
+
+  /**
+   * 원본 응답 하나를 인용 처리된 delta 응답 목록으로 변환한다.
+   */
+  private List<AdvancedCompletionResponse> toAdvancedResponses(
+      final ChatCompletionResponse response,
+      final ChoiceAssemblers<CitedMessageAssembler> assemblers) {
+    final var choices = response.getChoices();
+    if (choices == null || choices.isEmpty()) {
+      return List.of();
+    }
+    final List<AdvancedCompletionResponse> responses = new ArrayList<>(choices.size());
+    for (final var choice : choices) {
+      final int index = ChoiceAssemblers.indexOf(choice);
+      final String finishReason = choice.getFinishReason();
+      final List<CitedMessage> deltas = assemblers.get(index).processDelta(choice.getDelta());
+
+      // finishReason이 있으면 delta가 비어있어도 emit
+      if (finishReason != null) {
+        final CitedMessage delta = deltas.isEmpty() ? CitedMessage.builder().build() : deltas.get(0);
+        responses.add(buildAdvancedResponse(response, index, delta, finishReason));
+      } else {
+        for (final CitedMessage delta : deltas) {
+          responses.add(buildAdvancedResponse(response, index, delta, null));
+        }
+      }
+    }
+    return responses;
+  }
+
+  /**
+   * 클라이언트/통신 예외를 {@link DirectLlmClientException}으로 변환한다.
+   */
+  private static Throwable mapError(final Throwable e) {
+    return switch (e) {
+      case DirectLlmClientException ex -> ex;
+      case ConcurrencyLimitException ex -> new DirectLlmClientException("Concurrency limit exceeded", ex);
+      case CodecException ex -> new DirectLlmClientException("Failed to serialize/deserialize", ex);
+      case WebClientException ex -> new DirectLlmClientException("Request failed", ex);
+      default -> new DirectLlmClientException("Unexpected error", e);
+    };
+  }
+
+  /**
+   * baseUrl에 복제본 그룹이 등록되어 있으면 복제본을 선택하여 요청한다.
+   *
+   * <p>
+   * 요청에 친화성 키가 있으면 같은 키를 같은 복제본으로 보낸다.
+   * 선택된 복제본의 임대는 스트림이 끝나거나 취소될 때 반납되며, 첫 토큰까지의 시간과 실패 여부가
+   * 복제본 제외(ejection) 판단에 사용된다. 동시 실행 제한은 선택된 복제본 baseUrl별로 적용된다.
+   * </p>
+   */
+  private Flux<ChatCompletionResponse> routed(
+      final DirectLlmRequest directLlmRequest,
+      final StreamTimingRecorder recorder) {
+    final LlmEndpointGroup group = endpointGroups.get(normalizeBaseUrl(directLlmRequest.getBaseUrl()));
+    if (group == null) {
+      return limited(directLlmRequest, recorder);
+    }
+    return Flux.usingWhen(
+        Mono.fromSupplier(() -> group.select(directLlmRequest.getAffinityKey())),
+        lease -> {
+          final long start = System.nanoTime();
+          final boolean[] waiting = { true };
+          return limited(directLlmRequest.toBuilder().baseUrl(lease.getBaseUrl()).build(), recorder)
+              .doOnNext(response -> {
+                if (waiting[0] && hasToken(response)) {
+                  waiting[0] = false;
+                  lease.onFirstToken(System.nanoTime() - start);
+                }
+              });
+        },
+        lease -> Mono.fromRunnable(() -> lease.release(null)),
+        (lease, e) -> Mono.fromRunnable(() -> lease.release(e)),
+        lease -> Mono.fromRunnable(() -> lease.release(new CancellationException())));
+  }
+
+  private static String normalizeBaseUrl(final String baseUrl) {
+    if (baseUrl == null) {
+      return "";
+    }
+    return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+  }
+
+  /**
+   * baseUrl별 적응형 동시 실행 제한을 적용한다.
+   *
+   * <p>
+   * 허가를 받은 시점부터 첫 응답까지의 지연 시간(TTFT)과 과부하 응답이 제한 조절 신호로 사용된다.
+   * </p>
+   */
+  private Flux<ChatCompletionResponse> limited(
+      final DirectLlmRequest directLlmRequest,
+      final StreamTimingRecorder recorder) {
+    if (!concurrencyLimit.isEnabled()) {
+      return measured(directLlmRequest, recorder);
+    }
+    final AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(
+        directLlmRequest.getBaseUrl(), k -> new AdaptiveConcurrencyLimiter(k, concurrencyLimit));
+    return Flux.usingWhen(
+        limiter.acquire(),
+        permit -> {
+          final long start = System.nanoTime();
+          return measured(directLlmRequest, recorder)
+              .doOnNext(response -> permit.onSample(System.nanoTime() - start));
+        },
+        permit -> Mono.fromRunnable(permit::release),
+        (permit, e) -> Mono.fromRunnable(() -> {
+          if (AdaptiveConcurrencyLimiter.isOverload(e)) {
+            permit.onDropped();
+          }
+          permit.release();
+        }),
+        permit -> Mono.fromRunnable(permit::release));
+  }
+
+  /**
+   * 스트리밍 요청의 첫 청크까지의 시간(TTFT), 전체 소요 시간, 생성 토큰 수를 계측한다.
+   *
+   * <p>
+   * 세부 시점은 {@code recorder}에 기록하고, 종료 시 {@link WorkflowMetrics#onLlmStreamTimings}로 전달한다.
+   * </p>
+   */
+  private Flux<ChatCompletionResponse> measured(
+      final DirectLlmRequest directLlmRequest,
+      final StreamTimingRecorder recorder) {
+    final String baseUrl = directLlmRequest.getBaseUrl();
+    return Flux.defer(() -> {
+      recorder.onRequestSent();
+      final long start = System.nanoTime();
+      final long[] firstChunkAt = { -1 };
+      final long[] chunks = { 0 };
+      final Integer[] completionTokens = { null };
+      final Throwable[] error = { null };
+      metrics.onLlmStreamStart(baseUrl);
+      return exchange(directLlmRequest, recorder)
+          .doOnNext(response -> {
+            recorder.onResponse(response);
+            if (firstChunkAt[0] < 0) {
+              firstChunkAt[0] = System.nanoTime();
+            }
+            chunks[0]++;
+            if (response.getUsage() != null && response.getUsage().getCompletionTokens() != null) {
+              completionTokens[0] = response.getUsage().getCompletionTokens();
+            }
+          })
+          .doOnError(e -> error[0] = e)
+          // 종료 시점은 종료 신호가 하위로 전달되기 전에 기록한다
+          .doOnTerminate(recorder::onEnd)
+          .doOnCancel(recorder::onEnd)
+          .doFinally(signal -> {
+            final Throwable cause = signal == SignalType.CANCEL ? new CancellationException() : error[0];
+            metrics.onLlmStreamTimings(baseUrl, recorder.snapshot(), cause);
+            metrics.onLlmStreamEnd(
+                baseUrl,
+                firstChunkAt[0] < 0 ? -1 : firstChunkAt[0] - start,
+                System.nanoTime() - start,
+                completionTokens[0] != null ? completionTokens[0] : chunks[0],
+                cause);
+          });
+    });
+  }
+
+  /**
+   * LLM API에 스트리밍 요청을 보내고 SSE 응답을 파싱한다.
+   *
+   * <p>
+   * 응답 본문은 {@link SseChatCompletionDecoder}로 바이트 단위 디코딩하며, {@code [DONE]}에서 스트림을 종료한다.
+   * 응답 헤더 수신 시점을 {@code recorder}에 기록하며, 오류 상태 코드는 {@code WebClientResponseException}으로 전달한다.
+   * </p>
+   */
+  private Flux<ChatCompletionResponse> exchange(
+      final DirectLlmRequest directLlmRequest,
+      final StreamTimingRecorder recorder) {
     return this.client.post()
         .uri(directLlmRequest.getBaseUrl() + "/v1/chat/completions")
         .accept(MediaType.TEXT_EVENT_STREAM)
@@ -82,20 +536,63 @@ public class DirectLlmProcessor {
             headers.setBearerAuth(directLlmRequest.getApiKey());
           }
         })
-        .bodyValue(directLlmRequest.getBody().toChatCompletionRequest())
-        .retrieve()
-        .bodyToFlux(String.class)
-        .doOnNext(raw -> log.info("[RAW] {}", raw))
-        .takeUntil(SSE_DONE_PREDICATE)
-        .filter(SSE_DONE_PREDICATE.negate())
-        .map(this::parseChatResponse)
-        .onErrorMap(e -> switch (e) {
-          case DirectLlmClientException ex -> ex;
-          case CodecException ex -> new DirectLlmClientException("Failed to serialize/deserialize", ex);
-          case WebClientException ex -> new DirectLlmClientException("Request failed", ex);
-          default -> new DirectLlmClientException("Unexpected error", e);
+        .body(requestBody(directLlmRequest.getBody()
+            .toStreamingRequest(directLlmRequest.getConversationCache(), documentRenderCache)))
+        .exchangeToFlux(response -> {
+          recorder.onHeaders();
+          return response.statusCode().isError()
+              ? response.<DataBuffer>createError().flux()
+              : response.bodyToFlux(DataBuffer.class);
         })
-        .publishOn(Schedulers.boundedElastic());
+        .transform(buffers -> decodeSse(buffers, directLlmRequest.getBaseUrl()))
+        .takeWhile(response -> response != SseChatCompletionDecoder.DONE);
+  }
+
+  /**
+   * 요청 본문을 네트워크 버퍼에 직접 직렬화한다.
+   *
+   * <p>
+   * 첨부 문서가 많은 요청에서 메시지 content 문자열, 직렬화된 byte 배열을 거치지 않고
+   * {@link StreamingCompletionRequest}의 content 조각을 고정 크기 {@link DataBuffer} 조각에 바로 쓴다.
+   * 버퍼를 늘리며 복사하지 않고, Content-Length를 지정하기 위해 전체를 쓴 뒤 조각 순서대로 전송한다.
+   * </p>
+   */
+  private BodyInserter<StreamingCompletionRequest, ReactiveHttpOutputMessage> requestBody(
+      final StreamingCompletionRequest body) {
+    return (message, context) -> Mono.defer(() -> {
+      final DataBufferChunkOutputStream out =
+          new DataBufferChunkOutputStream(message.bufferFactory(), REQUEST_BUFFER_SIZE);
+      try {
+        requestWriter.writeValue(out, body);
+      } catch (IOException | RuntimeException e) {
+        out.release();
+        return Mono.error(new EncodingException("Failed to write chat completion request", e));
+      }
+      message.getHeaders().setContentLength(out.size());
+      return message.writeWith(Flux.fromIterable(out.buffers())
+          .doOnDiscard(DataBuffer.class, DataBufferUtils::release));
+    });
+  }
+
+  /**
+   * SSE 바이트 스트림을 구독마다 새 디코더로 디코딩한다.
+   *
+   * <p>
+   * 진단용 탭이 활성화되어 있으면 오류/취소 시 최근 raw 프레임을 로그로 남긴다.
+   * </p>
+   */
+  private Flux<ChatCompletionResponse> decodeSse(final Flux<DataBuffer> buffers, final String target) {
+    return Flux.defer(() -> {
+      final StreamTap tap = StreamTap.open(streamTap, target);
+      final SseChatCompletionDecoder decoder = new SseChatCompletionDecoder(chatResponseReader, tap);
+      final Flux<ChatCompletionResponse> decoded = buffers
+          .concatMapIterable(decoder::decode, STREAM_PREFETCH)
+          .concatWith(Flux.defer(() -> Flux.fromIterable(decoder.finish())))
+          .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+      return tap.isEnabled()
+          ? decoded.doOnError(tap::onError).doOnCancel(tap::onCancel)
+          : decoded;
+    });
   }
 
   /**
@@ -113,52 +610,49 @@ public class DirectLlmProcessor {
       final DirectLlmRequest request,
       final WorkflowListener<ChatCompletionResponse> listener) {
     final WorkflowContext<ChatCompletionResponse> context = new WorkflowContext<>(listener);
-    final ChatMessageAssembler assembler = new ChatMessageAssembler();
+    final ChoiceAssemblers<ChatMessageAssembler> assemblers = new ChoiceAssemblers<>(index -> new ChatMessageAssembler());
+    final StreamTimingRecorder recorder = new StreamTimingRecorder();
     final ChatCompletionResponse[] lastResponse = { null };
 
     // 취소 시에도 현재까지 누적된 부분 결과를 반환하도록 콜백 설정
     context.setOnCancel(() -> {
-      context.setResult(buildChatResponse(lastResponse[0], assembler, "cancelled"));
+      context.setResult(buildChatResponse(lastResponse[0], assemblers, recorder, "cancelled"));
       context.emitComplete();
     });
 
-    context.setDisposable(streamRaw(request)
+    context.setDisposable(streamRaw(request, recorder)
         .subscribe(
             response -> {
               lastResponse[0] = response;
-              final var choices = response.getChoices();
-              final ResponseMessage delta = (choices == null || choices.isEmpty())
-                  ? null
-                  : choices.get(0).getDelta();
-              assembler.processDelta(delta);
+              if (response.getChoices() != null) {
+                for (final var choice : response.getChoices()) {
+                  assemblers.get(ChoiceAssemblers.indexOf(choice)).processDelta(choice.getDelta());
+                }
+              }
               context.emitNext(response);
             },
             error -> {
-              context.setResult(buildChatResponse(lastResponse[0], assembler, "error"));
+              context.setResult(buildChatResponse(lastResponse[0], assemblers, recorder, "error"));
               context.emitError(error);
             },
             () -> {
-              context.setResult(buildChatResponse(lastResponse[0], assembler, "stop"));
+              context.setResult(buildChatResponse(lastResponse[0], assemblers, recorder, "stop"));
               context.emitComplete();
             }));
     return context;
   }
 
   /**
-   * ChatMessageAssembler로부터 최종 ChatCompletionResponse를 생성한다.
+   * 선택지별 ChatMessageAssembler로부터 최종 ChatCompletionResponse를 생성한다.
    */
   private ChatCompletionResponse buildChatResponse(
       final ChatCompletionResponse lastResponse,
-      final ChatMessageAssembler assembler,
+      final ChoiceAssemblers<ChatMessageAssembler> assemblers,
+      final StreamTimingRecorder recorder,
       final String finishReason) {
-    final ResponseMessage message = assembler.buildFinalMessage();
-
     final ChatCompletionResponse.ChatCompletionResponseBuilder<?, ?> builder = ChatCompletionResponse.builder()
-        .choices(List.of(BaseCompletionResponse.Choice.<ResponseMessage>builder()
-            .index(0)
-            .message(message)
-            .finishReason(finishReason)
-            .build()));
+        .streamTimings(recorder.snapshot())
+        .choices(assemblers.<ResponseMessage>buildChoices(ChatMessageAssembler::buildFinalMessage, finishReason));
 
     if (lastResponse != null) {
       builder.id(lastResponse.getId())
@@ -178,6 +672,8 @@ public class DirectLlmProcessor {
    * 스트리밍 중에는 각 토큰마다 {@link WorkflowContext#emitNext}로 개별 응답을 전달하고,
    * 완료/에러/취소 시 {@link WorkflowContext#setResult}로 현재까지 누적된 텍스트와
    * 인용 정보가 포함된 {@link AdvancedCompletionResponse}를 설정한다.
+   * 요청에 {@code n > 1}을 지정하면 선택지마다 별도로 누적하며, 각 응답의 {@code choices[0].index}로 선택지를 구분한다.
+   * 최종 결과에는 모든 선택지가 index 순서로 담기며, 누적된 메시지는 {@code message}와 {@code delta}에 모두 설정된다.
    * </p>
    *
    * @param request 요청 정보
@@ -186,75 +682,169 @@ public class DirectLlmProcessor {
   public WorkflowContext<AdvancedCompletionResponse> streamToContext(
       final DirectLlmRequest request,
       final WorkflowListener<AdvancedCompletionResponse> listener) {
+    return streamToContext(request, listener, deltaCoalescing);
+  }
+
+  /**
+   * delta 병합 설정을 지정하여 LLM 스트리밍 응답을 context로 전달한다.
+   *
+   * <p>
+   * 병합이 활성화되어 있으면 연속된 content/reasoning delta를 설정된 시간 또는 글자 수만큼 모아 한 번에 전달한다.
+   * 인용, toolCalls, finishReason이 있는 응답 앞에서는 모아둔 내용을 먼저 전달한다.
+   * </p>
+   *
+   * @param request    요청 정보
+   * @param listener   스트리밍 이벤트를 수신할 리스너
+   * @param coalescing delta 병합 설정
+   * @see #streamToContext(DirectLlmRequest, WorkflowListener)
+   */
+  public WorkflowContext<AdvancedCompletionResponse> streamToContext(
+      final DirectLlmRequest request,
+      final WorkflowListener<AdvancedCompletionResponse> listener,
+      final DeltaCoalescingProperties coalescing) {
+    return streamToContext(recorder -> streamRaw(request, recorder), request, listener, coalescing);
+  }
+
+  /**
+   * 같은 요청을 여러 엔드포인트에 동시에 보내고, 가장 먼저 토큰을 생성한 응답을 context로 전달한다.
+   *
+   * <p>
+   * 전달 형식과 최종 결과는 {@link #streamToContext(DirectLlmRequest, WorkflowListener)}와 같으며,
+   * 선택되지 않은 요청의 응답은 전달되지 않는다.
+   * </p>
+   *
+   * @param requests 엔드포인트만 다른 요청 목록
+   * @param listener 스트리밍 이벤트를 수신할 리스너
+   * @return 워크플로우 context
+   * @see #streamRawRace(List, StreamTimingRecorder)
+   */
+  public WorkflowContext<AdvancedCompletionResponse> streamRaceToContext(
+      final List<DirectLlmRequest> requests,
+      final WorkflowListener<AdvancedCompletionResponse> listener) {
+    return streamToContext(recorder -> streamRawRace(requests, recorder),
+        requests.isEmpty() ? null : requests.get(0), listener, deltaCoalescing);
+  }
+
+  /**
+   * 원본 응답 스트림을 인용 처리하여 context로 전달한다.
+   *
+   * @param source     recorder를 받아 원본 응답 스트림을 만드는 함수
+   * @param request    인용 문서를 찾을 요청 (nullable)
+   * @param listener   스트리밍 이벤트를 수신할 리스너
+   * @param coalescing delta 병합 설정
+   */
+  private WorkflowContext<AdvancedCompletionResponse> streamToContext(
+      final Function<StreamTimingRecorder, Flux<ChatCompletionResponse>> source,
+      final DirectLlmRequest request,
+      final WorkflowListener<AdvancedCompletionResponse> listener,
+      final DeltaCoalescingProperties coalescing) {
     final WorkflowContext<AdvancedCompletionResponse> context = new WorkflowContext<>(listener);
-    final CitedMessageAssembler assembler = new CitedMessageAssembler();
+    final ChoiceAssemblers<CitedMessageAssembler> assemblers = citedAssemblers(request);
+    final StreamTimingRecorder recorder = new StreamTimingRecorder();
     final ChatCompletionResponse[] lastResponse = { null };
+    // 선택지별 병합기 (서로 다른 선택지의 delta를 이어 붙이지 않도록 분리)
+    final Map<Integer, DeltaCoalescer> coalescers = new ConcurrentHashMap<>();
+    final IntFunction<DeltaCoalescer> coalescer = index -> coalescers.computeIfAbsent(index,
+        i -> new DeltaCoalescer(coalescing,
+            delta -> context.emitNext(buildAdvancedResponse(lastResponse[0], i, delta, null))));
 
     // 취소 시에도 현재까지 누적된 부분 결과를 반환하도록 콜백 설정
     context.setOnCancel(() -> {
-      assembler.flush();
-      context.setResult(buildAdvancedResponse(
-          lastResponse[0], assembler.buildFinalMessage(), "cancelled"));
+      coalescers.values().forEach(DeltaCoalescer::discard);
+      context.setResult(buildContextResult(lastResponse[0], assemblers, recorder, "cancelled"));
       context.emitComplete();
     });
 
-    context.setDisposable(streamRaw(request)
+    context.setDisposable(source.apply(recorder)
         .subscribe(
             response -> {
               lastResponse[0] = response;
               final var choices = response.getChoices();
-              if (choices == null || choices.isEmpty()) {
+              if (choices == null) {
                 return;
               }
-              final var choice = choices.get(0);
-              final String finishReason = choice.getFinishReason();
-              final List<CitedMessage> deltas = assembler.processDelta(choice.getDelta());
-
-              // finishReason이 있으면 delta가 비어있어도 emit
-              if (finishReason != null) {
-                final CitedMessage delta = deltas.isEmpty() ? CitedMessage.builder().build() : deltas.get(0);
-                context.emitNext(buildAdvancedResponse(response, delta, finishReason));
-              } else {
-                for (final CitedMessage delta : deltas) {
-                  context.emitNext(buildAdvancedResponse(response, delta, null));
+              for (final var choice : choices) {
+                final int index = ChoiceAssemblers.indexOf(choice);
+                final String finishReason = choice.getFinishReason();
+
+                // finishReason이 있으면 병합 중인 delta를 먼저 보내고, delta가 비어있어도 emit
+                if (finishReason != null) {
+                  coalescer.apply(index).flush();
+                  final List<CitedMessage> deltas = assemblers.get(index).processDelta(choice.getDelta());
+                  final CitedMessage delta = deltas.isEmpty() ? CitedMessage.builder().build() : deltas.get(0);
+                  context.emitNext(buildAdvancedResponse(response, index, delta, finishReason));
+                } else {
+                  final DeltaCoalescer target = coalescer.apply(index);
+                  assemblers.get(index).processDelta(choice.getDelta(), delta -> target.offer(delta.toCitedMessage()));
                 }
               }
             },
             error -> {
-              assembler.flush();
-              context.setResult(buildAdvancedResponse(
-                  lastResponse[0], assembler.buildFinalMessage(), "error"));
+              coalescers.values().forEach(DeltaCoalescer::close);
+              context.setResult(buildContextResult(lastResponse[0], assemblers, recorder, "error"));
               context.emitComplete();
             },
             () -> {
-              assembler.flush();
-              context.setResult(buildAdvancedResponse(
-                  lastResponse[0], assembler.buildFinalMessage(), "stop"));
+              coalescers.values().forEach(DeltaCoalescer::close);
+              context.setResult(buildContextResult(lastResponse[0], assemblers, recorder, "stop"));
               context.emitComplete();
             }));
     return context;
   }
 
+  /**
+   * 인용 Citation에 요청의 첨부 문서(제목, URL)를 연결하는 선택지별 어셈블러 모음을 만든다.
+   *
+   * <p>
+   * 요청 메시지의 {@link AttachedMessage#citableDocuments()}를 ID로 색인하며, 같은 ID는 나중 메시지의 문서를 사용한다.
+   * </p>
+   *
+   * @param request 요청 정보 (nullable)
+   */
+  private static ChoiceAssemblers<CitedMessageAssembler> citedAssemblers(final DirectLlmRequest request) {
+    final Map<String, IDocument> documents = new HashMap<>();
+    final var body = request == null ? null : request.getBody();
+    if (body != null && body.getMessages() != null) {
+      for (final IMessageable message : body.getMessages()) {
+        if (message instanceof AttachedMessage attached) {
+          for (final IDocument document : attached.citableDocuments()) {
+            if (document.getId() != null) {
+              documents.put(document.getId(), document);
+            }
+          }
+        }
+      }
+    }
+    return new ChoiceAssemblers<>(index -> new CitedMessageAssembler(index, documents::get));
+  }
+
   /**
    * AdvancedCompletionResponse를 생성한다.
    *
    * @param original     원본 응답 (id, model 등 메타정보용, nullable)
+   * @param index        선택지 index
    * @param delta        delta 메시지
    * @param finishReason 종료 이유 (스트리밍 중이면 null)
    */
   private AdvancedCompletionResponse buildAdvancedResponse(
       final ChatCompletionResponse original,
+      final int index,
       final CitedMessage delta,
       final String finishReason) {
     final var choiceBuilder = BaseCompletionResponse.Choice.<CitedMessage>builder()
-        .index(0)
+        .index(index)
         .delta(delta)
         .finishReason(finishReason);
 
-    final AdvancedCompletionResponse.AdvancedCompletionResponseBuilder<?, ?> builder = AdvancedCompletionResponse
-        .builder()
-        .choices(List.of(choiceBuilder.build()));
+    return withMetadata(AdvancedCompletionResponse.builder().choices(List.of(choiceBuilder.build())), original);
+  }
 
+  /**
+   * 원본 응답의 id, model 등 메타정보를 설정하여 응답을 생성한다.
+   */
+  private static AdvancedCompletionResponse withMetadata(
+      final AdvancedCompletionResponse.AdvancedCompletionResponseBuilder<?, ?> builder,
+      final ChatCompletionResponse original) {
     if (original != null) {
       builder.id(original.getId())
           .object(original.getObject())
@@ -266,4 +856,48 @@ public class DirectLlmProcessor {
     return builder.build();
   }
 
+  /**
+   * 최종 응답에 현재까지의 시점 측정값을 설정한다.
+   */
+  private static AdvancedCompletionResponse withTimings(
+      final AdvancedCompletionResponse response,
+      final StreamTimingRecorder recorder) {
+    response.setStreamTimings(recorder.snapshot());
+    return response;
+  }
+
+  /**
+   * 선택지별 누적된 전체 메시지를 {@code message}에 담은 AdvancedCompletionResponse를 생성한다.
+   *
+   * @param original     마지막 원본 응답 (id, model 등 메타정보용, nullable)
+   * @param assemblers   선택지별 어셈블러
+   * @param finishReason 종료 이유
+   */
+  private static AdvancedCompletionResponse buildFinalAdvancedResponse(
+      final ChatCompletionResponse original,
+      final ChoiceAssemblers<CitedMessageAssembler> assemblers,
+      final String finishReason) {
+    assemblers.forEach(CitedMessageAssembler::flush);
+    return withMetadata(AdvancedCompletionResponse.builder()
+        .choices(assemblers.<CitedMessage>buildChoices(CitedMessageAssembler::buildFinalMessage, finishReason)),
+        original);
+  }
+
+  /**
+   * {@link #streamToContext}의 최종 결과를 생성한다.
+   *
+   * <p>
+   * 기존 사용처와의 호환을 위해 누적된 메시지를 {@code delta}에도 설정한다.
+   * </p>
+   */
+  private static AdvancedCompletionResponse buildContextResult(
+      final ChatCompletionResponse original,
+      final ChoiceAssemblers<CitedMessageAssembler> assemblers,
+      final StreamTimingRecorder recorder,
+      final String finishReason) {
+    final AdvancedCompletionResponse response = buildFinalAdvancedResponse(original, assemblers, finishReason);
+    response.getChoices().forEach(choice -> choice.setDelta(choice.getMessage()));
+    return withTimings(response, recorder);
+  }
+
 }
@@ -0,0 +1,88 @@
+package com.saltlux.workflow.direct.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import com.saltlux.workflow.direct.payload.chatcompletion.BaseCompletionResponse;
+import com.saltlux.workflow.direct.payload.messageable.ResponseMessage;
+
+/**
+ * 선택지(choice) index별 메시지 어셈블러 모음.
+ *
+ * <p>
+ * 요청에 {@code n > 1}을 지정하면 한 스트림에 여러 선택지의 delta가 index와 함께 섞여 온다.
+ * index마다 별도의 어셈블러를 두어 누적하고, 스트림 종료 시 모든 index의 최종 {@code choices}를 만든다.
+ * 선택지가 하나도 오지 않아도 index 0은 항상 포함된다.
+ * </p>
+ *
+ * @param <A> 어셈블러 타입
+ */
+public final class ChoiceAssemblers<A extends MessageAssembler<?>> {
+
+  private final IntFunction<A> factory;
+
+  private final Map<Integer, A> assemblers = new ConcurrentSkipListMap<>();
+
+  /**
+   * @param factory 선택지 index를 받아 어셈블러를 생성하는 함수
+   */
+  public ChoiceAssemblers(final IntFunction<A> factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * 선택지 index를 반환한다. index가 없는 응답(단일 선택지)은 0으로 간주한다.
+   *
+   * @param choice 선택지
+   * @return 선택지 index
+   */
+  public static int indexOf(final BaseCompletionResponse.Choice<?> choice) {
+    return choice.getIndex() == null ? 0 : choice.getIndex();
+  }
+
+  /**
+   * index에 해당하는 어셈블러를 반환한다. 없으면 생성한다.
+   *
+   * @param index 선택지 index
+   * @return 어셈블러
+   */
+  public A get(final int index) {
+    return assemblers.computeIfAbsent(index, factory::apply);
+  }
+
+  /**
+   * 모든 어셈블러에 작업을 수행한다.
+   *
+   * @param action 수행할 작업 (예: {@code CitedMessageAssembler::flush})
+   */
+  public void forEach(final Consumer<A> action) {
+    get(0);
+    assemblers.values().forEach(action);
+  }
+
+  /**
+   * index 순서로 모든 선택지의 최종 {@code choices}를 만든다.
+   *
+   * @param <M>          메시지 타입
+   * @param finalMessage 어셈블러로부터 최종 메시지를 만드는 함수 (예: {@code CitedMessageAssembler::buildFinalMessage})
+   * @param finishReason 모든 선택지에 설정할 종료 이유
+   * @return index 순서의 선택지 리스트
+   */
+  public <M extends ResponseMessage> List<BaseCompletionResponse.Choice<M>> buildChoices(
+      final Function<A, M> finalMessage,
+      final String finishReason) {
+    get(0);
+    final List<BaseCompletionResponse.Choice<M>> choices = new ArrayList<>(assemblers.size());
+    assemblers.forEach((index, assembler) -> choices.add(BaseCompletionResponse.Choice.<M>builder()
+        .index(index)
+        .message(finalMessage.apply(assembler))
+        .finishReason(finishReason)
+        .build()));
+    return choices;
+  }
+}
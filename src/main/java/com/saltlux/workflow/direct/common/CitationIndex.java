@@ -0,0 +1,291 @@
+package com.saltlux.workflow.direct.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.saltlux.workflow.direct.payload.messageable.Citation;
+
+/**
+ * startIndex 순서로 정렬된 Citation 인덱스.
+ *
+ * <p>
+ * 스트리밍 중 닫힌 인용을 추가하면 정렬 위치에 삽입되며(스트림에서는 항상 끝에 추가된다),
+ * 다음 조회를 전체 목록을 훑지 않고 처리한다.
+ * <ul>
+ * <li>{@link #overlapping(int, int)}/{@link #covering(int)}: 문자 범위와 겹치는 인용 (O(log n + m).
+ * m은 endIndex 최댓값이 범위 시작을 넘는 첫 인용부터 범위 끝 전에 시작하는 인용까지의 수로,
+ * 앞쪽의 긴 인용이 범위를 덮고 있으면 겹치지 않는 인용도 포함될 수 있다)</li>
+ * <li>{@link #byId(String)}: 문서 ID별 인용 (O(1))</li>
+ * <li>{@link #render(CharSequence)}: cite 태그 형태 문자열. 이전 호출에서 만든 앞부분을 재사용한다</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * 스레드 안전하지 않으므로 어셈블러와 같은 스레드에서 사용한다.
+ * </p>
+ */
+public final class CitationIndex {
+
+  /** startIndex 순서 (같으면 추가 순서) */
+  private final List<Citation> sorted = new ArrayList<>();
+
+  /** maxEnds[i]: sorted[0..i]의 endIndex 최댓값 (겹치는 인용이 있어도 범위 조회가 가능하도록 유지) */
+  private int[] maxEnds = new int[16];
+
+  /** 문서 ID별 인용 (추가 순서) */
+  private final Map<String, List<Citation>> byId = new LinkedHashMap<>();
+
+  /** render 결과 중 인용 처리가 끝난 앞부분 */
+  private final StringBuilder rendered = new StringBuilder();
+
+  /** rendered에 반영된 인용 수 */
+  private int renderedCount;
+
+  /** rendered에 반영된 content 위치 */
+  private int renderedEnd;
+
+  /**
+   * 인용 목록으로 인덱스를 생성한다.
+   *
+   * @param citations 인용 목록 (nullable)
+   * @return 인덱스
+   */
+  public static CitationIndex of(final List<Citation> citations) {
+    final CitationIndex index = new CitationIndex();
+    if (citations != null) {
+      citations.forEach(index::add);
+    }
+    return index;
+  }
+
+  /**
+   * 인용을 정렬 위치에 추가한다.
+   *
+   * @param citation 인용
+   */
+  public void add(final Citation citation) {
+    final int position = upperBound(citation.getStartIndex());
+    sorted.add(position, citation);
+    if (maxEnds.length < sorted.size()) {
+      maxEnds = Arrays.copyOf(maxEnds, maxEnds.length * 2);
+    }
+    for (int i = position; i < sorted.size(); i++) {
+      final int previous = i == 0 ? Integer.MIN_VALUE : maxEnds[i - 1];
+      maxEnds[i] = Math.max(previous, sorted.get(i).getEndIndex());
+    }
+    byId.computeIfAbsent(citation.getId(), id -> new ArrayList<>(2)).add(citation);
+
+    // 이미 렌더링한 인용 앞에 끼어들면 처음부터 다시 렌더링한다
+    if (position < renderedCount) {
+      rendered.setLength(0);
+      renderedCount = 0;
+      renderedEnd = 0;
+    }
+  }
+
+  /** @return 인용 수 */
+  public int size() {
+    return sorted.size();
+  }
+
+  /** @return 인용이 없으면 true */
+  public boolean isEmpty() {
+    return sorted.isEmpty();
+  }
+
+  /**
+   * startIndex 순서의 인용 목록을 반환한다.
+   *
+   * @return 불변 인용 목록
+   */
+  public List<Citation> toList() {
+    return List.copyOf(sorted);
+  }
+
+  /**
+   * 문서 ID로 인용을 조회한다.
+   *
+   * @param id 문서 ID
+   * @return 해당 문서를 인용한 구간 (추가 순서, 없으면 빈 목록)
+   */
+  public List<Citation> byId(final String id) {
+    final List<Citation> citations = byId.get(id);
+    return citations == null ? List.of() : Collections.unmodifiableList(citations);
+  }
+
+  /** @return 인용된 문서 ID (처음 인용된 순서) */
+  public Set<String> ids() {
+    return Collections.unmodifiableSet(byId.keySet());
+  }
+
+  /**
+   * 문자 위치를 포함하는 인용을 조회한다.
+   *
+   * @param position content 내 문자 위치
+   * @return {@code startIndex <= position < endIndex}인 인용 (startIndex 순서)
+   */
+  public List<Citation> covering(final int position) {
+    return overlapping(position, position + 1);
+  }
+
+  /**
+   * 문자 범위와 겹치는 인용을 조회한다.
+   *
+   * @param start 범위 시작 (포함)
+   * @param end   범위 끝 (미포함)
+   * @return {@code startIndex < end && endIndex > start}인 인용 (startIndex 순서)
+   */
+  public List<Citation> overlapping(final int start, final int end) {
+    if (start >= end || sorted.isEmpty()) {
+      return List.of();
+    }
+    // endIndex 최댓값이 start를 넘는 첫 위치부터 startIndex가 end 이상인 위치 전까지만 확인한다
+    int low = 0;
+    int high = sorted.size();
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (maxEnds[mid] > start) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    final int to = lowerBound(end);
+    final List<Citation> result = new ArrayList<>(Math.max(0, to - low));
+    for (int i = low; i < to; i++) {
+      final Citation citation = sorted.get(i);
+      if (citation.getEndIndex() > start) {
+        result.add(citation);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 인용 정보를 cite 태그 형태로 직렬화하여 반환한다.
+   *
+   * <p>
+   * 결과는 {@code CitedMessage#getContentWithCitations()}와 같다. 이전 호출에서 태그를 붙인 앞부분은 보관해 두었다가
+   * 재사용하므로, 스트리밍 중 반복해서 호출해도 새로 추가된 인용과 그 뒤의 텍스트만 처리한다.
+   * content는 같은 응답의 누적 content처럼 뒤에만 덧붙어야 한다.
+   * </p>
+   *
+   * @param content 인용 위치의 기준이 되는 content (nullable)
+   * @return cite 태그가 포함된 문자열
+   */
+  public String render(final CharSequence content) {
+    if (content == null || content.isEmpty()) {
+      return "";
+    }
+    if (sorted.isEmpty()) {
+      return content.toString();
+    }
+    while (renderedCount < sorted.size()) {
+      renderedEnd = appendCitation(rendered, content, sorted.get(renderedCount++), renderedEnd);
+    }
+    if (renderedEnd >= content.length()) {
+      return rendered.toString();
+    }
+    return new StringBuilder(rendered.length() + content.length() - renderedEnd)
+        .append(rendered)
+        .append(content, renderedEnd, content.length())
+        .toString();
+  }
+
+  /**
+   * 인용 목록을 cite 태그 형태로 직렬화한다.
+   *
+   * <p>
+   * 목록이 이미 startIndex 순서이면(스트리밍으로 만든 메시지는 항상 그렇다) 정렬하지 않는다.
+   * </p>
+   *
+   * @param content   content (nullable)
+   * @param citations 인용 목록 (nullable)
+   * @return cite 태그가 포함된 문자열
+   */
+  public static String render(final String content, final List<Citation> citations) {
+    if (content == null || content.isEmpty()) {
+      return "";
+    }
+    if (citations == null || citations.isEmpty()) {
+      return content;
+    }
+    final List<Citation> ordered = isSorted(citations)
+        ? citations
+        : citations.stream()
+            .sorted((a, b) -> Integer.compare(a.getStartIndex(), b.getStartIndex()))
+            .toList();
+
+    final StringBuilder sb = new StringBuilder(content.length() + ordered.size() * 32);
+    int lastEnd = 0;
+    for (final Citation cite : ordered) {
+      lastEnd = appendCitation(sb, content, cite, lastEnd);
+    }
+    if (lastEnd < content.length()) {
+      sb.append(content, lastEnd, content.length());
+    }
+    return sb.toString();
+  }
+
+  private static boolean isSorted(final List<Citation> citations) {
+    int previous = Integer.MIN_VALUE;
+    for (final Citation cite : citations) {
+      if (cite.getStartIndex() < previous) {
+        return false;
+      }
+      previous = cite.getStartIndex();
+    }
+    return true;
+  }
+
+  /**
+   * 인용 전 일반 텍스트와 cite 태그로 감싼 인용 부분을 추가한다.
+   *
+   * @return 다음 일반 텍스트의 시작 위치
+   */
+  private static int appendCitation(final StringBuilder sb, final CharSequence content, final Citation cite,
+      final int lastEnd) {
+    if (cite.getStartIndex() > lastEnd) {
+      sb.append(content, lastEnd, cite.getStartIndex());
+    }
+    sb.append("<cite><id>").append(cite.getId()).append("</id>");
+    sb.append(content, cite.getStartIndex(), cite.getEndIndex());
+    sb.append("</cite>");
+    return cite.getEndIndex();
+  }
+
+  /** startIndex가 value보다 큰 첫 위치 */
+  private int upperBound(final int value) {
+    int low = 0;
+    int high = sorted.size();
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (sorted.get(mid).getStartIndex() <= value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** startIndex가 value 이상인 첫 위치 */
+  private int lowerBound(final int value) {
+    int low = 0;
+    int high = sorted.size();
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (sorted.get(mid).getStartIndex() < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
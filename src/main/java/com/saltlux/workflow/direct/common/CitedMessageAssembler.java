@@ -2,12 +2,15 @@ package com.saltlux.workflow.direct.common;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import com.saltlux.workflow.direct.payload.messageable.Citation;
 import com.saltlux.workflow.direct.payload.messageable.CitedMessage;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
 import com.saltlux.workflow.direct.payload.messageable.ResponseMessage;
+import com.saltlux.workflow.direct.payload.messageable.StreamDelta;
 
-import lombok.extern.slf4j.Slf4j;
 import me.hanju.adapter.ContentStreamAdapter;
 import me.hanju.adapter.payload.TaggedToken;
 import me.hanju.adapter.transition.TransitionSchema;
@@ -19,7 +22,7 @@ import me.hanju.adapter.transition.TransitionSchema;
  * <p>
  * 스트리밍 중:
  * <ul>
- * <li>{@link #processToken}으로 각 토큰 처리 (cite 태그 파싱)</li>
+ * <li>{@link #processDelta(ResponseMessage, Consumer)}로 각 delta 처리 (cite 태그 파싱)</li>
  * <li>{@link #appendReasoning}으로 reasoning 누적</li>
  * <li>{@link #mergeToolCalls}로 toolCalls 누적</li>
  * </ul>
@@ -29,22 +32,33 @@ import me.hanju.adapter.transition.TransitionSchema;
  * <li>{@link #buildFinalMessage}로 최종 메시지 생성</li>
  * </ul>
  * </p>
+ *
+ * <p>
+ * 닫힌 Citation은 {@link CitationIndex}에 정렬 상태로 쌓이므로 스트리밍 중에도 {@link #getCitationIndex()}로
+ * 범위/문서 ID 조회를, {@link #getContentWithCitations()}로 증분 렌더링을 할 수 있다.
+ * 문서 조회 함수를 지정하면 인용 ID에 해당하는 문서의 제목과 URL을 Citation에 담아 전달한다.
+ * </p>
  */
-@Slf4j
 public class CitedMessageAssembler extends MessageAssembler<CitedMessage> {
 
   /** cite/rag 태그와 그 안의 id 태그를 인식하는 스키마 */
   private static final TransitionSchema CITE_SCHEMA = TransitionSchema.root()
       .tag("cite", cite -> cite.tag("id")).alias("rag");
 
+  // 이벤트에 담을 선택지 index
+  private final int choiceIndex;
+
   // cite/rag 태그 파싱용 어댑터
   private final ContentStreamAdapter adapter = new ContentStreamAdapter(CITE_SCHEMA);
 
   // 현재 진행 중인 cite의 id 누적
   private final StringBuilder citeIdBuilder = new StringBuilder();
 
-  // 완성된 Citation 리스트
-  private final List<Citation> citations = new ArrayList<>();
+  // 완성된 Citation 인덱스
+  private final CitationIndex citations = new CitationIndex();
+
+  // 인용 ID로 첨부 문서를 찾는 함수 (찾지 못하면 null 반환)
+  private final Function<String, ? extends IDocument> documents;
 
   // 현재 텍스트 위치 (Citation의 startIndex/endIndex 계산용)
   private int currentIndex = 0;
@@ -55,16 +69,35 @@ public class CitedMessageAssembler extends MessageAssembler<CitedMessage> {
   // 현재 진행 중인 cite의 시작 위치 (null이면 cite 태그 밖)
   private Integer citeStartIndex = null;
 
+  public CitedMessageAssembler() {
+    this(0);
+  }
+
+  /**
+   * 선택지 index를 지정하여 어셈블러를 생성한다.
+   *
+   * @param choiceIndex 전달하는 {@link StreamDelta}에 담을 선택지 index
+   */
+  public CitedMessageAssembler(final int choiceIndex) {
+    this(choiceIndex, id -> null);
+  }
+
+  /**
+   * 선택지 index와 인용 문서 조회 함수를 지정하여 어셈블러를 생성한다.
+   *
+   * @param choiceIndex 전달하는 {@link StreamDelta}에 담을 선택지 index
+   * @param documents   인용 ID로 첨부 문서를 찾는 함수 (찾지 못하면 null 반환)
+   */
+  public CitedMessageAssembler(final int choiceIndex, final Function<String, ? extends IDocument> documents) {
+    this.choiceIndex = choiceIndex;
+    this.documents = documents;
+  }
+
   /**
    * delta를 처리하여 누적하고, 스트리밍용 CitedMessage 리스트를 반환한다.
    *
    * <p>
-   * delta의 각 필드를 처리:
-   * <ul>
-   * <li>reasoning: 누적 후 그대로 메시지에 포함</li>
-   * <li>toolCalls: index 기반 병합 후 그대로 메시지에 포함</li>
-   * <li>content: cite 태그 파싱하여 가공된 텍스트와 Citation 분리</li>
-   * </ul>
+   * {@link #processDelta(ResponseMessage, Consumer)}의 이벤트를 기존 {@link CitedMessage} 형식으로 변환하는 어댑터이다.
    * </p>
    *
    * @param delta 처리할 delta (nullable)
@@ -74,73 +107,58 @@ public class CitedMessageAssembler extends MessageAssembler<CitedMessage> {
     if (delta == null) {
       return List.of();
     }
-
-    // reasoning, toolCalls 누적
-    appendReasoning(delta.getReasoning());
-    mergeToolCalls(delta.getToolCalls());
-
-    // content가 없으면 reasoning/toolCalls만 있는 메시지 반환
-    if (delta.getContent() == null || delta.getContent().isEmpty()) {
-      // reasoning이나 toolCalls가 있으면 메시지 생성 (빈 문자열 제외)
-      final boolean hasReasoning = delta.getReasoning() != null && !delta.getReasoning().isEmpty();
-      final boolean hasToolCalls = delta.getToolCalls() != null && !delta.getToolCalls().isEmpty();
-      if (hasReasoning || hasToolCalls) {
-        return List.of(CitedMessage.builder()
-            .role(delta.getRole())
-            .reasoning(hasReasoning ? delta.getReasoning() : null)
-            .toolCalls(hasToolCalls ? delta.getToolCalls() : null)
-            .build());
-      }
-      return List.of();
-    }
-
-    // content 처리: cite 태그 파싱
-    final List<CitedMessage> messages = new ArrayList<>();
-    for (final TokenProcessResult result : processToken(delta.getContent())) {
-      messages.add(CitedMessage.builder()
-          .role(delta.getRole())
-          .content(result.content())
-          .reasoning(delta.getReasoning())
-          .toolCalls(delta.getToolCalls())
-          .citations(result.citation() != null ? List.of(result.citation()) : null)
-          .build());
-    }
+    final List<CitedMessage> messages = new ArrayList<>(1);
+    processDelta(delta, event -> messages.add(event.toCitedMessage()));
     return messages;
   }
 
   /**
-   * content 토큰을 처리하여 텍스트를 누적하고, 처리 결과를 반환한다.
+   * delta를 처리하여 누적하고, 스트리밍용 이벤트를 {@code sink}로 전달한다.
    *
    * <p>
-   * ContentStreamAdapter를 통해 cite/rag 태그를 파싱하여:
+   * delta의 각 필드를 처리:
    * <ul>
-   * <li>일반 텍스트: textBuilder에 누적, content 반환</li>
-   * <li>cite 태그 열림: startIndex 기록</li>
-   * <li>cite 태그 닫힘: Citation 생성 및 반환</li>
-   * <li>cite 내부 텍스트: textBuilder에 누적, content 반환</li>
-   * <li>id 태그 내용: citeIdBuilder에 누적 (content 반환 안함)</li>
+   * <li>reasoning: 누적 후 그대로 이벤트에 포함</li>
+   * <li>toolCalls: index 기반 병합 후 그대로 이벤트에 포함</li>
+   * <li>content: cite 태그 파싱하여 가공된 텍스트 조각과 완성된 Citation을 각각 이벤트로 전달</li>
    * </ul>
+   * 중간 리스트나 메시지 빌더를 만들지 않으므로 토큰당 할당은 전달되는 {@link StreamDelta}뿐이다.
    * </p>
    *
-   * @param content 처리할 content 토큰
-   * @return 처리 결과 리스트 (각 토큰별 content와 Citation)
+   * @param delta 처리할 delta (nullable)
+   * @param sink  스트리밍 이벤트를 받을 consumer
    */
-  private List<TokenProcessResult> processToken(final String content) {
-    if (content == null || content.isEmpty()) {
-      return List.of();
+  public void processDelta(final ResponseMessage delta, final Consumer<StreamDelta> sink) {
+    if (delta == null) {
+      return;
     }
 
-    final List<TokenProcessResult> results = new ArrayList<>();
-    for (final TaggedToken token : adapter.feedToken(content)) {
-      final TokenProcessResult result = processTaggedToken(token);
-      if (result.citation() != null) {
-        citations.add(result.citation());
-      }
-      if (result.content() != null || result.citation() != null) {
-        results.add(result);
+    // reasoning, toolCalls 누적
+    appendReasoning(delta.getReasoning());
+    mergeToolCalls(delta.getToolCalls());
+
+    // content가 없으면 reasoning/toolCalls만 있는 이벤트 전달
+    if (delta.getContent() == null || delta.getContent().isEmpty()) {
+      // reasoning이나 toolCalls가 있으면 이벤트 생성 (빈 문자열 제외)
+      final boolean hasReasoning = delta.getReasoning() != null && !delta.getReasoning().isEmpty();
+      final boolean hasToolCalls = delta.getToolCalls() != null && !delta.getToolCalls().isEmpty();
+      if (hasReasoning || hasToolCalls) {
+        sink.accept(new StreamDelta(
+            choiceIndex,
+            delta.getRole(),
+            null,
+            hasReasoning ? delta.getReasoning() : null,
+            hasToolCalls ? delta.getToolCalls() : null,
+            null,
+            null));
       }
+      return;
+    }
+
+    // content 처리: cite 태그 파싱
+    for (final TaggedToken token : adapter.feedToken(delta.getContent())) {
+      processTaggedToken(token, delta, sink);
     }
-    return results;
   }
 
   /**
@@ -157,24 +175,37 @@ public class CitedMessageAssembler extends MessageAssembler<CitedMessage> {
   public void flush() {
     // adapter 버퍼에 남은 토큰들 처리
     for (final TaggedToken token : adapter.flush()) {
-      final TokenProcessResult result = processTaggedToken(token);
-      if (result.citation() != null) {
-        citations.add(result.citation());
-      }
+      processTaggedToken(token, null, null);
     }
 
     // 닫히지 않은 cite 태그 처리: 스트림이 끝났는데 </cite>가 안 온 경우
     if (citeStartIndex != null) {
-      citations.add(Citation.builder()
-          .index(citationIndex++)
-          .id(citeIdBuilder.toString())
-          .startIndex(citeStartIndex)
-          .endIndex(currentIndex)
-          .build());
-      citeStartIndex = null;
+      citations.add(closeCitation());
     }
   }
 
+  /**
+   * 지금까지 닫힌 Citation 인덱스를 반환한다.
+   *
+   * @return 인용 인덱스 (스트리밍 중 계속 추가된다)
+   */
+  public CitationIndex getCitationIndex() {
+    return citations;
+  }
+
+  /**
+   * 지금까지 누적된 content를 cite 태그 형태로 반환한다.
+   *
+   * <p>
+   * 이전 호출에서 태그를 붙인 부분은 다시 만들지 않는다. 진행 중인(닫히지 않은) 인용 구간은 일반 텍스트로 포함된다.
+   * </p>
+   *
+   * @return cite 태그가 포함된 문자열
+   */
+  public String getContentWithCitations() {
+    return citations.render(textBuilder);
+  }
+
   @Override
   public CitedMessage buildFinalMessage() {
     return CitedMessage.builder()
@@ -182,26 +213,40 @@ public class CitedMessageAssembler extends MessageAssembler<CitedMessage> {
         .content(getContent())
         .reasoning(getReasoning())
         .toolCalls(getToolCalls())
-        .citations(List.copyOf(citations))
+        .citations(citations.toList())
         .build();
   }
 
   /**
-   * TaggedToken을 처리하여 텍스트를 누적하고, 처리 결과를 반환한다.
+   * TaggedToken을 처리하여 텍스트와 Citation을 누적하고, 출력할 내용이 있으면 이벤트로 전달한다.
+   *
+   * <p>
+   * ContentStreamAdapter가 파싱한 토큰을 경로별로 처리:
+   * <ul>
+   * <li>일반 텍스트: textBuilder에 누적, content 전달</li>
+   * <li>cite 태그 열림: startIndex 기록</li>
+   * <li>cite 태그 닫힘: Citation 생성 및 전달</li>
+   * <li>cite 내부 텍스트: textBuilder에 누적, content 전달</li>
+   * <li>id 태그 내용: citeIdBuilder에 누적 (전달 안함)</li>
+   * </ul>
+   * </p>
+   *
+   * @param token 파싱된 토큰
+   * @param delta 토큰이 속한 원본 delta (flush 시 null)
+   * @param sink  이벤트를 받을 consumer (null이면 누적만 수행)
    */
-  private TokenProcessResult processTaggedToken(final TaggedToken token) {
+  private void processTaggedToken(final TaggedToken token, final ResponseMessage delta,
+      final Consumer<StreamDelta> sink) {
     final String path = token.path();
     final String content = token.content();
     final String event = token.event();
 
-    log.info("[TOKEN] path={}, event={}, content={}", path, event, content);
-
     if ("/".equals(path)) {
       // 루트 경로: 일반 텍스트 (cite 태그 바깥)
       if (content != null) {
         textBuilder.append(content);
         currentIndex += content.length();
-        return new TokenProcessResult(content, null);
+        emit(sink, delta, content, null);
       }
     } else if ("/cite".equals(path)) {
       // cite 태그 경로
@@ -209,38 +254,46 @@ public class CitedMessageAssembler extends MessageAssembler<CitedMessage> {
         // <cite> 태그 시작: 현재 위치를 startIndex로 기록
         citeStartIndex = currentIndex;
         citeIdBuilder.setLength(0);
-        log.info("[CITE OPEN] startIndex={}", citeStartIndex);
       } else if ("CLOSE".equals(event)) {
         // </cite> 태그 종료: Citation 생성 및 반환
-        log.info("[CITE CLOSE] startIndex={}, endIndex={}", citeStartIndex, currentIndex);
-        final Citation citation = Citation.builder()
-            .index(citationIndex++)
-            .id(citeIdBuilder.toString())
-            .startIndex(citeStartIndex)
-            .endIndex(currentIndex)
-            .build();
-        citeStartIndex = null;
-        return new TokenProcessResult(null, citation);
+        final Citation citation = closeCitation();
+        citations.add(citation);
+        emit(sink, delta, null, citation);
       } else if (content != null) {
         // cite 태그 내부의 텍스트 (인용된 내용)
-        log.info("[CITE CONTENT] before={}, len={}, content={}", currentIndex, content.length(), content);
         textBuilder.append(content);
         currentIndex += content.length();
-        return new TokenProcessResult(content, null);
+        emit(sink, delta, content, null);
       }
     } else if ("/cite/id".equals(path) && content != null) {
       // <id> 태그 내용: 인용 ID 누적 (스트리밍 출력 안함)
       citeIdBuilder.append(content);
     }
-    return new TokenProcessResult(null, null);
   }
 
   /**
-   * 토큰 처리 결과를 담는 레코드.
-   *
-   * @param content  출력할 content (null이면 출력 안함)
-   * @param citation 완성된 Citation (null이면 Citation 없음)
+   * 진행 중인 cite를 닫아 Citation을 만든다. 인용 ID에 해당하는 문서가 있으면 제목과 URL을 담는다.
    */
-  public record TokenProcessResult(String content, Citation citation) {
+  private Citation closeCitation() {
+    final String id = citeIdBuilder.toString();
+    final IDocument document = documents.apply(id.strip());
+    final Citation citation = Citation.builder()
+        .index(citationIndex++)
+        .id(id)
+        .startIndex(citeStartIndex)
+        .endIndex(currentIndex)
+        .title(document == null ? null : document.getTitle())
+        .url(document == null ? null : document.getUrl())
+        .build();
+    citeStartIndex = null;
+    return citation;
+  }
+
+  private void emit(final Consumer<StreamDelta> sink, final ResponseMessage delta,
+      final String content, final Citation citation) {
+    if (sink != null) {
+      sink.accept(new StreamDelta(
+          choiceIndex, delta.getRole(), content, delta.getReasoning(), delta.getToolCalls(), citation, null));
+    }
   }
 }
@@ -0,0 +1,165 @@
+package com.saltlux.workflow.direct.common;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.direct.payload.chatcompletion.Message;
+import com.saltlux.workflow.direct.payload.chatcompletion.SegmentedMessage;
+import com.saltlux.workflow.direct.payload.messageable.IMessageable;
+
+/**
+ * 대화 하나의 변환된 메시지 캐시.
+ *
+ * <p>
+ * 멀티턴 대화는 매 턴 전체 이력을 다시 보내므로, 이력의 모든 메시지(특히 {@code <research-result>} 블록이 있는
+ * {@code ResearchedMessage})를 매번 {@link Message}로 변환하고 JSON으로 인코딩하면 턴이 쌓일수록 느려진다.
+ * 이 캐시는 메시지 객체(동일성)를 키로 변환 결과와 인코딩된 JSON을 보관하여 새 턴만 변환/인코딩한다.
+ * </p>
+ *
+ * <p>
+ * 항목마다 변환할 때의 메시지 {@code hashCode}(Lombok {@code @EqualsAndHashCode}의 값 기반 해시)를 지문으로 보관하고,
+ * 조회할 때 지문이 다르면 메시지가 변경된 것으로 보고 다시 변환한다. 문자열의 해시는 {@link String}에 캐시되므로
+ * 지문 계산은 렌더링보다 훨씬 가볍다.
+ * </p>
+ *
+ * <p>
+ * 대화(채팅방)마다 하나를 만들어 {@code DirectLlmRequest.conversationCache}에 지정하고,
+ * 이전 턴의 메시지 객체를 그대로 이력에 넣어 보낸다. 매 턴 JSON에서 다시 역직렬화한 메시지는 새 메시지로 변환된다.
+ * 변환할 때마다 이번 이력에 없는 메시지는 제거되므로 보관량은 현재 이력 크기를 넘지 않는다.
+ * 해시가 우연히 같은 변경은 검출하지 못하므로, 내용을 바꿀 때는 새 객체로 교체하는 것이 안전하다.
+ * </p>
+ */
+public final class ConversationCache {
+
+  /** 메시지 객체별 변환 결과 (동일성 비교) */
+  private Map<IMessageable, Entry> entries = new IdentityHashMap<>();
+
+  private long hits;
+
+  private long misses;
+
+  /**
+   * 대화 이력을 {@link Message} 목록으로 변환한다. 이전에 변환한 메시지는 캐시된 결과를 사용한다.
+   *
+   * @param history 대화 이력
+   * @return 변환된 메시지 목록
+   */
+  public List<Message> messages(final List<? extends IMessageable> history) {
+    return messages(history, DocumentRenderCache.DISABLED);
+  }
+
+  /**
+   * 문서 렌더링 캐시를 사용하여 대화 이력을 {@link Message} 목록으로 변환한다.
+   *
+   * @param history     대화 이력
+   * @param renderCache 새 메시지의 문서 렌더링에 사용할 캐시
+   * @return 변환된 메시지 목록
+   */
+  public synchronized List<Message> messages(final List<? extends IMessageable> history,
+      final DocumentRenderCache renderCache) {
+    return convert(history, entry -> {
+      if (entry.message == null) {
+        entry.message = entry.source.toMessage(renderCache);
+      }
+      return entry.message;
+    });
+  }
+
+  /**
+   * 대화 이력을 요청 본문 전송용 {@link SegmentedMessage} 목록으로 변환한다.
+   * 이전에 변환한 메시지는 처음 직렬화한 JSON을 그대로 사용한다.
+   *
+   * @param history 대화 이력
+   * @return 변환된 메시지 목록
+   */
+  public List<SegmentedMessage> segmentedMessages(final List<? extends IMessageable> history) {
+    return segmentedMessages(history, DocumentRenderCache.DISABLED);
+  }
+
+  /**
+   * 문서 렌더링 캐시를 사용하여 대화 이력을 요청 본문 전송용 {@link SegmentedMessage} 목록으로 변환한다.
+   *
+   * @param history     대화 이력
+   * @param renderCache 새 메시지의 문서 렌더링에 사용할 캐시
+   * @return 변환된 메시지 목록
+   */
+  public synchronized List<SegmentedMessage> segmentedMessages(final List<? extends IMessageable> history,
+      final DocumentRenderCache renderCache) {
+    return convert(history, entry -> {
+      if (entry.segmented == null) {
+        entry.segmented = entry.source.toSegmentedMessage(renderCache).memoized();
+      }
+      return entry.segmented;
+    });
+  }
+
+  /**
+   * 모든 항목을 제거한다.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /** @return 보관 중인 메시지 수 */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /** @return 캐시 적중 횟수 */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /** @return 캐시 미스 횟수 */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  private <M> List<M> convert(final List<? extends IMessageable> history, final Function<Entry, M> converter) {
+    if (history == null) {
+      return new ArrayList<>();
+    }
+    final List<M> converted = new ArrayList<>(history.size());
+    final Map<IMessageable, Entry> used = new IdentityHashMap<>(history.size());
+    for (final IMessageable message : history) {
+      Entry entry = used.get(message);
+      if (entry == null) {
+        entry = entries.get(message);
+        final int fingerprint = message.hashCode();
+        if (entry != null && entry.fingerprint != fingerprint) {
+          // 변환한 뒤 메시지가 변경되었다
+          entry = null;
+        }
+        if (entry == null) {
+          misses++;
+          entry = new Entry(message, fingerprint);
+        } else {
+          hits++;
+        }
+      } else {
+        hits++;
+      }
+      used.put(message, entry);
+      converted.add(converter.apply(entry));
+    }
+    entries = used;
+    return converted;
+  }
+
+  private static final class Entry {
+    final IMessageable source;
+    /** 변환할 때의 메시지 해시 */
+    final int fingerprint;
+    Message message;
+    SegmentedMessage segmented;
+
+    Entry(final IMessageable source, final int fingerprint) {
+      this.source = source;
+      this.fingerprint = fingerprint;
+    }
+  }
+}
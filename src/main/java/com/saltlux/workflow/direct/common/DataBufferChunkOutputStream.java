@@ -0,0 +1,99 @@
+package com.saltlux.workflow.direct.common;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+/**
+ * 고정 크기 {@link DataBuffer} 조각에 순서대로 쓰는 OutputStream.
+ *
+ * <p>
+ * 하나의 버퍼에 쓰면 본문이 커질 때마다 전체를 새 버퍼로 복사하지만, 조각이 차면 다음 조각을 할당하므로
+ * 이미 쓴 바이트를 다시 복사하지 않는다. 쓴 조각은 {@link #buffers()}로 꺼내 그대로 전송한다.
+ * </p>
+ *
+ * <p>
+ * 스레드 안전하지 않다. 쓰기에 실패하면 {@link #release()}로 할당한 조각을 해제해야 한다.
+ * </p>
+ */
+public final class DataBufferChunkOutputStream extends OutputStream {
+
+  private final DataBufferFactory factory;
+
+  private final int chunkSize;
+
+  private final List<DataBuffer> buffers = new ArrayList<>();
+
+  private DataBuffer current;
+
+  private long size;
+
+  /**
+   * @param factory   버퍼 팩토리
+   * @param chunkSize 조각 크기 (바이트)
+   */
+  public DataBufferChunkOutputStream(final DataBufferFactory factory, final int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+    this.factory = factory;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public void write(final int b) {
+    writable().write((byte) b);
+    size++;
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int off, final int len) {
+    int offset = off;
+    int remaining = len;
+    while (remaining > 0) {
+      final DataBuffer buffer = writable();
+      final int count = Math.min(remaining, buffer.writableByteCount());
+      buffer.write(bytes, offset, count);
+      offset += count;
+      remaining -= count;
+      size += count;
+    }
+  }
+
+  /**
+   * 쓴 조각을 순서대로 반환한다. 반환한 조각의 해제는 호출하는 쪽이 책임진다.
+   *
+   * @return 조각 목록 (쓴 바이트가 없으면 빈 목록)
+   */
+  public List<DataBuffer> buffers() {
+    return buffers;
+  }
+
+  /**
+   * @return 쓴 바이트 수
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * 할당한 조각을 모두 해제한다.
+   */
+  public void release() {
+    buffers.forEach(DataBufferUtils::release);
+    buffers.clear();
+    current = null;
+  }
+
+  private DataBuffer writable() {
+    if (current == null || current.writableByteCount() == 0) {
+      current = factory.allocateBuffer(chunkSize);
+      buffers.add(current);
+    }
+    return current;
+  }
+}
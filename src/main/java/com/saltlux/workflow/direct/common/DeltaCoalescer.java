@@ -0,0 +1,158 @@
+package com.saltlux.workflow.direct.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.saltlux.workflow.core.common.DeltaCoalescingProperties;
+import com.saltlux.workflow.direct.payload.messageable.CitedMessage;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 연속된 스트리밍 delta를 시간/크기 단위로 병합하여 전달하는 클래스.
+ *
+ * <p>
+ * content 또는 reasoning만 있는 delta는 같은 종류끼리 이어 붙여 보관하고,
+ * 설정된 시간이 지나거나 글자 수가 넘으면 하나의 {@link CitedMessage}로 전달한다.
+ * 인용, toolCalls가 있는 delta는 보관 중인 내용을 먼저 전달한 뒤 그대로 전달한다.
+ * 병합이 비활성이면 모든 delta를 즉시 전달한다.
+ * </p>
+ *
+ * <p>
+ * 스트림 스레드와 타이머 스레드에서 동시에 접근하므로 {@link #discard()}를 제외한 메서드는 동기화되어 있다.
+ * </p>
+ */
+public final class DeltaCoalescer {
+
+  private enum Kind {
+    CONTENT, REASONING
+  }
+
+  private final DeltaCoalescingProperties properties;
+
+  private final Consumer<CitedMessage> downstream;
+
+  private final Scheduler scheduler;
+
+  private final StringBuilder pending = new StringBuilder();
+
+  private Kind pendingKind;
+
+  private String pendingRole;
+
+  private Disposable timer;
+
+  private volatile boolean closed;
+
+  /**
+   * 병합기를 생성한다.
+   *
+   * @param properties 병합 설정
+   * @param downstream 병합된 delta를 전달받을 consumer
+   */
+  public DeltaCoalescer(final DeltaCoalescingProperties properties, final Consumer<CitedMessage> downstream) {
+    this(properties, downstream, Schedulers.parallel());
+  }
+
+  DeltaCoalescer(final DeltaCoalescingProperties properties, final Consumer<CitedMessage> downstream,
+      final Scheduler scheduler) {
+    this.properties = properties;
+    this.downstream = downstream;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * delta를 전달한다.
+   *
+   * @param delta 스트리밍 delta
+   */
+  public synchronized void offer(final CitedMessage delta) {
+    if (closed) {
+      return;
+    }
+    if (!properties.isEnabled()) {
+      downstream.accept(delta);
+      return;
+    }
+    final Kind kind = kindOf(delta);
+    if (kind == null) {
+      flush();
+      downstream.accept(delta);
+      return;
+    }
+    if (pendingKind != null && pendingKind != kind) {
+      flush();
+    }
+    if (pendingKind == null) {
+      pendingKind = kind;
+      pendingRole = delta.getRole();
+    }
+    pending.append(kind == Kind.CONTENT ? delta.getContent() : delta.getReasoning());
+
+    if (pending.length() >= properties.getMaxChars()) {
+      flush();
+    } else if (timer == null) {
+      timer = scheduler.schedule(this::flush, properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * 보관 중인 내용을 즉시 전달한다.
+   */
+  public synchronized void flush() {
+    if (timer != null) {
+      timer.dispose();
+      timer = null;
+    }
+    if (pendingKind == null || closed) {
+      return;
+    }
+    final CitedMessage.CitedMessageBuilder<?, ?> builder = CitedMessage.builder().role(pendingRole);
+    if (pendingKind == Kind.CONTENT) {
+      builder.content(pending.toString());
+    } else {
+      builder.reasoning(pending.toString());
+    }
+    pending.setLength(0);
+    pendingKind = null;
+    pendingRole = null;
+    downstream.accept(builder.build());
+  }
+
+  /**
+   * 보관 중인 내용을 전달하고 이후 delta는 무시한다.
+   */
+  public synchronized void close() {
+    flush();
+    closed = true;
+  }
+
+  /**
+   * 보관 중인 내용을 버리고 이후 delta는 무시한다.
+   *
+   * <p>
+   * 잠금 없이 동작하므로 downstream이 잡고 있는 잠금 안(예: context 취소 콜백)에서 호출해도 교착되지 않는다.
+   * </p>
+   */
+  public void discard() {
+    closed = true;
+  }
+
+  /**
+   * 병합 대상 종류를 반환한다. content와 reasoning 중 하나만 있고 인용/toolCalls가 없을 때만 병합한다.
+   */
+  private static Kind kindOf(final CitedMessage delta) {
+    if ((delta.getCitations() != null && !delta.getCitations().isEmpty())
+        || (delta.getToolCalls() != null && !delta.getToolCalls().isEmpty())) {
+      return null;
+    }
+    final boolean hasContent = delta.getContent() != null && !delta.getContent().isEmpty();
+    final boolean hasReasoning = delta.getReasoning() != null && !delta.getReasoning().isEmpty();
+    if (hasContent == hasReasoning) {
+      return null;
+    }
+    return hasContent ? Kind.CONTENT : Kind.REASONING;
+  }
+}
@@ -0,0 +1,92 @@
+package com.saltlux.workflow.direct.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.core.common.TokenEstimator;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
+
+/**
+ * 첨부 문서를 토큰 예산에 맞춰 고르는 클래스.
+ *
+ * <p>
+ * 점수가 높은 문서부터 프롬프트 토큰 수({@link IDocument#toSerializedPrompt()} 기준)를 누적하며,
+ * 예산을 넘는 문서는 건너뛰고 다음 문서를 계속 시도한다. 점수가 같거나 없는 문서는 원래 순서(검색 순위)를 따른다.
+ * 프롬프트 문자열은 생성 시 지정한 {@link DocumentRenderCache}를 사용하므로 이후 직렬화에서 다시 렌더링하지 않는다.
+ * </p>
+ */
+public final class DocumentPacker {
+
+  private final TokenEstimator estimator;
+
+  private final DocumentRenderCache renderCache;
+
+  /**
+   * @param estimator 토큰 수 추정기
+   */
+  public DocumentPacker(final TokenEstimator estimator) {
+    this(estimator, DocumentRenderCache.DISABLED);
+  }
+
+  /**
+   * @param estimator   토큰 수 추정기
+   * @param renderCache 문서 프롬프트 문자열 캐시
+   */
+  public DocumentPacker(final TokenEstimator estimator, final DocumentRenderCache renderCache) {
+    this.estimator = estimator;
+    this.renderCache = renderCache;
+  }
+
+  /**
+   * 문서를 토큰 예산에 맞춰 고른다.
+   *
+   * @param <D>       문서 타입
+   * @param documents 후보 문서 (검색 순위 순서)
+   * @param score     문서 점수 (높을수록 우선, null을 반환하면 가장 낮은 우선순위. 함수가 null이면 원래 순서)
+   * @param budget    토큰 예산 (0 이하면 원래 순서 그대로 모든 문서 포함)
+   * @return 선택 결과
+   */
+  public <D extends IDocument> Packed<D> pack(
+      final List<D> documents,
+      final Function<? super D, Float> score,
+      final int budget) {
+    if (documents == null || documents.isEmpty()) {
+      return new Packed<>(List.of(), List.of(), 0);
+    }
+    if (budget <= 0) {
+      return new Packed<>(documents, List.of(), 0);
+    }
+    final List<D> ranked = new ArrayList<>(documents);
+    if (score != null) {
+      // 정렬은 안정적이므로 점수가 같으면 검색 순위가 유지된다
+      ranked.sort(Comparator.comparing(score, Comparator.nullsLast(Comparator.<Float>reverseOrder())));
+    }
+    final List<D> packed = new ArrayList<>(ranked.size());
+    final List<String> dropped = new ArrayList<>();
+    long tokens = 0;
+    for (final D document : ranked) {
+      final int cost = estimator.estimate(DocumentRendering.prompt(renderCache, document));
+      if (tokens + cost > budget) {
+        dropped.add(document.getId());
+        continue;
+      }
+      packed.add(document);
+      tokens += cost;
+    }
+    return new Packed<>(packed, dropped, (int) tokens);
+  }
+
+  /**
+   * 문서 선택 결과.
+   *
+   * @param <D>        문서 타입
+   * @param documents  선택된 문서 (점수 순서)
+   * @param droppedIds 예산을 넘어 제외된 문서 ID
+   * @param tokens     선택된 문서의 추정 토큰 수 (예산이 없으면 0)
+   */
+  public record Packed<D extends IDocument>(List<D> documents, List<String> droppedIds, int tokens) {
+  }
+}
@@ -0,0 +1,101 @@
+package com.saltlux.workflow.direct.common;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.direct.payload.chatcompletion.ContentSegments;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
+
+/**
+ * {@link IDocument}를 {@link DocumentRenderCache}로 렌더링하는 유틸리티.
+ */
+public final class DocumentRendering {
+
+  private DocumentRendering() {
+  }
+
+  /**
+   * 문서의 프롬프트 문자열({@link IDocument#toSerializedPrompt()})을 반환한다.
+   *
+   * @param cache    렌더링 캐시
+   * @param document 문서
+   * @return 프롬프트 문자열
+   */
+  public static String prompt(final DocumentRenderCache cache, final IDocument document) {
+    return cache.prompt(document, document.getId(), IDocument::toSerializedPrompt);
+  }
+
+  /**
+   * 문서의 프롬프트 문자열을 조각으로 추가한다. 캐시하지 않는 문서는 문자열을 합치지 않고 조각 단위로 추가한다.
+   *
+   * @param cache    렌더링 캐시
+   * @param document 문서
+   * @param segments 조각을 추가할 목록
+   */
+  public static void appendPrompt(
+      final DocumentRenderCache cache,
+      final IDocument document,
+      final ContentSegments segments) {
+    if (cache.isCacheable(document.getId())) {
+      segments.add(prompt(cache, document));
+    } else {
+      document.appendSerializedPrompt(segments);
+    }
+  }
+
+  /**
+   * {@link IDocument} 목록 원소를 캐시된 JSON으로 직렬화하는 serializer.
+   *
+   * <p>
+   * {@code @JsonSerialize(contentUsing = DocumentRendering.CachedJsonSerializer.class)}로 문서 목록 필드에 지정한다.
+   * 캐시는 직렬화 속성({@code ObjectWriter#withAttribute(DocumentRenderCache.class, cache)})으로 전달하며,
+   * 속성이 없거나 생성기의 codec이 ObjectMapper가 아니면 캐시 없이 기본 직렬화를 사용한다.
+   * 캐시된 JSON은 런타임 타입으로 직렬화한 결과이므로 기본 직렬화와 바이트 단위로 같다.
+   * </p>
+   */
+  public static final class CachedJsonSerializer extends StdSerializer<IDocument> {
+
+    public CachedJsonSerializer() {
+      super(IDocument.class);
+    }
+
+    @Override
+    public void serialize(
+        final IDocument value,
+        final JsonGenerator gen,
+        final SerializerProvider provider) throws IOException {
+      if (!writeCached(value, gen, provider)) {
+        provider.findTypedValueSerializer(value.getClass(), true, null).serialize(value, gen, provider);
+      }
+    }
+
+    @Override
+    public void serializeWithType(
+        final IDocument value,
+        final JsonGenerator gen,
+        final SerializerProvider provider,
+        final TypeSerializer typeSer) throws IOException {
+      // 캐시된 JSON에 타입 정보가 포함되어 있다
+      if (!writeCached(value, gen, provider)) {
+        provider.findValueSerializer(value.getClass()).serializeWithType(value, gen, provider, typeSer);
+      }
+    }
+
+    private static boolean writeCached(
+        final IDocument value,
+        final JsonGenerator gen,
+        final SerializerProvider provider) throws IOException {
+      if (provider.getAttribute(DocumentRenderCache.class) instanceof DocumentRenderCache cache
+          && gen.getCodec() instanceof ObjectMapper mapper) {
+        gen.writeRawValue(cache.json(value, value.getId(), mapper));
+        return true;
+      }
+      return false;
+    }
+  }
+}
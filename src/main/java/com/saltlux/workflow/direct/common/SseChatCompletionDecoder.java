@@ -0,0 +1,230 @@
+package com.saltlux.workflow.direct.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.saltlux.workflow.core.common.StreamTap;
+import com.saltlux.workflow.direct.payload.chatcompletion.ChatCompletionResponse;
+
+/**
+ * Chat Completion SSE 스트림을 바이트 단위로 디코딩하는 클래스.
+ *
+ * <p>
+ * 수신한 {@link DataBuffer}에서 줄 단위로 {@code data:} 필드를 찾아 재사용 버퍼에 모으고,
+ * 이벤트가 끝나면(빈 줄) 문자열을 만들지 않고 바이트 배열에서 바로 {@link ChatCompletionResponse}로 파싱한다.
+ * {@code [DONE]}은 바이트 비교로 검출하여 {@link #DONE}을 반환한다.
+ * </p>
+ *
+ * <p>
+ * 줄 구분은 SSE 명세에 따라 {@code \n}, {@code \r\n}, {@code \r}을 모두 지원하며,
+ * 주석(':'로 시작하는 줄)과 {@code data} 이외의 필드는 무시한다.
+ * 여러 줄의 {@code data}는 {@code \n}으로 이어 붙인다.
+ * 스트림 하나당 인스턴스 하나를 사용해야 하며 thread-safe하지 않다.
+ * </p>
+ */
+public final class SseChatCompletionDecoder {
+
+  /** {@code [DONE]} 이벤트를 나타내는 표식 (동일성 비교로 확인) */
+  public static final ChatCompletionResponse DONE = ChatCompletionResponse.builder().build();
+
+  private static final byte[] DONE_BYTES = "[DONE]".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] DATA_FIELD = "data".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] NEWLINE = { '\n' };
+
+  /** 파싱 실패 시 예외 메시지에 포함할 최대 바이트 수 */
+  private static final int MAX_ERROR_BYTES = 200;
+
+  private final ObjectReader reader;
+
+  /** 진단용 raw 프레임 탭 */
+  private final StreamTap tap;
+
+  /** 수신 버퍼 복사용 */
+  private final byte[] chunk = new byte[8192];
+
+  /** 버퍼 경계에 걸친 미완성 줄 */
+  private byte[] line = new byte[1024];
+
+  private int lineLength;
+
+  /** 현재 이벤트의 data 필드 누적 */
+  private byte[] data = new byte[4096];
+
+  private int dataLength;
+
+  private boolean hasData;
+
+  /** 직전 문자가 \r이었으면 이어지는 \n을 건너뜀 */
+  private boolean skipLf;
+
+  /**
+   * 디코더를 생성한다.
+   *
+   * @param reader {@link ChatCompletionResponse}용 ObjectReader
+   */
+  public SseChatCompletionDecoder(final ObjectReader reader) {
+    this(reader, StreamTap.DISABLED);
+  }
+
+  /**
+   * 진단용 탭을 지정하여 디코더를 생성한다.
+   *
+   * @param reader {@link ChatCompletionResponse}용 ObjectReader
+   * @param tap    완성된 data 프레임을 전달받을 탭
+   */
+  public SseChatCompletionDecoder(final ObjectReader reader, final StreamTap tap) {
+    this.reader = reader;
+    this.tap = tap;
+  }
+
+  /**
+   * 버퍼를 디코딩하고 완성된 이벤트를 반환한다. 버퍼는 해제된다.
+   *
+   * @param buffer 수신 버퍼
+   * @return 완성된 응답 목록 ({@link #DONE} 포함 가능)
+   */
+  public List<ChatCompletionResponse> decode(final DataBuffer buffer) {
+    final List<ChatCompletionResponse> out = new ArrayList<>(2);
+    try {
+      int remaining = buffer.readableByteCount();
+      while (remaining > 0) {
+        final int n = Math.min(remaining, chunk.length);
+        buffer.read(chunk, 0, n);
+        remaining -= n;
+        scan(chunk, n, out);
+      }
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+    return out;
+  }
+
+  /**
+   * 스트림 종료 시 남은 줄과 이벤트를 처리한다.
+   *
+   * <p>
+   * 마지막 이벤트 뒤에 빈 줄이 없더라도 누적된 data가 있으면 이벤트로 처리한다.
+   * </p>
+   *
+   * @return 완성된 응답 목록
+   */
+  public List<ChatCompletionResponse> finish() {
+    final List<ChatCompletionResponse> out = new ArrayList<>(1);
+    if (lineLength > 0) {
+      processLine(line, 0, lineLength, out);
+      lineLength = 0;
+    }
+    dispatch(out);
+    return out;
+  }
+
+  private void scan(final byte[] bytes, final int length, final List<ChatCompletionResponse> out) {
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      final byte b = bytes[i];
+      if (skipLf) {
+        skipLf = false;
+        if (b == '\n') {
+          start = i + 1;
+          continue;
+        }
+      }
+      if (b == '\n' || b == '\r') {
+        skipLf = b == '\r';
+        if (lineLength == 0) {
+          processLine(bytes, start, i - start, out);
+        } else {
+          appendLine(bytes, start, i - start);
+          processLine(line, 0, lineLength, out);
+          lineLength = 0;
+        }
+        start = i + 1;
+      }
+    }
+    if (start < length) {
+      appendLine(bytes, start, length - start);
+    }
+  }
+
+  private void processLine(final byte[] bytes, final int offset, final int length,
+      final List<ChatCompletionResponse> out) {
+    if (length == 0) {
+      dispatch(out);
+      return;
+    }
+    if (bytes[offset] == ':') {
+      return;
+    }
+    final int end = offset + length;
+    int colon = offset;
+    while (colon < end && bytes[colon] != ':') {
+      colon++;
+    }
+    if (!regionEquals(bytes, offset, colon - offset, DATA_FIELD)) {
+      return;
+    }
+    int valueStart = Math.min(colon + 1, end);
+    if (valueStart < end && bytes[valueStart] == ' ') {
+      valueStart++;
+    }
+    if (hasData) {
+      appendData(NEWLINE, 0, 1);
+    }
+    appendData(bytes, valueStart, end - valueStart);
+    hasData = true;
+  }
+
+  private void dispatch(final List<ChatCompletionResponse> out) {
+    if (!hasData) {
+      return;
+    }
+    final int length = dataLength;
+    hasData = false;
+    dataLength = 0;
+
+    tap.onFrame(data, 0, length);
+    if (regionEquals(data, 0, length, DONE_BYTES)) {
+      out.add(DONE);
+      return;
+    }
+    try {
+      out.add(reader.readValue(data, 0, length));
+    } catch (IOException e) {
+      throw new DirectLlmClientException(
+          "Failed to parse SSE data: "
+              + new String(data, 0, Math.min(MAX_ERROR_BYTES, length), StandardCharsets.UTF_8),
+          e);
+    }
+  }
+
+  private void appendLine(final byte[] bytes, final int offset, final int length) {
+    if (lineLength + length > line.length) {
+      line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+    }
+    System.arraycopy(bytes, offset, line, lineLength, length);
+    lineLength += length;
+  }
+
+  private void appendData(final byte[] bytes, final int offset, final int length) {
+    if (dataLength + length > data.length) {
+      data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
+    }
+    System.arraycopy(bytes, offset, data, dataLength, length);
+    dataLength += length;
+  }
+
+  private static boolean regionEquals(final byte[] bytes, final int offset, final int length,
+      final byte[] expected) {
+    return length == expected.length
+        && Arrays.equals(bytes, offset, offset + length, expected, 0, expected.length);
+  }
+}
@@ -0,0 +1,188 @@
+package com.saltlux.workflow.direct.common;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.saltlux.workflow.core.common.StreamTimings;
+import com.saltlux.workflow.direct.payload.chatcompletion.ChatCompletionResponse;
+import com.saltlux.workflow.direct.payload.messageable.ResponseMessage;
+
+/**
+ * LLM 스트리밍 요청 한 건의 시점을 기록한다.
+ *
+ * <p>
+ * 모든 메서드는 동기화되어 있으므로 {@link #snapshot()}은 어느 스레드에서든 언제든 호출할 수 있다.
+ * 스트림이 끝나기 전에 호출하면 그 시점까지의 값을 반환한다.
+ * 재시도 등으로 같은 recorder가 다시 시작되면 이전 기록은 버려진다.
+ * </p>
+ */
+public final class StreamTimingRecorder {
+
+  private static final long[] GAP_BOUNDS_NANOS = StreamTimings.GAP_BUCKET_BOUNDS_MILLIS.stream()
+      .mapToLong(TimeUnit.MILLISECONDS::toNanos)
+      .toArray();
+
+  private long startNanos = -1;
+  private long requestSentAt;
+  private long headersAt = -1;
+  private long firstReasoningAt = -1;
+  private long firstContentAt = -1;
+  private long endedAt = -1;
+
+  private long lastTokenAt = -1;
+  private long tokenChunks;
+  private Integer completionTokens;
+
+  private final long[] gapCounts = new long[GAP_BOUNDS_NANOS.length + 1];
+  private long gapSum;
+  private long gapMax;
+
+  // 여러 요청 중 하나를 선택한 경우 측정값을 가져올 recorder
+  private StreamTimingRecorder delegate;
+
+  /**
+   * 요청 전송 시점을 기록한다.
+   */
+  public synchronized void onRequestSent() {
+    requestSentAt = System.currentTimeMillis();
+    headersAt = -1;
+    firstReasoningAt = -1;
+    firstContentAt = -1;
+    endedAt = -1;
+    lastTokenAt = -1;
+    tokenChunks = 0;
+    completionTokens = null;
+    Arrays.fill(gapCounts, 0);
+    gapSum = 0;
+    gapMax = 0;
+    startNanos = System.nanoTime();
+  }
+
+  /**
+   * 응답 헤더 수신 시점을 기록한다.
+   */
+  public synchronized void onHeaders() {
+    headersAt = System.nanoTime();
+  }
+
+  /**
+   * 응답 청크를 기록한다.
+   *
+   * <p>
+   * 첫 reasoning/content 토큰 시점, 토큰 간 간격, usage의 completionTokens를 갱신한다.
+   * </p>
+   *
+   * @param response 응답 청크
+   */
+  public synchronized void onResponse(final ChatCompletionResponse response) {
+    final long now = System.nanoTime();
+    if (response.getUsage() != null && response.getUsage().getCompletionTokens() != null) {
+      completionTokens = response.getUsage().getCompletionTokens();
+    }
+    final var choices = response.getChoices();
+    if (choices == null) {
+      return;
+    }
+    // n > 1이면 한 청크에 여러 선택지의 토큰이 올 수 있으므로 모든 선택지를 확인한다
+    boolean hasReasoning = false;
+    boolean hasContent = false;
+    for (final var choice : choices) {
+      final ResponseMessage delta = choice.getDelta();
+      if (delta != null) {
+        hasReasoning |= delta.getReasoning() != null && !delta.getReasoning().isEmpty();
+        hasContent |= delta.getContent() != null && !delta.getContent().isEmpty();
+      }
+    }
+    if (!hasReasoning && !hasContent) {
+      return;
+    }
+    if (hasReasoning && firstReasoningAt < 0) {
+      firstReasoningAt = now;
+    }
+    if (hasContent && firstContentAt < 0) {
+      firstContentAt = now;
+    }
+    if (lastTokenAt >= 0) {
+      recordGap(now - lastTokenAt);
+    }
+    lastTokenAt = now;
+    tokenChunks++;
+  }
+
+  /**
+   * 스트림 종료(완료, 오류, 취소) 시점을 기록한다.
+   */
+  public synchronized void onEnd() {
+    if (endedAt < 0) {
+      endedAt = System.nanoTime();
+    }
+  }
+
+  private long elapsedNanos() {
+    final long start = startNanos;
+    if (start < 0) {
+      return -1;
+    }
+    final long end = endedAt;
+    return (end < 0 ? System.nanoTime() : end) - start;
+  }
+
+  /**
+   * 현재까지의 측정값을 반환한다.
+   *
+   * @return 측정값, 요청이 시작되지 않았으면 null
+   */
+  public StreamTimings snapshot() {
+    final StreamTimingRecorder source;
+    synchronized (this) {
+      source = delegate;
+    }
+    return source != null ? source.snapshot() : ownSnapshot();
+  }
+
+  /**
+   * 이후 {@link #snapshot()}이 다른 recorder의 측정값을 반환하도록 한다.
+   *
+   * <p>
+   * 여러 엔드포인트에 같은 요청을 보내고 하나를 선택하는 경우, 선택된 요청의 recorder를 지정한다.
+   * </p>
+   *
+   * @param source 측정값을 가져올 recorder
+   */
+  public synchronized void follow(final StreamTimingRecorder source) {
+    this.delegate = source;
+  }
+
+  private synchronized StreamTimings ownSnapshot() {
+    final long start = startNanos;
+    if (start < 0) {
+      return null;
+    }
+    final long gaps = Arrays.stream(gapCounts).sum();
+    return StreamTimings.builder()
+        .requestSentAt(requestSentAt)
+        .headersNanos(since(start, headersAt))
+        .firstReasoningNanos(since(start, firstReasoningAt))
+        .firstContentNanos(since(start, firstContentAt))
+        .durationNanos(elapsedNanos())
+        .tokens(completionTokens != null ? completionTokens.longValue() : tokenChunks)
+        .interTokenGapCounts(Arrays.stream(gapCounts).boxed().toList())
+        .interTokenGapMeanNanos(gaps == 0 ? null : gapSum / gaps)
+        .interTokenGapMaxNanos(gaps == 0 ? null : gapMax)
+        .build();
+  }
+
+  private void recordGap(final long nanos) {
+    int bucket = 0;
+    while (bucket < GAP_BOUNDS_NANOS.length && nanos > GAP_BOUNDS_NANOS[bucket]) {
+      bucket++;
+    }
+    gapCounts[bucket]++;
+    gapSum += nanos;
+    gapMax = Math.max(gapMax, nanos);
+  }
+
+  private static Long since(final long start, final long at) {
+    return at < 0 ? null : at - start;
+  }
+}
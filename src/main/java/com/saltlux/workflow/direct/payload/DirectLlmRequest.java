@@ -1,6 +1,8 @@
 package com.saltlux.workflow.direct.payload;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.saltlux.workflow.direct.DirectLlmProcessor;
+import com.saltlux.workflow.direct.common.ConversationCache;
 import com.saltlux.workflow.direct.payload.chatcompletion.AdvancedCompletionRequest;
 import com.saltlux.workflow.direct.payload.messageable.AttachedMessage;
 
@@ -46,4 +48,25 @@ public class DirectLlmRequest {
    * </p>
    */
   private AdvancedCompletionRequest body;
+
+  /**
+   * 복제본 친화성 키 (선택사항, 예: 대화/세션 ID).
+   * <p>
+   * baseUrl에 복제본 그룹이 설정되어 있으면 같은 키의 요청을 같은 복제본으로 보내 서버의 prefix cache를 재사용한다.
+   * LLM API로는 전송되지 않습니다.
+   * </p>
+   */
+  private String affinityKey;
+
+  /**
+   * 대화 캐시 (선택사항).
+   * <p>
+   * 대화마다 같은 {@link ConversationCache}를 지정하면 이전 턴에 보낸 메시지를 다시 변환/인코딩하지 않습니다.
+   * 직렬화되지 않습니다.
+   * </p>
+   */
+  @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private ConversationCache conversationCache;
 }
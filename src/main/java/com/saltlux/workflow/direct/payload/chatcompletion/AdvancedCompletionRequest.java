@@ -5,7 +5,9 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.saltlux.workflow.core.common.DocumentRenderCache;
 import com.saltlux.workflow.direct.DirectLlmProcessor;
+import com.saltlux.workflow.direct.common.ConversationCache;
 import com.saltlux.workflow.direct.payload.messageable.AttachedMessage;
 import com.saltlux.workflow.direct.payload.messageable.IMessageable;
 
@@ -43,16 +45,111 @@ public class AdvancedCompletionRequest extends BaseCompletionRequest<IMessageabl
    */
   @JsonIgnore
   public ChatCompletionRequest toChatCompletionRequest() {
-    final List<Message> convertedMessages = new ArrayList<>();
-    if (this.getMessages() != null) {
-      for (final IMessageable msg : this.getMessages()) {
-        convertedMessages.add(msg.toMessage());
+    return toChatCompletionRequest(null);
+  }
+
+  /**
+   * 대화 캐시를 사용하여 표준 ChatCompletionRequest로 변환한다.
+   * <p>
+   * 이전 턴에 변환한 메시지는 다시 변환하지 않습니다.
+   * </p>
+   *
+   * @param conversation 대화 캐시 (null이면 모든 메시지를 변환)
+   * @return 변환된 ChatCompletionRequest
+   */
+  @JsonIgnore
+  public ChatCompletionRequest toChatCompletionRequest(final ConversationCache conversation) {
+    return toChatCompletionRequest(conversation, DocumentRenderCache.DISABLED);
+  }
+
+  /**
+   * 대화 캐시와 문서 렌더링 캐시를 사용하여 표준 ChatCompletionRequest로 변환한다.
+   *
+   * @param conversation 대화 캐시 (null이면 모든 메시지를 변환)
+   * @param renderCache  문서 렌더링 캐시
+   * @return 변환된 ChatCompletionRequest
+   */
+  @JsonIgnore
+  public ChatCompletionRequest toChatCompletionRequest(final ConversationCache conversation,
+      final DocumentRenderCache renderCache) {
+    final List<Message> convertedMessages;
+    if (conversation != null) {
+      convertedMessages = conversation.messages(this.getMessages(), renderCache);
+    } else {
+      convertedMessages = new ArrayList<>();
+      if (this.getMessages() != null) {
+        for (final IMessageable msg : this.getMessages()) {
+          convertedMessages.add(msg.toMessage(renderCache));
+        }
       }
     }
 
-    return ChatCompletionRequest.builder()
+    final var builder = ChatCompletionRequest.builder().messages(convertedMessages);
+    applyOptions(builder);
+    return builder.build();
+  }
+
+  /**
+   * 요청 본문 전송용 StreamingCompletionRequest로 변환한다.
+   * <p>
+   * {@link #toChatCompletionRequest()}와 같은 JSON으로 직렬화되지만, 각 메시지의 content를
+   * {@link IMessageable#toSegmentedMessage()}로 변환하여 첨부 문서를 하나의 문자열로 합치지 않는다.
+   * </p>
+   *
+   * @return 변환된 StreamingCompletionRequest
+   */
+  @JsonIgnore
+  public StreamingCompletionRequest toStreamingRequest() {
+    return toStreamingRequest(null);
+  }
+
+  /**
+   * 대화 캐시를 사용하여 요청 본문 전송용 StreamingCompletionRequest로 변환한다.
+   * <p>
+   * 이전 턴에 보낸 메시지는 캐시된 JSON을 그대로 쓰고 새 메시지만 변환/인코딩합니다.
+   * </p>
+   *
+   * @param conversation 대화 캐시 (null이면 모든 메시지를 변환)
+   * @return 변환된 StreamingCompletionRequest
+   */
+  @JsonIgnore
+  public StreamingCompletionRequest toStreamingRequest(final ConversationCache conversation) {
+    return toStreamingRequest(conversation, DocumentRenderCache.DISABLED);
+  }
+
+  /**
+   * 대화 캐시와 문서 렌더링 캐시를 사용하여 요청 본문 전송용 StreamingCompletionRequest로 변환한다.
+   *
+   * @param conversation 대화 캐시 (null이면 모든 메시지를 변환)
+   * @param renderCache  문서 렌더링 캐시
+   * @return 변환된 StreamingCompletionRequest
+   */
+  @JsonIgnore
+  public StreamingCompletionRequest toStreamingRequest(final ConversationCache conversation,
+      final DocumentRenderCache renderCache) {
+    final List<SegmentedMessage> convertedMessages;
+    if (conversation != null) {
+      convertedMessages = conversation.segmentedMessages(this.getMessages(), renderCache);
+    } else {
+      convertedMessages = new ArrayList<>();
+      if (this.getMessages() != null) {
+        for (final IMessageable msg : this.getMessages()) {
+          convertedMessages.add(msg.toSegmentedMessage(renderCache));
+        }
+      }
+    }
+
+    final var builder = StreamingCompletionRequest.builder().messages(convertedMessages);
+    applyOptions(builder);
+    return builder.build();
+  }
+
+  /**
+   * messages를 제외한 요청 옵션을 복사하고 stream을 true로 설정한다.
+   */
+  private void applyOptions(final BaseCompletionRequest.BaseCompletionRequestBuilder<?, ?, ?> builder) {
+    builder
         .model(this.getModel())
-        .messages(convertedMessages)
         .temperature(this.getTemperature())
         .topP(this.getTopP())
         .n(this.getN())
@@ -67,7 +164,6 @@ public class AdvancedCompletionRequest extends BaseCompletionRequest<IMessageabl
         .tools(this.getTools())
         .toolChoice(this.getToolChoice())
         .responseFormat(this.getResponseFormat())
-        .seed(this.getSeed())
-        .build();
+        .seed(this.getSeed());
   }
 }
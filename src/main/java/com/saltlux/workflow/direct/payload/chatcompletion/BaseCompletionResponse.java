@@ -5,6 +5,7 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.saltlux.workflow.core.common.StreamTimings;
 import com.saltlux.workflow.direct.payload.messageable.ResponseMessage;
 
 import lombok.AccessLevel;
@@ -37,6 +38,17 @@ public abstract class BaseCompletionResponse<T extends ResponseMessage> {
   private List<Choice<T>> choices;
   private Usage usage;
 
+  /**
+   * 클라이언트가 측정한 스트리밍 시점 정보.
+   *
+   * <p>
+   * 서버 응답에는 없으며, 스트리밍 종료 후 생성되는 최종 응답에만 설정됩니다.
+   * </p>
+   */
+  @JsonProperty("stream_timings")
+  @JsonAlias({ "stream_timings", "streamTimings" })
+  private StreamTimings streamTimings;
+
   /**
    * 응답 선택지.
    *
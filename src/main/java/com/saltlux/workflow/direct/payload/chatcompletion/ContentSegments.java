@@ -0,0 +1,139 @@
+package com.saltlux.workflow.direct.payload.chatcompletion;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 메시지 content를 이루는 문자열 조각 목록.
+ *
+ * <p>
+ * 문서가 첨부된 메시지는 태그와 문서 본문을 이어 붙인 큰 문자열이 되는데, 조각의 참조만 모아 두었다가
+ * 요청 본문을 쓸 때 {@link #reader()}로 JSON 생성기에 바로 흘려보내면 중간 문자열을 만들지 않는다.
+ * 조각은 추가 시점의 값을 참조하므로 직렬화 전에 원본을 변경하지 않아야 한다.
+ * </p>
+ *
+ * @see SegmentedMessage
+ */
+public final class ContentSegments {
+
+  private final List<CharSequence> segments = new ArrayList<>();
+
+  private int length;
+
+  /**
+   * 하나의 문자열로 이루어진 조각 목록을 생성한다.
+   *
+   * @param content 문자열 (null이면 null 반환)
+   * @return 조각 목록 또는 null
+   */
+  public static ContentSegments of(final String content) {
+    return content == null ? null : new ContentSegments().add(content);
+  }
+
+  /**
+   * 조각을 추가한다. null은 {@link StringBuilder#append(Object)}와 같이 {@code "null"}로 추가된다.
+   *
+   * @param segment 추가할 조각
+   * @return this
+   */
+  public ContentSegments add(final CharSequence segment) {
+    final CharSequence value = segment == null ? "null" : segment;
+    if (!value.isEmpty()) {
+      segments.add(value);
+      length += value.length();
+    }
+    return this;
+  }
+
+  /**
+   * 다른 조각 목록을 이어 붙인다.
+   *
+   * @param other 이어 붙일 조각 목록
+   * @return this
+   */
+  public ContentSegments addAll(final ContentSegments other) {
+    segments.addAll(other.segments);
+    length += other.length;
+    return this;
+  }
+
+  /**
+   * 전체 문자 수를 반환한다.
+   *
+   * @return 문자 수
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * 비어 있는지 확인한다.
+   *
+   * @return 조각이 없으면 true
+   */
+  public boolean isEmpty() {
+    return length == 0;
+  }
+
+  /**
+   * 조각을 순서대로 읽는 Reader를 반환한다. 조각을 복사하지 않는다.
+   *
+   * @return Reader
+   */
+  public Reader reader() {
+    return new SegmentReader();
+  }
+
+  /**
+   * 조각을 이어 붙인 문자열을 반환한다.
+   *
+   * @return 전체 문자열
+   */
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder(length);
+    for (final CharSequence segment : segments) {
+      sb.append(segment);
+    }
+    return sb.toString();
+  }
+
+  private final class SegmentReader extends Reader {
+
+    private int segment;
+
+    private int offset;
+
+    @Override
+    public int read(final char[] buffer, final int off, final int len) {
+      if (len == 0) {
+        return 0;
+      }
+      int written = 0;
+      while (written < len && segment < segments.size()) {
+        final CharSequence current = segments.get(segment);
+        final int count = Math.min(len - written, current.length() - offset);
+        if (current instanceof String s) {
+          s.getChars(offset, offset + count, buffer, off + written);
+        } else {
+          for (int i = 0; i < count; i++) {
+            buffer[off + written + i] = current.charAt(offset + i);
+          }
+        }
+        written += count;
+        offset += count;
+        if (offset == current.length()) {
+          segment++;
+          offset = 0;
+        }
+      }
+      return written == 0 ? -1 : written;
+    }
+
+    @Override
+    public void close() {
+      // 참조만 보관하므로 해제할 자원이 없다
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.saltlux.workflow.direct.payload.chatcompletion;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * content를 조각 단위로 직렬화하는 요청 메시지.
+ *
+ * <p>
+ * {@link Message}와 같은 JSON({@code role}, {@code content}, {@code tool_call_id} 순서, null 포함)으로 직렬화되지만,
+ * content를 하나의 문자열로 합치지 않고 {@link ContentSegments#reader()}로 JSON 생성기에 바로 쓴다.
+ * 요청 전송 전용이며 역직렬화하지 않는다.
+ * </p>
+ *
+ * <p>
+ * {@link #memoized()}로 만든 메시지는 처음 직렬화할 때 인코딩된 JSON을 보관하여 이후 요청에서 그대로 쓴다.
+ * 대화 이력처럼 여러 요청에 반복해서 포함되는 메시지에 사용한다.
+ * </p>
+ *
+ * @see StreamingCompletionRequest
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonSerialize(using = SegmentedMessage.Serializer.class)
+public final class SegmentedMessage implements IMessage {
+
+  private final String toolCallId;
+
+  private final String role;
+
+  /** content 조각 (null이면 content를 null로 직렬화) */
+  private final ContentSegments segments;
+
+  /** 인코딩된 JSON 보관 여부 */
+  @Getter(AccessLevel.NONE)
+  private final boolean memoize;
+
+  /** 인코딩된 JSON (memoize일 때 처음 직렬화 후 설정) */
+  @Getter(AccessLevel.NONE)
+  private volatile SerializedString encoded;
+
+  /**
+   * 조각 단위 메시지를 생성한다.
+   *
+   * @param role     역할
+   * @param segments content 조각 (nullable)
+   * @return 메시지
+   */
+  public static SegmentedMessage of(final String role, final ContentSegments segments) {
+    return new SegmentedMessage(null, role, segments, false, null);
+  }
+
+  /**
+   * 일반 메시지를 조각 단위 메시지로 감싼다.
+   *
+   * @param message 일반 메시지
+   * @return 메시지
+   */
+  public static SegmentedMessage from(final Message message) {
+    return new SegmentedMessage(
+        message.getToolCallId(),
+        message.getRole(),
+        ContentSegments.of(message.getContent()),
+        false,
+        null);
+  }
+
+  /**
+   * 인코딩된 JSON을 보관하는 같은 내용의 메시지를 반환한다.
+   *
+   * @return 처음 직렬화 결과를 재사용하는 메시지
+   */
+  public SegmentedMessage memoized() {
+    return memoize ? this : new SegmentedMessage(toolCallId, role, segments, true, null);
+  }
+
+  /**
+   * content를 하나의 문자열로 합쳐 반환한다. 디버깅 용도이며 직렬화에는 사용되지 않는다.
+   *
+   * @return content 문자열 (nullable)
+   */
+  @Override
+  public String getContent() {
+    return segments == null ? null : segments.toString();
+  }
+
+  static final class Serializer extends StdSerializer<SegmentedMessage> {
+
+    Serializer() {
+      super(SegmentedMessage.class);
+    }
+
+    @Override
+    public void serialize(
+        final SegmentedMessage value,
+        final JsonGenerator gen,
+        final SerializerProvider provider) throws IOException {
+      final SerializedString encoded = value.encoded;
+      if (encoded != null) {
+        gen.writeRawValue(encoded);
+        return;
+      }
+      if (value.memoize && gen.getCodec() instanceof ObjectMapper mapper) {
+        final StringWriter out = new StringWriter(value.segments == null ? 64 : value.segments.length() + 64);
+        try (JsonGenerator memo = mapper.getFactory().createGenerator(out)) {
+          writeMessage(value, memo);
+        }
+        final SerializedString json = new SerializedString(out.toString());
+        json.asUnquotedUTF8();
+        value.encoded = json;
+        gen.writeRawValue(json);
+        return;
+      }
+      writeMessage(value, gen);
+    }
+
+    private static void writeMessage(final SegmentedMessage value, final JsonGenerator gen) throws IOException {
+      // Message의 기본 직렬화와 같은 필드 순서로 쓴다
+      gen.writeStartObject();
+      gen.writeStringField("role", value.role);
+      gen.writeFieldName("content");
+      if (value.segments == null) {
+        gen.writeNull();
+      } else {
+        gen.writeString(value.segments.reader(), value.segments.length());
+      }
+      gen.writeStringField("tool_call_id", value.toolCallId);
+      gen.writeEndObject();
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.saltlux.workflow.direct.payload.chatcompletion;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.saltlux.workflow.direct.DirectLlmProcessor;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * content를 조각 단위로 직렬화하는 Chat Completion 요청 객체.
+ *
+ * <p>
+ * {@link ChatCompletionRequest}와 같은 JSON으로 직렬화되며, 메시지 content를 중간 문자열 없이 요청 본문에 쓴다.
+ * {@link AdvancedCompletionRequest#toStreamingRequest()}로 생성한다.
+ * </p>
+ *
+ * @see DirectLlmProcessor
+ * @see SegmentedMessage
+ */
+@SuperBuilder(toBuilder = true)
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StreamingCompletionRequest extends BaseCompletionRequest<SegmentedMessage> {
+}
@@ -5,9 +5,16 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.saltlux.workflow.deepresearch.payload.messageable.ResearchedMessage;
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.core.common.TokenEstimator;
+import com.saltlux.workflow.direct.common.DocumentPacker;
+import com.saltlux.workflow.direct.common.DocumentRendering;
+import com.saltlux.workflow.direct.payload.chatcompletion.ContentSegments;
 import com.saltlux.workflow.direct.payload.chatcompletion.Message;
+import com.saltlux.workflow.direct.payload.chatcompletion.SegmentedMessage;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -48,6 +55,15 @@ public class AttachedMessage implements IMessageable {
 
   private String content;
 
+  /**
+   * 문서 블록별 토큰 예산 (null이면 제한 없음).
+   * <p>
+   * 지정하면 문서 목록 순서대로 예산 안에 들어가는 문서만 프롬프트에 포함합니다.
+   * </p>
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer documentTokenBudget;
+
   /**
    * 일반 Message로 변환한다.
    * <p>
@@ -59,37 +75,115 @@ public class AttachedMessage implements IMessageable {
   @Override
   @JsonIgnore
   public Message toMessage() {
-    final String documentsText = serializeDocuments();
-
-    String mergedContent;
-    if (documentsText.isEmpty()) {
-      mergedContent = content;
-    } else if (content == null || content.isEmpty()) {
-      mergedContent = documentsText;
-    } else {
-      mergedContent = content + "\n\n" + documentsText;
-    }
+    return toMessage(DocumentRenderCache.DISABLED);
+  }
 
+  /**
+   * 문서 렌더링 캐시를 사용하여 일반 Message로 변환한다.
+   *
+   * @param renderCache 문서 렌더링 캐시
+   * @return 변환된 Message
+   */
+  @Override
+  @JsonIgnore
+  public Message toMessage(final DocumentRenderCache renderCache) {
+    final ContentSegments segments = contentSegments(renderCache);
     return Message.builder()
         .role(role)
-        .content(mergedContent)
+        .content(segments == null ? null : segments.toString())
         .build();
   }
 
+  /**
+   * 요청 본문 전송용 조각 단위 Message로 변환한다.
+   * <p>
+   * {@link #toMessage()}와 같은 content를 문서 본문을 복사하지 않고 조각으로 전달합니다.
+   * </p>
+   *
+   * @return 변환된 SegmentedMessage
+   */
+  @Override
+  @JsonIgnore
+  public SegmentedMessage toSegmentedMessage() {
+    return toSegmentedMessage(DocumentRenderCache.DISABLED);
+  }
+
+  /**
+   * 문서 렌더링 캐시를 사용하여 요청 본문 전송용 조각 단위 Message로 변환한다.
+   * <p>
+   * 캐시에 있는 문서는 렌더링된 프롬프트 문자열을 그대로 조각으로 사용합니다.
+   * </p>
+   *
+   * @param renderCache 문서 렌더링 캐시
+   * @return 변환된 SegmentedMessage
+   */
+  @Override
+  @JsonIgnore
+  public SegmentedMessage toSegmentedMessage(final DocumentRenderCache renderCache) {
+    return SegmentedMessage.of(role, contentSegments(renderCache));
+  }
+
+  /**
+   * content와 documents를 병합한 content 조각을 만든다.
+   *
+   * @param renderCache 문서 렌더링 캐시
+   * @return content 조각 (content가 null이고 documents가 없으면 null)
+   */
+  protected ContentSegments contentSegments(final DocumentRenderCache renderCache) {
+    final ContentSegments documentsSegments = documentsSegments(renderCache);
+    if (documentsSegments.isEmpty()) {
+      return ContentSegments.of(content);
+    }
+    if (content == null || content.isEmpty()) {
+      return documentsSegments;
+    }
+    return new ContentSegments().add(content).add("\n\n").addAll(documentsSegments);
+  }
+
+  /**
+   * 응답에서 인용될 수 있는 문서 목록을 반환한다.
+   * <p>
+   * 응답의 cite id에 문서 제목과 URL을 연결할 때 사용된다. 기본 구현은 documents를 반환한다.
+   * </p>
+   *
+   * @return 인용 가능한 문서 목록
+   */
+  public List<IDocument> citableDocuments() {
+    return documents == null ? List.of() : documents;
+  }
+
   /**
    * documents를 {@code <documents>} 태그로 감싸서 직렬화한다.
    */
   @JsonIgnore
   public String serializeDocuments() {
+    return documentsSegments(DocumentRenderCache.DISABLED).toString();
+  }
+
+  /**
+   * documents를 {@code <documents>} 태그로 감싼 조각을 만든다. documents가 없으면 빈 조각을 반환한다.
+   */
+  protected ContentSegments documentsSegments(final DocumentRenderCache renderCache) {
+    final ContentSegments segments = new ContentSegments();
     if (this.documents == null || this.documents.isEmpty()) {
-      return "";
+      return segments;
+    }
+    segments.add("<documents>\n");
+    for (final IDocument doc : packDocuments(this.documents, renderCache)) {
+      DocumentRendering.appendPrompt(renderCache, doc, segments);
+      segments.add("\n");
     }
-    final StringBuilder sb = new StringBuilder();
-    sb.append("<documents>\n");
-    for (final IDocument doc : this.documents) {
-      sb.append(doc.toSerializedPrompt()).append("\n");
+    segments.add("</documents>");
+    return segments;
+  }
+
+  /**
+   * {@code documentTokenBudget}이 있으면 예산 안에 들어가는 문서만 반환한다.
+   */
+  protected List<IDocument> packDocuments(final List<IDocument> candidates, final DocumentRenderCache renderCache) {
+    if (documentTokenBudget == null || documentTokenBudget <= 0) {
+      return candidates;
     }
-    sb.append("</documents>");
-    return sb.toString();
+    return new DocumentPacker(TokenEstimator.DEFAULT, renderCache).pack(candidates, null, documentTokenBudget).documents();
   }
 }
@@ -1,5 +1,7 @@
 package com.saltlux.workflow.direct.payload.messageable;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +15,7 @@ import lombok.ToString;
  *
  * <p>
  * 텍스트 내에서 인용된 부분의 위치와 인용 ID를 나타냅니다.
+ * 인용 ID가 요청에 첨부된 문서와 일치하면 문서의 제목과 URL이 함께 설정됩니다.
  * </p>
  */
 @Builder
@@ -26,4 +29,12 @@ public class Citation {
   private String id;
   private int startIndex;
   private int endIndex;
+
+  /** 인용된 문서 제목 (문서를 찾지 못하면 null) */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String title;
+
+  /** 인용된 문서 URL (문서를 찾지 못했거나 URL이 없으면 null) */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String url;
 }
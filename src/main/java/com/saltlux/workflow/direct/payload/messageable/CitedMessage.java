@@ -5,6 +5,7 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.saltlux.workflow.direct.common.CitationIndex;
 import com.saltlux.workflow.direct.payload.chatcompletion.Message;
 
 import lombok.AccessLevel;
@@ -43,46 +44,25 @@ public class CitedMessage extends ResponseMessage {
    * <p>
    * 예: {@code 일반 텍스트<cite><id>doc1</id>인용된 텍스트</cite>일반 텍스트}
    * </p>
+   * <p>
+   * citations가 이미 startIndex 순서이면 정렬하지 않는다. 스트리밍 중 반복해서 호출하는 경우에는
+   * 이전 결과를 재사용하는 {@code CitedMessageAssembler#getContentWithCitations()}를 사용한다.
+   * </p>
    *
    * @return cite 태그가 포함된 문자열
    */
   @JsonIgnore
   public String getContentWithCitations() {
-    if (super.getContent() == null || super.getContent().isEmpty()) {
-      return "";
-    }
-    if (citations == null || citations.isEmpty()) {
-      return super.getContent();
-    }
-
-    // citations를 startIndex 기준으로 정렬
-    final List<Citation> sorted = citations.stream()
-        .sorted((a, b) -> Integer.compare(a.getStartIndex(), b.getStartIndex()))
-        .toList();
-
-    final StringBuilder sb = new StringBuilder();
-    int lastEnd = 0;
-
-    for (final Citation cite : sorted) {
-      // 인용 전 일반 텍스트
-      if (cite.getStartIndex() > lastEnd) {
-        sb.append(super.getContent(), lastEnd, cite.getStartIndex());
-      }
-
-      // 인용 부분을 cite 태그로 감싸기
-      sb.append("<cite><id>").append(cite.getId()).append("</id>");
-      sb.append(super.getContent(), cite.getStartIndex(), cite.getEndIndex());
-      sb.append("</cite>");
-
-      lastEnd = cite.getEndIndex();
-    }
-
-    // 마지막 인용 이후 텍스트
-    if (lastEnd < super.getContent().length()) {
-      sb.append(super.getContent().substring(lastEnd));
-    }
+    return CitationIndex.render(super.getContent(), citations);
+  }
 
-    return sb.toString();
+  /**
+   * citations로 범위/문서 ID 조회용 인덱스를 만든다.
+   *
+   * @return 인용 인덱스
+   */
+  public CitationIndex toCitationIndex() {
+    return CitationIndex.of(citations);
   }
 
   /**
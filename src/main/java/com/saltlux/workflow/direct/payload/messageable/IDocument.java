@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.saltlux.workflow.deepresearch.payload.PrecedentPayloads;
 import com.saltlux.workflow.deepresearch.payload.StatutePayloads;
+import com.saltlux.workflow.direct.payload.chatcompletion.ContentSegments;
 
 /**
  * RAG용 문서 인터페이스.
@@ -66,13 +67,25 @@ public interface IDocument {
    * @return 직렬화된 프롬프트 문자열
    */
   default String toSerializedPrompt() {
-    final StringBuilder sb = new StringBuilder();
-    sb.append("<document id=\"").append(getId()).append("\">\n");
+    final ContentSegments segments = new ContentSegments();
+    appendSerializedPrompt(segments);
+    return segments.toString();
+  }
+
+  /**
+   * {@link #toSerializedPrompt()}와 같은 내용을 문자열을 합치지 않고 조각으로 추가한다.
+   * <p>
+   * 요청 본문 전송 시 사용된다. 직렬화 형식을 바꾸려면 이 메서드를 재정의한다.
+   * </p>
+   *
+   * @param segments 조각을 추가할 목록
+   */
+  default void appendSerializedPrompt(final ContentSegments segments) {
+    segments.add("<document id=\"").add(getId()).add("\">\n");
     if (getTitle() != null && !getTitle().isBlank()) {
-      sb.append("<title>").append(getTitle()).append("</title>\n");
+      segments.add("<title>").add(getTitle()).add("</title>\n");
     }
-    sb.append("<content>").append(getContent()).append("</content>\n");
-    sb.append("</document>");
-    return sb.toString();
+    segments.add("<content>").add(getContent()).add("</content>\n");
+    segments.add("</document>");
   }
 }
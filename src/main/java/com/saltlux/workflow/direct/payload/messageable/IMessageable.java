@@ -2,8 +2,10 @@ package com.saltlux.workflow.direct.payload.messageable;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.saltlux.workflow.core.common.DocumentRenderCache;
 import com.saltlux.workflow.direct.payload.chatcompletion.IMessage;
 import com.saltlux.workflow.direct.payload.chatcompletion.Message;
+import com.saltlux.workflow.direct.payload.chatcompletion.SegmentedMessage;
 
 /**
  * Message로 변환 가능한 객체를 나타내는 인터페이스.
@@ -30,4 +32,43 @@ public interface IMessageable extends IMessage {
    * @return 변환된 Message
    */
   Message toMessage();
+
+  /**
+   * 요청 본문 전송용 조각 단위 Message로 변환한다.
+   * <p>
+   * 기본 구현은 {@link #toMessage()} 결과를 감싼다. 첨부 문서처럼 content가 큰 메시지는
+   * 재정의하여 문자열을 합치지 않고 조각을 그대로 넘긴다.
+   * </p>
+   *
+   * @return 변환된 SegmentedMessage
+   */
+  default SegmentedMessage toSegmentedMessage() {
+    return SegmentedMessage.from(toMessage());
+  }
+
+  /**
+   * 문서 렌더링 캐시를 사용하여 LLM API 요청용 표준 Message로 변환한다.
+   * <p>
+   * 기본 구현은 캐시를 사용하지 않고 {@link #toMessage()}를 호출한다.
+   * </p>
+   *
+   * @param renderCache 문서 렌더링 캐시
+   * @return 변환된 Message
+   */
+  default Message toMessage(final DocumentRenderCache renderCache) {
+    return toMessage();
+  }
+
+  /**
+   * 문서 렌더링 캐시를 사용하여 요청 본문 전송용 조각 단위 Message로 변환한다.
+   * <p>
+   * 기본 구현은 캐시를 사용하지 않고 {@link #toSegmentedMessage()}를 호출한다.
+   * </p>
+   *
+   * @param renderCache 문서 렌더링 캐시
+   * @return 변환된 SegmentedMessage
+   */
+  default SegmentedMessage toSegmentedMessage(final DocumentRenderCache renderCache) {
+    return toSegmentedMessage();
+  }
 }
@@ -0,0 +1,64 @@
+package com.saltlux.workflow.direct.payload.messageable;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.saltlux.workflow.direct.payload.chatcompletion.ToolCall;
+
+/**
+ * 스트리밍 응답의 경량 delta 이벤트.
+ *
+ * <p>
+ * 토큰마다 {@link CitedMessage} 빌더, 인용 리스트, {@code Choice}/{@code AdvancedCompletionResponse} 래퍼를 만들지 않도록
+ * 필요한 값만 평평하게 담는다. 한 이벤트에는 content 조각 또는 완성된 인용 하나가 담기며,
+ * reasoning/toolCalls는 원본 delta의 값을 그대로 참조한다.
+ * {@code finishReason}이 있는 이벤트는 스트림 종료를 알리며 내용을 담지 않는다.
+ * </p>
+ *
+ * @param index        선택지 index ({@code n > 1} 요청에서 어느 선택지의 이벤트인지)
+ * @param role         역할 (원본 delta의 role, nullable)
+ * @param content      cite 태그가 제거된 content 조각 (nullable)
+ * @param reasoning    reasoning 조각 (nullable)
+ * @param toolCalls    toolCalls 청크 (nullable)
+ * @param citation     이 시점에 완성된 인용 (nullable)
+ * @param finishReason 종료 이유 (스트리밍 중이면 null)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StreamDelta(
+    int index,
+    String role,
+    String content,
+    String reasoning,
+    List<ToolCall> toolCalls,
+    Citation citation,
+    String finishReason) {
+
+  /**
+   * 종료 이벤트를 생성한다.
+   *
+   * @param index        선택지 index
+   * @param finishReason 종료 이유
+   * @return 내용 없이 종료 이유만 담은 이벤트
+   */
+  public static StreamDelta finish(final int index, final String finishReason) {
+    return new StreamDelta(index, null, null, null, null, null, finishReason);
+  }
+
+  /**
+   * 기존 스트리밍 메시지 형식({@link CitedMessage})으로 변환한다.
+   *
+   * @return 같은 내용을 담은 CitedMessage
+   */
+  public CitedMessage toCitedMessage() {
+    final CitedMessage.CitedMessageBuilder<?, ?> builder = CitedMessage.builder()
+        .role(role)
+        .content(content)
+        .reasoning(reasoning)
+        .toolCalls(toolCalls);
+    // content/인용 이벤트는 인용을 명시하고, reasoning/toolCalls만 있는 이벤트는 기본값(빈 리스트)을 유지한다
+    if (content != null || citation != null) {
+      builder.citations(citation != null ? List.of(citation) : null);
+    }
+    return builder.build();
+  }
+}
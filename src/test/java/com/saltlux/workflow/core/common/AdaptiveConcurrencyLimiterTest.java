@@ -0,0 +1,140 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import com.saltlux.workflow.core.common.AdaptiveConcurrencyLimiter.Permit;
+import com.saltlux.workflow.core.common.WorkflowExceptions.ConcurrencyLimitException;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+@DisplayName("AdaptiveConcurrencyLimiter")
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private static AdaptiveConcurrencyLimiter limiter(final int limit, final int queueSize,
+      final Duration queueTimeout) {
+    return new AdaptiveConcurrencyLimiter("test", ConcurrencyLimitProperties.builder()
+        .enabled(true)
+        .initialLimit(limit)
+        .minLimit(1)
+        .maxQueueSize(queueSize)
+        .queueTimeout(queueTimeout)
+        .build());
+  }
+
+  @Test
+  @DisplayName("제한을 넘은 요청은 대기하다가 허가가 반납되면 실행된다")
+  void grantsWaiterOnRelease() {
+    final AdaptiveConcurrencyLimiter limiter = limiter(1, 10, TIMEOUT);
+    final Permit first = limiter.acquire().block(TIMEOUT);
+
+    final AtomicReference<Permit> waiting = new AtomicReference<>();
+    limiter.acquire().subscribe(waiting::set);
+    assertThat(waiting.get()).isNull();
+    assertThat(limiter.getQueued()).isEqualTo(1);
+
+    first.release();
+    assertThat(waiting.get()).isNotNull();
+    assertThat(limiter.getQueued()).isZero();
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+
+    waiting.get().release();
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("대기 시간이 지나면 ConcurrencyLimitException으로 실패하고 대기열에서 제거된다")
+  void waiterTimesOut() {
+    final AdaptiveConcurrencyLimiter limiter = limiter(1, 10, Duration.ofMillis(50));
+    final Permit first = limiter.acquire().block(TIMEOUT);
+
+    assertThatThrownBy(() -> limiter.acquire().block(TIMEOUT)).isInstanceOf(ConcurrencyLimitException.class);
+    assertThat(limiter.getQueued()).isZero();
+
+    // 시간 초과한 대기자에게 허가가 넘어가지 않아야 한다
+    first.release();
+    assertThat(limiter.getInFlight()).isZero();
+    limiter.acquire().block(TIMEOUT).release();
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("대기열이 가득 차면 즉시 거절한다")
+  void rejectsWhenQueueFull() {
+    final AdaptiveConcurrencyLimiter limiter = limiter(1, 0, TIMEOUT);
+    final Permit first = limiter.acquire().block(TIMEOUT);
+
+    assertThatThrownBy(() -> limiter.acquire().block(TIMEOUT)).isInstanceOf(ConcurrencyLimitException.class);
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+
+    first.release();
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("대기 중 구독을 취소하면 대기열에서 제거된다")
+  void removesCancelledWaiter() {
+    final AdaptiveConcurrencyLimiter limiter = limiter(1, 10, TIMEOUT);
+    final Permit first = limiter.acquire().block(TIMEOUT);
+
+    final Disposable waiting = limiter.acquire().subscribe();
+    assertThat(limiter.getQueued()).isEqualTo(1);
+    waiting.dispose();
+    assertThat(limiter.getQueued()).isZero();
+
+    first.release();
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("구독자가 받지 못하고 버려진 허가는 자동으로 반납된다")
+  void releasesDiscardedPermit() {
+    final AdaptiveConcurrencyLimiter limiter = limiter(1, 10, TIMEOUT);
+
+    // 허가가 발급되기 전에 취소하는 구독자
+    limiter.acquire().subscribe(new BaseSubscriber<Permit>() {
+      @Override
+      protected void hookOnSubscribe(final Subscription subscription) {
+        cancel();
+      }
+    });
+
+    assertThat(limiter.getInFlight()).isZero();
+    limiter.acquire().block(TIMEOUT).release();
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  @DisplayName("허가는 여러 번 반납해도 한 번만 반영된다")
+  void releaseIsIdempotent() {
+    final AdaptiveConcurrencyLimiter limiter = limiter(2, 10, TIMEOUT);
+    final Permit first = limiter.acquire().block(TIMEOUT);
+    limiter.acquire().block(TIMEOUT);
+
+    first.release();
+    first.release();
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("과부하 응답을 받으면 제한이 줄어든다")
+  void decreasesOnDropped() {
+    final AdaptiveConcurrencyLimiter limiter = limiter(10, 10, TIMEOUT);
+    final Permit permit = limiter.acquire().block(TIMEOUT);
+
+    permit.onDropped();
+    permit.release();
+
+    assertThat(limiter.getLimit()).isEqualTo(9);
+  }
+}
@@ -0,0 +1,148 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@DisplayName("CircuitBreaker")
+class CircuitBreakerTest {
+
+  private static final Duration OPEN_DURATION = Duration.ofMillis(50);
+
+  private final CircuitBreaker breaker = new CircuitBreaker(CircuitBreakerProperties.builder()
+      .windowSize(4)
+      .minimumCalls(2)
+      .failureRateThreshold(0.5)
+      .openDuration(OPEN_DURATION)
+      .halfOpenPermits(2)
+      .build());
+
+  private void call(final boolean failed) {
+    assertThat(breaker.tryAcquire()).isTrue();
+    if (failed) {
+      breaker.onFailure();
+    } else {
+      breaker.onSuccess();
+    }
+  }
+
+  private void open() {
+    call(true);
+    call(true);
+    assertThat(breaker.isOpen()).isTrue();
+  }
+
+  private static void waitOpenDuration() throws InterruptedException {
+    Thread.sleep(OPEN_DURATION.toMillis() + 20);
+  }
+
+  @Test
+  @DisplayName("최소 호출 수 전에는 실패해도 열리지 않는다")
+  void staysClosedBelowMinimumCalls() {
+    call(true);
+
+    assertThat(breaker.isOpen()).isFalse();
+    assertThat(breaker.tryAcquire()).isTrue();
+  }
+
+  @Test
+  @DisplayName("실패율이 임계값 이상이면 열리고 호출을 거부한다")
+  void opensOnFailureRate() {
+    call(false);
+    call(false);
+    call(true);
+    assertThat(breaker.isOpen()).isFalse();
+
+    call(true);
+
+    assertThat(breaker.isOpen()).isTrue();
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  @DisplayName("윈도우를 벗어난 실패는 실패율에서 빠진다")
+  void slidesWindow() {
+    call(true);
+    call(false);
+    call(false);
+    call(false);
+    // 첫 실패가 밀려나고 새 실패가 들어와도 실패율은 1/4
+    call(true);
+
+    assertThat(breaker.isOpen()).isFalse();
+  }
+
+  @Test
+  @DisplayName("대기 시간이 지나면 half-open 시험 요청 수만큼만 허용한다")
+  void halfOpenPermits() throws InterruptedException {
+    open();
+    waitOpenDuration();
+
+    assertThat(breaker.isOpen()).isFalse();
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  @DisplayName("half-open 시험 요청이 모두 성공하면 닫히고 윈도우가 초기화된다")
+  void closesAfterHalfOpenSuccesses() throws InterruptedException {
+    open();
+    waitOpenDuration();
+
+    call(false);
+    call(false);
+
+    // 닫힌 뒤에는 새 윈도우로 집계되므로 실패 한 번으로는 열리지 않는다
+    call(true);
+    assertThat(breaker.isOpen()).isFalse();
+    assertThat(breaker.tryAcquire()).isTrue();
+  }
+
+  @Test
+  @DisplayName("half-open 시험 요청이 실패하면 다시 열린다")
+  void reopensOnHalfOpenFailure() throws InterruptedException {
+    open();
+    waitOpenDuration();
+
+    call(false);
+    call(true);
+
+    assertThat(breaker.isOpen()).isTrue();
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  @DisplayName("취소된 half-open 시험 요청은 허가만 반납하고 상태를 바꾸지 않는다")
+  void ignoredReturnsPermit() throws InterruptedException {
+    open();
+    waitOpenDuration();
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isTrue();
+    breaker.onIgnored();
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.tryAcquire()).isFalse();
+    assertThat(breaker.isOpen()).isFalse();
+  }
+
+  @Test
+  @DisplayName("5xx, 전송 오류, 타임아웃만 실패로 집계한다")
+  void classifiesFailures() {
+    assertThat(CircuitBreaker.isFailure(
+        WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "unavailable", null, null, null)))
+        .isTrue();
+    assertThat(CircuitBreaker.isFailure(
+        WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "bad request", null, null, null)))
+        .isFalse();
+    assertThat(CircuitBreaker.isFailure(new TimeoutException())).isTrue();
+    assertThat(CircuitBreaker.isFailure(new WorkflowExceptions.WorkflowException(500, "flow error"))).isFalse();
+  }
+}
@@ -0,0 +1,87 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DocumentRenderCache")
+class DocumentRenderCacheTest {
+
+  /** hashCode가 항상 같은 문서 (값 기반 equals) */
+  private record CollidingDocument(String id, String content) {
+
+    String toPrompt() {
+      return "<document id=\"" + id + "\">" + content + "</document>";
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+  }
+
+  private static String prompt(final DocumentRenderCache cache, final CollidingDocument document) {
+    return cache.prompt(document, document.id(), CollidingDocument::toPrompt);
+  }
+
+  @Test
+  @DisplayName("값이 같은 문서는 렌더링 결과를 재사용한다")
+  void reusesEqualDocument() {
+    final DocumentRenderCache cache = new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES);
+
+    final String first = prompt(cache, new CollidingDocument("doc", "본문"));
+    final String second = prompt(cache, new CollidingDocument("doc", "본문"));
+
+    assertThat(second).isSameAs(first);
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("ID와 hashCode가 같아도 다른 문서의 렌더링 결과는 반환하지 않는다")
+  void doesNotReturnCollidingDocument() {
+    final DocumentRenderCache cache = new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES);
+    final CollidingDocument original = new CollidingDocument("doc", "원래 본문");
+    final CollidingDocument changed = new CollidingDocument("doc", "바뀐 본문");
+
+    assertThat(prompt(cache, original)).contains("원래 본문");
+    assertThat(prompt(cache, changed)).contains("바뀐 본문");
+    assertThat(cache.getHits()).isZero();
+
+    // 교체된 항목만 보관한다
+    assertThat(cache.getBytes()).isEqualTo((long) changed.toPrompt().length() * 2);
+  }
+
+  @Test
+  @DisplayName("보관량을 넘으면 오래 사용되지 않은 문서부터 제거한다")
+  void evictsLeastRecentlyUsed() {
+    final CollidingDocument a = new CollidingDocument("a", "가");
+    final CollidingDocument b = new CollidingDocument("b", "나");
+    final long size = (long) a.toPrompt().length() * 2;
+    final DocumentRenderCache cache = new DocumentRenderCache(size * 2);
+
+    prompt(cache, a);
+    prompt(cache, b);
+    prompt(cache, a);
+    prompt(cache, new CollidingDocument("c", "다"));
+
+    assertThat(cache.getBytes()).isEqualTo(size * 2);
+    prompt(cache, a);
+    assertThat(cache.getHits()).isEqualTo(2);
+    prompt(cache, b);
+    assertThat(cache.getHits()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("비활성 캐시와 ID가 없는 문서는 보관하지 않는다")
+  void skipsDisabledAndAnonymous() {
+    final DocumentRenderCache cache = new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES);
+
+    prompt(cache, new CollidingDocument(null, "본문"));
+    prompt(DocumentRenderCache.DISABLED, new CollidingDocument("doc", "본문"));
+
+    assertThat(cache.getBytes()).isZero();
+    assertThat(DocumentRenderCache.DISABLED.getBytes()).isZero();
+  }
+}
@@ -0,0 +1,179 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.saltlux.workflow.core.payload.WorkflowResponse;
+import com.saltlux.workflow.deepresearch.payload.ScoreInfos.OriginInfo;
+import com.saltlux.workflow.deepresearch.payload.ScoreInfos.Scored;
+import com.saltlux.workflow.deepresearch.payload.StatutePayloads.StatuteChunk;
+import com.saltlux.workflow.deepresearch.payload.StatutePayloads.StatuteRetrieveResponse;
+import com.saltlux.workflow.direct.payload.chatcompletion.ChatCompletionResponse;
+
+/**
+ * JSON 디코딩 벤치마크.
+ *
+ * <p>
+ * 호출마다 {@code ObjectMapper.readValue}로 타입을 해석하는 기존 방식과, {@link JsonSupport}의 공용 매퍼와
+ * 캐시된 reader, Blackbird 모듈을 더한 방식의 디코딩 시간을 비교한다.
+ * 측정값은 환경에 따라 달라지므로 결과만 출력하고 속도는 검증하지 않는다.
+ * 빌드 시에는 제외되며, 수동으로 실행해야 합니다.
+ * </p>
+ *
+ * <p>
+ * 실행 방법:
+ *
+ * <pre>
+ * ./gradlew benchmark
+ * </pre>
+ * </p>
+ */
+@Tag("benchmark")
+@DisplayName("JSON 디코딩 벤치마크")
+class JsonSupportBenchmark {
+
+  private static final int WARMUP_ROUNDS = 5;
+
+  private static final int MEASURE_ROUNDS = 10;
+
+  private static final int OPERATIONS = 5_000;
+
+  private static final TypeReference<WorkflowResponse<StatuteRetrieveResponse>> STATUTE_RESPONSE_TYPE = new TypeReference<>() {
+  };
+
+  private static final TypeReference<ChatCompletionResponse> CHAT_RESPONSE_TYPE = new TypeReference<>() {
+  };
+
+  /** 기존 방식: 기본 ObjectMapper를 호출마다 타입 레퍼런스로 사용 */
+  private final ObjectMapper plainMapper = new ObjectMapper()
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+  private final JsonSupport tuned = new JsonSupport(JsonSupport.createMapper(JsonProperties.builder().build()));
+
+  private final JsonSupport blackbird = new JsonSupport(
+      JsonSupport.createMapper(JsonProperties.builder().blackbird(true).build()));
+
+  @Test
+  @DisplayName("ChatCompletionResponse (SSE 청크) 디코딩")
+  void chatCompletionChunk() throws Exception {
+    final byte[] chunk = ("{\"id\":\"chatcmpl-7f3a\",\"object\":\"chat.completion.chunk\",\"created\":1760000000,"
+        + "\"model\":\"luxia-3-deepresearch\",\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\","
+        + "\"content\":\"근로기준법 제60조에 따르면 사용자는 1년간 80퍼센트 이상 출근한 근로자에게 \","
+        + "\"reasoning\":null},\"logprobs\":null,\"finish_reason\":null}],\"usage\":null,"
+        + "\"system_fingerprint\":\"fp_1\"}").getBytes(StandardCharsets.UTF_8);
+
+    final ChatCompletionResponse expected = plainMapper.readValue(chunk, CHAT_RESPONSE_TYPE);
+    assertThat(tuned.reader(ChatCompletionResponse.class).<ChatCompletionResponse>readValue(chunk))
+        .isEqualTo(expected);
+    assertThat(blackbird.reader(ChatCompletionResponse.class).<ChatCompletionResponse>readValue(chunk))
+        .isEqualTo(expected);
+
+    System.out.println("=== ChatCompletionResponse (" + chunk.length + " bytes) ===");
+    run("readValue(TypeReference)", () -> plainMapper.readValue(chunk, CHAT_RESPONSE_TYPE));
+    run("JsonSupport reader", reader(tuned.reader(ChatCompletionResponse.class), chunk));
+    run("JsonSupport reader + Blackbird", reader(blackbird.reader(ChatCompletionResponse.class), chunk));
+  }
+
+  @Test
+  @DisplayName("StatuteRetrieveResponse 디코딩")
+  void statuteRetrieveResponse() throws Exception {
+    final byte[] body = statuteResponse(30);
+
+    final WorkflowResponse<StatuteRetrieveResponse> expected = plainMapper.readValue(body, STATUTE_RESPONSE_TYPE);
+    assertThat(expected.getResult().getResults()).hasSize(30);
+    assertThat(tuned.reader(STATUTE_RESPONSE_TYPE).<WorkflowResponse<StatuteRetrieveResponse>>readValue(body))
+        .isEqualTo(expected);
+    assertThat(blackbird.reader(STATUTE_RESPONSE_TYPE).<WorkflowResponse<StatuteRetrieveResponse>>readValue(body))
+        .isEqualTo(expected);
+
+    System.out.println("=== WorkflowResponse<StatuteRetrieveResponse> (" + body.length + " bytes) ===");
+    run("readValue(TypeReference)", () -> plainMapper.readValue(body, STATUTE_RESPONSE_TYPE));
+    run("JsonSupport reader", reader(tuned.reader(STATUTE_RESPONSE_TYPE), body));
+    run("JsonSupport reader + Blackbird", reader(blackbird.reader(STATUTE_RESPONSE_TYPE), body));
+  }
+
+  private byte[] statuteResponse(final int size) throws Exception {
+    final List<Scored<StatuteChunk>> results = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      results.add(Scored.<StatuteChunk>builder()
+          .origins(List.of(
+              OriginInfo.builder().origin("dense").query("연차 유급휴가 사용 촉진").score(0.8123f - i * 0.01f)
+                  .rank(i + 1).build(),
+              OriginInfo.builder().origin("sparse").query("연차휴가 미사용 수당").score(12.5f - i * 0.3f)
+                  .rank(i + 2).build()))
+          .fusedScore(0.0327f - i * 0.0005f)
+          .fusedRank(i + 1)
+          .rerankedScore(0.9731f - i * 0.02f)
+          .rerankedRank(i + 1)
+          .data(StatuteChunk.builder()
+              .mst(265959 + i)
+              .efYd(20250223)
+              .key(i)
+              .docId("statute-" + i)
+              .chunkNo(i % 4)
+              .no(60)
+              .brNo(0)
+              .title("연차 유급휴가")
+              .rrCls("제정")
+              .content("① 사용자는 1년간 80퍼센트 이상 출근한 근로자에게 15일의 유급휴가를 주어야 한다. "
+                  + "② 사용자는 계속하여 근로한 기간이 1년 미만인 근로자 또는 1년간 80퍼센트 미만 출근한 근로자에게 "
+                  + "1개월 개근 시 1일의 유급휴가를 주어야 한다. ".repeat(3))
+              .lsId(1872)
+              .lsNm("근로기준법")
+              .ancNm(20520)
+              .ancYd(20241022)
+              .knd(List.of("법률"))
+              .org(List.of("고용노동부"))
+              .build())
+          .build());
+    }
+    final ObjectNode root = plainMapper.createObjectNode();
+    root.put("code", 0);
+    root.put("message", "success");
+    root.set("result", plainMapper.valueToTree(StatuteRetrieveResponse.builder().results(results).build()));
+    return plainMapper.writeValueAsBytes(root);
+  }
+
+  private static Decode reader(final ObjectReader reader, final byte[] body) {
+    return () -> reader.readValue(body);
+  }
+
+  /**
+   * 워밍업 후 라운드별 디코딩 시간을 측정하여 가장 빠른 라운드의 호출당 시간을 출력한다.
+   */
+  private static void run(final String name, final Decode decode) throws Exception {
+    Object sink = null;
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      for (int i = 0; i < OPERATIONS; i++) {
+        sink = decode.decode();
+      }
+    }
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < MEASURE_ROUNDS; round++) {
+      final long start = System.nanoTime();
+      for (int i = 0; i < OPERATIONS; i++) {
+        sink = decode.decode();
+      }
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    assertThat(sink).isNotNull();
+    System.out.printf("%-32s %,10d ns/op%n", name, best / OPERATIONS);
+  }
+
+  @FunctionalInterface
+  private interface Decode {
+    Object decode() throws Exception;
+  }
+}
@@ -0,0 +1,360 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.saltlux.workflow.core.common.LlmEndpointGroup.Lease;
+import com.saltlux.workflow.core.common.LlmEndpointGroupProperties.Balancing;
+
+@DisplayName("LlmEndpointGroup")
+class LlmEndpointGroupTest {
+
+  private static final String A = "http://a";
+
+  private static final String B = "http://b";
+
+  private static final String C = "http://c";
+
+  private final AtomicLong now = new AtomicLong(Duration.ofHours(1).toNanos());
+
+  /** 지정한 값을 순서대로 반환하는 난수 생성기 */
+  private static final class ScriptedRandom implements RandomGenerator {
+
+    private final Queue<Integer> values = new ArrayDeque<>();
+
+    ScriptedRandom then(final int... next) {
+      for (final int value : next) {
+        values.add(value);
+      }
+      return this;
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+      final int value = values.remove();
+      assertThat(value).isLessThan(bound);
+      return value;
+    }
+
+    @Override
+    public long nextLong() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private LlmEndpointGroup group(final LlmEndpointGroupProperties properties, final RandomGenerator random) {
+    return new LlmEndpointGroup(properties, now::get, () -> random);
+  }
+
+  private LlmEndpointGroup group(final LlmEndpointGroupProperties.LlmEndpointGroupPropertiesBuilder builder) {
+    return group(builder.build(), new Random(42));
+  }
+
+  private void advance(final Duration duration) {
+    now.addAndGet(duration.toNanos());
+  }
+
+  /** 지정한 복제본이 선택될 때까지 선택하고, 다른 복제본의 임대는 집계 없이 반납한다. */
+  private static Lease leaseOn(final LlmEndpointGroup group, final String baseUrl) {
+    final List<Lease> others = new ArrayList<>();
+    try {
+      for (int i = 0; i < 100; i++) {
+        final Lease lease = group.select();
+        if (lease.getBaseUrl().equals(baseUrl)) {
+          return lease;
+        }
+        others.add(lease);
+      }
+      throw new AssertionError("not selected: " + baseUrl);
+    } finally {
+      others.forEach(lease -> lease.release(new IllegalStateException("unused")));
+    }
+  }
+
+  private static void fail(final LlmEndpointGroup group, final String baseUrl, final int times) {
+    for (int i = 0; i < times; i++) {
+      leaseOn(group, baseUrl).release(new TimeoutException());
+    }
+  }
+
+  /** 임대를 반납하지 않고 여러 번 선택한 복제본 목록 */
+  private static List<String> selectHolding(final LlmEndpointGroup group, final int count) {
+    final List<String> selected = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      selected.add(group.select().getBaseUrl());
+    }
+    return selected;
+  }
+
+  @Test
+  @DisplayName("P2C는 임의로 고른 두 복제본 중 부하가 작은 쪽을 선택한다")
+  void powerOfTwoChoosesLessLoadedOfTwo() {
+    final ScriptedRandom random = new ScriptedRandom();
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.of(A, B, C), random);
+
+    // a와 b를 비교: 동률이면 먼저 고른 쪽
+    random.then(0, 0);
+    assertThat(group.select().getBaseUrl()).isEqualTo(A);
+    // a(1)와 b(0)를 비교
+    random.then(0, 0);
+    assertThat(group.select().getBaseUrl()).isEqualTo(B);
+    // a(1)와 b(1)를 비교: 유휴 상태인 c는 후보가 아니다
+    random.then(1, 0);
+    assertThat(group.select().getBaseUrl()).isEqualTo(B);
+    // c(0)와 a(1)를 비교
+    random.then(2, 0);
+    assertThat(group.select().getBaseUrl()).isEqualTo(C);
+
+    assertThat(group.getOutstanding(A)).isEqualTo(1);
+    assertThat(group.getOutstanding(B)).isEqualTo(2);
+    assertThat(group.getOutstanding(C)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("P2C는 다른 복제본보다 부하가 큰 복제본을 선택하지 않는다")
+  void powerOfTwoNeverChoosesUniqueMax() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder().endpoints(List.of(A, B, C)));
+    final Set<String> used = new HashSet<>();
+
+    for (int i = 0; i < 60; i++) {
+      final int max = Math.max(group.getOutstanding(A), Math.max(group.getOutstanding(B), group.getOutstanding(C)));
+      final long atMax = List.of(A, B, C).stream().filter(url -> group.getOutstanding(url) == max).count();
+      final String chosen = group.select().getBaseUrl();
+      used.add(chosen);
+      if (atMax == 1) {
+        assertThat(group.getOutstanding(chosen) - 1).isLessThan(max);
+      }
+    }
+    assertThat(used).containsExactlyInAnyOrder(A, B, C);
+  }
+
+  @Test
+  @DisplayName("연속 실패한 복제본은 제외되고 제외 시간이 지나면 다시 선택된다")
+  void ejectsAndReadmits() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder()
+        .endpoints(List.of(A, B, C))
+        .balancing(Balancing.LEAST_OUTSTANDING)
+        .consecutiveFailures(2)
+        .ejectionDuration(Duration.ofSeconds(10))
+        .slowStart(Duration.ZERO));
+
+    fail(group, A, 1);
+    assertThat(group.isEjected(A)).isFalse();
+    fail(group, A, 1);
+    assertThat(group.isEjected(A)).isTrue();
+    assertThat(selectHolding(group, 30)).doesNotContain(A);
+
+    advance(Duration.ofSeconds(10));
+    assertThat(group.isEjected(A)).isFalse();
+    // 제외 중에 쌓인 b, c의 부하보다 작으므로 a가 선택된다
+    assertThat(group.select().getBaseUrl()).isEqualTo(A);
+  }
+
+  @Test
+  @DisplayName("성공하면 연속 실패 횟수가 초기화되고, 집계 대상이 아닌 오류는 실패로 세지 않는다")
+  void resetsConsecutiveFailures() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder()
+        .endpoints(List.of(A, B))
+        .consecutiveFailures(2));
+
+    fail(group, A, 1);
+    leaseOn(group, A).release(null);
+    fail(group, A, 1);
+    leaseOn(group, A).release(new IllegalArgumentException("4xx"));
+
+    assertThat(group.isEjected(A)).isFalse();
+    assertThat(group.getOutstanding(A)).isZero();
+  }
+
+  @Test
+  @DisplayName("제외 비율 상한을 넘으면 더 제외하지 않는다")
+  void capsEjections() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder()
+        .endpoints(List.of(A, B, C))
+        .consecutiveFailures(1)
+        .maxEjectionPercent(0.5));
+
+    fail(group, A, 1);
+    fail(group, B, 3);
+
+    // floor(0.5 × 3) = 1개까지만 제외한다
+    assertThat(group.isEjected(A)).isTrue();
+    assertThat(group.isEjected(B)).isFalse();
+    assertThat(selectHolding(group, 20)).contains(B, C).doesNotContain(A);
+  }
+
+  @Test
+  @DisplayName("모든 복제본이 제외되면 제외 여부와 관계없이 선택한다 (fail-open)")
+  void failsOpenWhenAllEjected() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder()
+        .endpoints(List.of(A, B))
+        .consecutiveFailures(1)
+        .maxEjectionPercent(1.0));
+
+    fail(group, A, 1);
+    fail(group, B, 1);
+
+    assertThat(group.isEjected(A)).isTrue();
+    assertThat(group.isEjected(B)).isTrue();
+    assertThat(selectHolding(group, 10)).contains(A, B);
+  }
+
+  @Test
+  @DisplayName("복귀한 복제본은 slow start 동안 가중치가 점차 커진다")
+  void rampsUpAfterReadmission() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder()
+        .endpoints(List.of(A, B))
+        .balancing(Balancing.LEAST_OUTSTANDING)
+        .consecutiveFailures(1)
+        .ejectionDuration(Duration.ofSeconds(1))
+        .slowStart(Duration.ofSeconds(10))
+        .slowStartMinWeight(0.1));
+
+    fail(group, A, 1);
+    advance(Duration.ofSeconds(1));
+
+    // 복귀 직후 a의 가중치는 0.1이라 부하가 (0 + 1) / 0.1 = 10으로 계산된다
+    assertThat(selectHolding(group, 9)).containsOnly(B);
+
+    // 절반이 지나면 가중치 0.5, 부하 2로 b(10)보다 작다
+    advance(Duration.ofSeconds(5));
+    assertThat(group.select().getBaseUrl()).isEqualTo(A);
+    assertThat(group.select().getBaseUrl()).isEqualTo(A);
+    assertThat(group.select().getBaseUrl()).isEqualTo(A);
+
+    // slow start가 끝나면 진행 중인 요청 수만으로 비교한다
+    advance(Duration.ofSeconds(5));
+    assertThat(selectHolding(group, 6)).containsOnly(A);
+    assertThat(group.getOutstanding(A)).isEqualTo(9);
+    assertThat(group.getOutstanding(B)).isEqualTo(9);
+  }
+
+  /** 키마다 임대를 바로 반납하며 선택한 복제본 */
+  private static String owner(final LlmEndpointGroup group, final String key) {
+    final Lease lease = group.select(key);
+    lease.release(null);
+    return lease.getBaseUrl();
+  }
+
+  @Test
+  @DisplayName("같은 친화성 키는 같은 복제본으로 향하고 키들은 여러 복제본에 나뉜다")
+  void affinityKeySticksToNode() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder().endpoints(List.of(A, B, C)));
+    final Set<String> owners = new HashSet<>();
+
+    for (int i = 0; i < 50; i++) {
+      final String key = "conversation-" + i;
+      final String first = owner(group, key);
+      assertThat(owner(group, key)).isEqualTo(first);
+      assertThat(owner(group, key)).isEqualTo(first);
+      owners.add(first);
+    }
+    assertThat(owners).containsExactlyInAnyOrder(A, B, C);
+  }
+
+  @Test
+  @DisplayName("키의 복제본 부하가 평균 × affinityLoadFactor를 넘으면 다음 복제본으로 넘긴다")
+  void affinityKeySpillsOverUnderLoad() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder()
+        .endpoints(List.of(A, B, C))
+        .affinityLoadFactor(1.25));
+    final String key = "conversation";
+    final String home = owner(group, key);
+
+    // 전체 0건: 상한 ceil(1.25 × 1 / 3) = 1, home의 부하 1이므로 home
+    final Lease first = group.select(key);
+    assertThat(first.getBaseUrl()).isEqualTo(home);
+    // 전체 1건: 상한 ceil(1.25 × 2 / 3) = 1, home의 부하 2가 넘으므로 다른 복제본
+    final Lease second = group.select(key);
+    assertThat(second.getBaseUrl()).isNotEqualTo(home);
+
+    first.release(null);
+    second.release(null);
+    assertThat(owner(group, key)).isEqualTo(home);
+  }
+
+  @Test
+  @DisplayName("부하 상한을 크게 잡으면 부하가 몰려도 같은 복제본을 유지한다")
+  void affinityKeyStaysWithLargeLoadFactor() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder()
+        .endpoints(List.of(A, B, C))
+        .affinityLoadFactor(10));
+    final String home = owner(group, "conversation");
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(group.select("conversation").getBaseUrl()).isEqualTo(home);
+    }
+  }
+
+  @Test
+  @DisplayName("복제본이 빠져도 다른 복제본에 배치된 키는 그대로 유지된다")
+  void affinityKeysStayWhenEndpointRemoved() {
+    final LlmEndpointGroup full = group(LlmEndpointGroupProperties.builder().endpoints(List.of(A, B, C)));
+    final LlmEndpointGroup reduced = group(LlmEndpointGroupProperties.builder().endpoints(List.of(A, B)));
+    int moved = 0;
+
+    for (int i = 0; i < 1000; i++) {
+      final String key = "conversation-" + i;
+      final String before = owner(full, key);
+      final String after = owner(reduced, key);
+      if (before.equals(C)) {
+        moved++;
+        assertThat(after).isIn(A, B);
+      } else {
+        assertThat(after).isEqualTo(before);
+      }
+    }
+    // 빠진 복제본의 키(약 1/3)만 옮겨진다
+    assertThat(moved).isBetween(200, 470);
+  }
+
+  @Test
+  @DisplayName("제외된 복제본의 키만 링의 다음 복제본으로 옮겨지고 slow start가 끝나면 돌아온다")
+  void affinityKeysSkipEjectedEndpoint() {
+    final LlmEndpointGroup group = group(LlmEndpointGroupProperties.builder()
+        .endpoints(List.of(A, B, C))
+        .consecutiveFailures(1)
+        .ejectionDuration(Duration.ofSeconds(10))
+        .slowStart(Duration.ofSeconds(5)));
+    final List<String> keys = new ArrayList<>();
+    final List<String> owners = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      keys.add("conversation-" + i);
+      owners.add(owner(group, keys.get(i)));
+    }
+
+    fail(group, C, 1);
+    for (int i = 0; i < keys.size(); i++) {
+      final String owner = owner(group, keys.get(i));
+      if (owners.get(i).equals(C)) {
+        assertThat(owner).isNotEqualTo(C);
+      } else {
+        assertThat(owner).isEqualTo(owners.get(i));
+      }
+    }
+
+    // 복귀 직후에는 slow start 가중치로 부하 상한을 넘어 c의 키도 아직 옮겨진 상태다
+    advance(Duration.ofSeconds(10));
+    final int home = owners.indexOf(C);
+    assertThat(owner(group, keys.get(home))).isNotEqualTo(C);
+
+    advance(Duration.ofSeconds(5));
+    for (int i = 0; i < keys.size(); i++) {
+      assertThat(owner(group, keys.get(i))).isEqualTo(owners.get(i));
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("MicrometerWorkflowMetrics")
+class MicrometerWorkflowMetricsTest {
+
+  private static final String ENDPOINT = "http://llm";
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final MicrometerWorkflowMetrics metrics = new MicrometerWorkflowMetrics(registry);
+
+  /**
+   * 버킷 상한(밀리초)별 개수로 토큰 간 간격 히스토그램을 만든다. 상한이 null이면 마지막(상한 없음) 버킷이다.
+   */
+  private static StreamTimings timings(final Map<Long, Long> countsByBound, final Duration max) {
+    final List<Long> counts = new ArrayList<>(
+        Collections.nCopies(StreamTimings.GAP_BUCKET_BOUNDS_MILLIS.size() + 1, 0L));
+    countsByBound.forEach((bound, count) -> {
+      final int bucket = bound == null
+          ? StreamTimings.GAP_BUCKET_BOUNDS_MILLIS.size()
+          : StreamTimings.GAP_BUCKET_BOUNDS_MILLIS.indexOf(bound);
+      counts.set(bucket, count);
+    });
+    return StreamTimings.builder()
+        .interTokenGapCounts(counts)
+        .interTokenGapMaxNanos(max.toNanos())
+        .build();
+  }
+
+  private Timer timer(final String name) {
+    return registry.get(name).tag("endpoint", ENDPOINT).timer();
+  }
+
+  private Map<Double, Double> cumulativeBuckets(final Timer timer) {
+    return Arrays.stream(timer.takeSnapshot().histogramCounts())
+        .collect(Collectors.toMap(b -> b.bucket(TimeUnit.MILLISECONDS), CountAtBucket::count));
+  }
+
+  @Test
+  @DisplayName("스트림의 토큰 간 간격을 모두 같은 버킷에 기록한다")
+  void recordsEveryGapIntoBuckets() {
+    final Map<Long, Long> counts = new HashMap<>();
+    counts.put(1L, 3L);
+    counts.put(10L, 1L);
+    counts.put(null, 1L);
+    metrics.onLlmStreamTimings(ENDPOINT, timings(counts, Duration.ofMillis(3000)), null);
+
+    final Timer gaps = timer("workflow.llm.inter.token.gap");
+    assertThat(gaps.count()).isEqualTo(5);
+    assertThat(gaps.max(TimeUnit.MILLISECONDS)).isEqualTo(3000);
+    assertThat(cumulativeBuckets(gaps))
+        .containsEntry(1.0, 3.0)
+        .containsEntry(5.0, 3.0)
+        .containsEntry(10.0, 4.0)
+        .containsEntry(2000.0, 4.0);
+  }
+
+  @Test
+  @DisplayName("스트림이 쌓이면 간격 개수가 누적되고 스트림별 최대 간격도 기록한다")
+  void accumulatesAcrossStreams() {
+    metrics.onLlmStreamTimings(ENDPOINT, timings(Map.of(2L, 10L), Duration.ofMillis(2)), null);
+    metrics.onLlmStreamTimings(ENDPOINT, timings(Map.of(2L, 1L, 500L, 1L), Duration.ofMillis(300)), null);
+
+    final Timer gaps = timer("workflow.llm.inter.token.gap");
+    assertThat(gaps.count()).isEqualTo(12);
+    assertThat(cumulativeBuckets(gaps)).containsEntry(2.0, 11.0).containsEntry(500.0, 12.0);
+    // 버킷 상한이 스트림 최댓값보다 크면 최댓값으로 기록한다
+    assertThat(gaps.max(TimeUnit.MILLISECONDS)).isEqualTo(300);
+
+    final Timer max = timer("workflow.llm.inter.token.gap.max");
+    assertThat(max.count()).isEqualTo(2);
+    assertThat(max.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(302);
+  }
+
+  @Test
+  @DisplayName("간격이 없는 스트림은 간격을 기록하지 않는다")
+  void skipsStreamsWithoutGaps() {
+    metrics.onLlmStreamTimings(ENDPOINT, StreamTimings.builder().build(), null);
+
+    assertThat(registry.find("workflow.llm.inter.token.gap").timer()).isNull();
+    assertThat(registry.find("workflow.llm.inter.token.gap.max").timer()).isNull();
+  }
+}
@@ -0,0 +1,210 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@DisplayName("RefreshAheadCache")
+class RefreshAheadCacheTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  /** 로딩마다 만든 응답 (테스트에서 직접 완료시킨다) */
+  private final List<Sinks.One<String>> loads = new ArrayList<>();
+
+  /** 현재 시각 (나노초, 테스트에서 직접 진행시킨다) */
+  private final AtomicLong now = new AtomicLong();
+
+  private final RefreshAheadCache<String, String> cache = new RefreshAheadCache<>(
+      CacheProperties.builder()
+          .ttl(Duration.ofSeconds(10))
+          .refreshAfter(Duration.ofSeconds(8))
+          .staleIfError(Duration.ofSeconds(60))
+          .build(),
+      key -> {
+        final Sinks.One<String> sink = Sinks.one();
+        loads.add(sink);
+        return sink.asMono();
+      },
+      now::get);
+
+  private void complete(final int load, final String value) {
+    loads.get(load).tryEmitValue(value);
+  }
+
+  private void fail(final int load) {
+    loads.get(load).tryEmitError(new IllegalStateException("load failed"));
+  }
+
+  private void advance(final Duration duration) {
+    now.addAndGet(duration.toNanos());
+  }
+
+  /** 첫 로딩을 완료하여 값을 캐시한다. */
+  private void cached(final String value) {
+    cache.get("k").subscribe();
+    complete(loads.size() - 1, value);
+  }
+
+  @Test
+  @DisplayName("동시 조회는 하나의 로딩으로 합쳐지고 결과가 캐시된다")
+  void sharesLoadAndCaches() {
+    final List<String> results = new ArrayList<>();
+    cache.get("k").subscribe(results::add);
+    cache.get("k").subscribe(results::add);
+    complete(0, "v1");
+
+    assertThat(results).containsExactly("v1", "v1");
+    assertThat(cache.get("k").block(TIMEOUT)).isEqualTo("v1");
+    assertThat(loads).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("로딩 중 invalidate하면 이전 로딩의 값은 저장되지 않는다")
+  void invalidateDropsInFlightLoad() {
+    final List<String> results = new ArrayList<>();
+    cache.get("k").subscribe(results::add);
+
+    cache.invalidate("k");
+    complete(0, "stale");
+
+    // 기다리던 호출자는 결과를 받는다
+    assertThat(results).containsExactly("stale");
+
+    final List<String> next = new ArrayList<>();
+    cache.get("k").subscribe(next::add);
+    assertThat(loads).hasSize(2);
+    complete(1, "fresh");
+    assertThat(next).containsExactly("fresh");
+    assertThat(cache.get("k").block(TIMEOUT)).isEqualTo("fresh");
+  }
+
+  @Test
+  @DisplayName("로딩 중 invalidateAll하면 이전 로딩의 값은 저장되지 않는다")
+  void invalidateAllDropsInFlightLoad() {
+    cache.get("a").subscribe();
+    cache.get("b").subscribe();
+
+    cache.invalidateAll();
+    complete(0, "stale-a");
+    complete(1, "stale-b");
+
+    cache.get("a").subscribe();
+    cache.get("b").subscribe();
+    assertThat(loads).hasSize(4);
+  }
+
+  @Test
+  @DisplayName("무효화된 로딩이 늦게 끝나도 새 로딩을 방해하지 않는다")
+  void staleLoadDoesNotReplaceNewLoad() {
+    cache.get("k").subscribe();
+    cache.invalidate("k");
+    final Mono<String> next = cache.get("k");
+    next.subscribe();
+
+    // 이전 로딩이 끝나도 새 로딩은 loading에 남아 있어 합쳐져야 한다
+    complete(0, "stale");
+    final Mono<String> joined = cache.get("k");
+    assertThat(loads).hasSize(2);
+
+    complete(1, "fresh");
+    assertThat(joined.block(TIMEOUT)).isEqualTo("fresh");
+    assertThat(cache.get("k").block(TIMEOUT)).isEqualTo("fresh");
+    assertThat(loads).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("refreshAfter 전에는 로딩 없이 캐시된 값을 반환한다")
+  void servesFreshValueWithoutLoading() {
+    cached("v1");
+    advance(Duration.ofSeconds(7));
+
+    assertThat(cache.get("k").block(TIMEOUT)).isEqualTo("v1");
+    assertThat(loads).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("refreshAfter가 지나면 만료 전에 캐시된 값을 반환하면서 백그라운드로 갱신한다")
+  void refreshesAheadOfExpiry() {
+    cached("v1");
+    advance(Duration.ofSeconds(9));
+
+    assertThat(cache.get("k").block(TIMEOUT)).isEqualTo("v1");
+    assertThat(loads).hasSize(2);
+    // 갱신이 진행 중이면 추가 조회는 갱신을 다시 시작하지 않는다
+    assertThat(cache.get("k").block(TIMEOUT)).isEqualTo("v1");
+    assertThat(loads).hasSize(2);
+
+    complete(1, "v2");
+    advance(Duration.ofSeconds(7));
+
+    // 갱신한 시점부터 다시 계산하므로 로딩 없이 새 값을 반환한다
+    assertThat(cache.get("k").block(TIMEOUT)).isEqualTo("v2");
+    assertThat(loads).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("백그라운드 갱신이 실패해도 만료 전까지 캐시된 값을 반환한다")
+  void keepsValueWhenRefreshFails() {
+    cached("v1");
+    advance(Duration.ofSeconds(9));
+    cache.get("k").block(TIMEOUT);
+
+    fail(1);
+
+    assertThat(cache.get("k").block(TIMEOUT)).isEqualTo("v1");
+    assertThat(loads).hasSize(3);
+  }
+
+  @Test
+  @DisplayName("TTL이 지나면 캐시된 값을 반환하지 않고 새로 로딩한 값을 기다린다")
+  void reloadsAfterTtl() {
+    cached("v1");
+    advance(Duration.ofSeconds(10));
+
+    final List<String> results = new ArrayList<>();
+    cache.get("k").subscribe(results::add);
+
+    assertThat(results).isEmpty();
+    assertThat(loads).hasSize(2);
+    complete(1, "v2");
+    assertThat(results).containsExactly("v2");
+  }
+
+  @Test
+  @DisplayName("TTL이 지난 뒤 로딩이 실패하면 staleIfError 동안 이전 값을 반환한다")
+  void servesStaleValueOnError() {
+    cached("v1");
+    advance(Duration.ofSeconds(69));
+
+    final List<String> results = new ArrayList<>();
+    cache.get("k").subscribe(results::add);
+    fail(1);
+
+    assertThat(results).containsExactly("v1");
+  }
+
+  @Test
+  @DisplayName("staleIfError도 지났으면 로딩 오류를 그대로 전달한다")
+  void propagatesErrorAfterStaleLimit() {
+    cached("v1");
+    advance(Duration.ofSeconds(70));
+
+    final List<Throwable> errors = new ArrayList<>();
+    cache.get("k").subscribe(value -> { }, errors::add);
+    fail(1);
+
+    assertThat(errors).singleElement()
+        .isInstanceOf(IllegalStateException.class)
+        .extracting(Throwable::getMessage).isEqualTo("load failed");
+  }
+}
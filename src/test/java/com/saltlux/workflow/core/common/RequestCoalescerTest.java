@@ -0,0 +1,159 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+@DisplayName("RequestCoalescer")
+class RequestCoalescerTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private final RequestCoalescer coalescer = new RequestCoalescer();
+
+  private static RequestCoalescer.Key key(final String body) {
+    return RequestCoalescer.key("/flow/", String.class, body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("같은 키의 동시 요청은 한 번만 교환하고 결과를 공유한다")
+  void sharesResult() {
+    final AtomicInteger exchanges = new AtomicInteger();
+    final Sinks.One<String> response = Sinks.one();
+    final List<SignalType> signals = new ArrayList<>();
+
+    final Mono<String> first = coalescer.coalesce(key("a"), () -> {
+      exchanges.incrementAndGet();
+      return response.asMono().doFinally(signals::add);
+    });
+    final Mono<String> second = coalescer.coalesce(key("a"), () -> {
+      exchanges.incrementAndGet();
+      return Mono.just("other");
+    });
+
+    final List<String> results = new ArrayList<>();
+    first.subscribe(results::add);
+    second.subscribe(results::add);
+    response.tryEmitValue("result");
+
+    assertThat(results).containsExactly("result", "result");
+    assertThat(exchanges).hasValue(1);
+    // 결과를 받은 구독자가 있어도 원본은 취소되지 않고 정상 완료되어야 한다
+    assertThat(signals).containsExactly(SignalType.ON_COMPLETE);
+  }
+
+  @Test
+  @DisplayName("비동기 교환도 원본을 취소하지 않고 완료시킨다")
+  void doesNotCancelUpstream() {
+    final List<SignalType> signals = new ArrayList<>();
+    // doFinally는 구독자가 결과를 받은 뒤 실행될 수 있으므로 결과 전달 전에 실행되는 훅으로 기록한다
+    final Mono<String> exchange = Mono.delay(Duration.ofMillis(20))
+        .map(tick -> "result")
+        .doOnSuccess(value -> signals.add(SignalType.ON_COMPLETE))
+        .doOnCancel(() -> signals.add(SignalType.CANCEL));
+
+    final Mono<String> first = coalescer.coalesce(key("a"), () -> exchange);
+    final Mono<String> second = coalescer.coalesce(key("a"), () -> exchange);
+
+    assertThat(Mono.zip(first, second).block(TIMEOUT).getT2()).isEqualTo("result");
+    assertThat(signals).containsExactly(SignalType.ON_COMPLETE);
+  }
+
+  @Test
+  @DisplayName("교환이 끝나면 키가 제거되어 다음 요청은 새로 교환한다")
+  void removesAfterCompletion() {
+    final AtomicInteger exchanges = new AtomicInteger();
+
+    assertThat(coalescer.coalesce(key("a"), () -> Mono.fromCallable(() -> "r" + exchanges.incrementAndGet()))
+        .block(TIMEOUT)).isEqualTo("r1");
+    assertThat(coalescer.inFlightCount()).isZero();
+
+    assertThat(coalescer.coalesce(key("a"), () -> Mono.fromCallable(() -> "r" + exchanges.incrementAndGet()))
+        .block(TIMEOUT)).isEqualTo("r2");
+    assertThat(coalescer.inFlightCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("결과를 전달하기 전에 키가 제거되어 결과를 받은 직후의 요청은 새로 교환한다")
+  void removesBeforeDeliveringResult() {
+    final List<Integer> inFlightOnResult = new ArrayList<>();
+
+    coalescer.coalesce(key("a"), () -> Mono.just("r1"))
+        .doOnNext(value -> inFlightOnResult.add(coalescer.inFlightCount()))
+        .block(TIMEOUT);
+    coalescer.coalesce(key("a"), () -> Mono.<String>error(new IllegalStateException("boom")))
+        .doOnError(e -> inFlightOnResult.add(coalescer.inFlightCount()))
+        .onErrorResume(e -> Mono.empty())
+        .block(TIMEOUT);
+
+    assertThat(inFlightOnResult).containsExactly(0, 0);
+  }
+
+  @Test
+  @DisplayName("실패한 교환도 키가 제거된다")
+  void removesAfterError() {
+    final Mono<String> failed = coalescer.coalesce(key("a"), () -> Mono.error(new IllegalStateException("boom")));
+
+    assertThat(failed.onErrorResume(e -> Mono.just(e.getMessage())).block(TIMEOUT)).isEqualTo("boom");
+    assertThat(coalescer.inFlightCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("모든 구독자가 취소하면 원본도 취소되고 키가 제거된다")
+  void cancelsWhenAllSubscribersCancel() {
+    final List<SignalType> signals = new ArrayList<>();
+    final Mono<String> shared = coalescer.coalesce(key("a"),
+        () -> Mono.<String>never().doFinally(signals::add));
+
+    final Disposable first = shared.subscribe();
+    final Disposable second = shared.subscribe();
+    first.dispose();
+    assertThat(signals).isEmpty();
+
+    second.dispose();
+    assertThat(signals).containsExactly(SignalType.CANCEL);
+    assertThat(coalescer.inFlightCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("키가 다르면 각각 교환한다")
+  void differentKeys() {
+    final AtomicInteger exchanges = new AtomicInteger();
+    final Sinks.One<String> response = Sinks.one();
+
+    coalescer.coalesce(key("a"), () -> {
+      exchanges.incrementAndGet();
+      return response.asMono();
+    }).subscribe();
+    coalescer.coalesce(key("b"), () -> {
+      exchanges.incrementAndGet();
+      return response.asMono();
+    }).subscribe();
+
+    assertThat(exchanges).hasValue(2);
+    assertThat(coalescer.inFlightCount()).isEqualTo(2);
+    response.tryEmitValue("result");
+    assertThat(coalescer.inFlightCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("플로우 경로의 앞뒤 '/'는 키에서 무시된다")
+  void normalizesPath() {
+    final byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+    assertThat(RequestCoalescer.key("/flow/", String.class, body))
+        .isEqualTo(RequestCoalescer.key("flow", String.class, body));
+  }
+}
@@ -0,0 +1,52 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TokenEstimator")
+class TokenEstimatorTest {
+
+  private static int estimate(final String text) {
+    return TokenEstimator.DEFAULT.estimate(text);
+  }
+
+  @Test
+  @DisplayName("null과 빈 문자열은 0토큰이다")
+  void empty() {
+    assertThat(estimate(null)).isZero();
+    assertThat(estimate("")).isZero();
+  }
+
+  @Test
+  @DisplayName("영문/숫자와 공백은 4글자당 1토큰으로 올림 계산한다")
+  void asciiLettersAndWhitespace() {
+    assertThat(estimate("a")).isEqualTo(1);
+    assertThat(estimate("abcd")).isEqualTo(1);
+    assertThat(estimate("abcd1")).isEqualTo(2);
+    assertThat(estimate("ab  cd\n\t")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("기호는 2글자당 1토큰이다")
+  void asciiSymbols() {
+    assertThat(estimate("<>")).isEqualTo(1);
+    assertThat(estimate("<a>")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("한글과 한자는 글자당 1토큰이다")
+  void cjk() {
+    assertThat(estimate("민법")).isEqualTo(2);
+    assertThat(estimate("民法 제1조")).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("같은 텍스트를 이어 붙이면 토큰 수도 대략 합쳐진다")
+  void additive() {
+    final String text = "<document id=\"statute-1\">민법 제750조 불법행위</document>";
+
+    assertThat(estimate(text + text)).isBetween(2 * estimate(text) - 1, 2 * estimate(text));
+  }
+}
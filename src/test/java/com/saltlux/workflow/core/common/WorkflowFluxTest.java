@@ -0,0 +1,146 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import reactor.core.publisher.BaseSubscriber;
+
+@DisplayName("WorkflowFlux")
+class WorkflowFluxTest {
+
+  private final AtomicReference<WorkflowContext<String>> contextRef = new AtomicReference<>();
+
+  private final AtomicInteger produced = new AtomicInteger();
+
+  private final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+  /**
+   * 별도 스레드에서 {@code count}개의 항목을 보내는 워크플로우를 구독한다. 생산 스레드는 완료하지 않는다.
+   */
+  private CompletableFuture<Void> subscribe(final int count) {
+    final CompletableFuture<Void> producer = new CompletableFuture<>();
+    WorkflowFlux.<String>from(listener -> {
+      final WorkflowContext<String> context = new WorkflowContext<>(listener);
+      contextRef.set(context);
+      CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < count; i++) {
+          context.emitNext("item-" + i);
+          produced.incrementAndGet();
+        }
+      }).whenComplete((v, e) -> producer.complete(null));
+      return context;
+    }).subscribe(subscriber);
+    return producer;
+  }
+
+  private void awaitProduced(final int expected) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (produced.get() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    // 더 생산되지 않는지 잠시 확인한다
+    Thread.sleep(100);
+    assertThat(produced.get()).isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("느린 구독자는 요청한 개수만큼만 생산하게 한다")
+  void slowSubscriberThrottlesProducer() throws Exception {
+    final CompletableFuture<Void> producer = subscribe(5);
+
+    awaitProduced(0);
+    subscriber.request(2);
+    awaitProduced(2);
+
+    assertThat(subscriber.items).containsExactly("item-0", "item-1");
+    assertThat(producer).isNotDone();
+
+    subscriber.request(3);
+    producer.get(5, TimeUnit.SECONDS);
+    assertThat(subscriber.items).containsExactly("item-0", "item-1", "item-2", "item-3", "item-4");
+  }
+
+  @Test
+  @DisplayName("생산 스레드가 대기하는 동안에도 context 잠금은 잡혀 있지 않다")
+  void waitingProducerDoesNotHoldContextLock() throws Exception {
+    subscribe(2);
+    subscriber.request(1);
+    awaitProduced(1);
+
+    // 잠금을 잡고 대기한다면 다른 스레드의 setResult/emitComplete가 막힌다
+    CompletableFuture.runAsync(() -> {
+      contextRef.get().setResult("result");
+      contextRef.get().emitComplete();
+    }).get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("구독을 취소하면 대기 중인 생산 스레드를 깨우고 워크플로우를 취소한다")
+  void cancelReleasesBlockedProducer() throws Exception {
+    final CompletableFuture<Void> producer = subscribe(5);
+    subscriber.request(1);
+    awaitProduced(1);
+
+    subscriber.cancel();
+
+    producer.get(5, TimeUnit.SECONDS);
+    assertThat(contextRef.get().isCancelled()).isTrue();
+    assertThat(subscriber.items).containsExactly("item-0");
+  }
+
+  @Test
+  @DisplayName("요청량이 없을 때 완료되어도 최종 결과를 다음 요청에 전달하고 대기 중인 생산 스레드를 깨운다")
+  void deliversResultWithoutDemand() throws Exception {
+    final CompletableFuture<Void> producer = subscribe(3);
+    subscriber.request(1);
+    awaitProduced(1);
+
+    final WorkflowContext<String> context = contextRef.get();
+    context.setResult("result");
+    context.emitComplete();
+
+    producer.get(5, TimeUnit.SECONDS);
+    assertThat(subscriber.completed.getCount()).isEqualTo(1);
+    assertThat(subscriber.items).containsExactly("item-0");
+
+    subscriber.request(1);
+
+    assertThat(subscriber.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    // 완료 뒤 깨어난 생산 스레드의 항목은 버려지고 최종 결과만 전달된다
+    assertThat(subscriber.items).containsExactly("item-0", "result");
+  }
+
+  private static final class RecordingSubscriber extends BaseSubscriber<String> {
+
+    private final List<String> items = Collections.synchronizedList(new ArrayList<>());
+
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    @Override
+    protected void hookOnSubscribe(final Subscription subscription) {
+      // 테스트가 직접 요청한다
+    }
+
+    @Override
+    protected void hookOnNext(final String value) {
+      items.add(value);
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      completed.countDown();
+    }
+  }
+}
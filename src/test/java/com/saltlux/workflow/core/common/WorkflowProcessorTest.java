@@ -0,0 +1,376 @@
+package com.saltlux.workflow.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.saltlux.workflow.core.common.WorkflowExceptions.CircuitOpenException;
+import com.saltlux.workflow.core.common.WorkflowExceptions.WorkflowClientException;
+import com.saltlux.workflow.core.common.WorkflowExceptions.WorkflowException;
+import com.saltlux.workflow.core.payload.WorkflowResponse;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+@DisplayName("WorkflowProcessor")
+class WorkflowProcessorTest {
+
+  private static final String FLOW = "test-flow";
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private static final Duration OPEN_DURATION = Duration.ofMillis(100);
+
+  /** 느린 응답의 지연 시간 */
+  private static final Duration SLOW = Duration.ofSeconds(2);
+
+  private static final Duration HEDGE_DELAY = Duration.ofMillis(300);
+
+  private static final ParameterizedTypeReference<WorkflowResponse<String>> STRING_RESPONSE_TYPE = new ParameterizedTypeReference<>() {
+  };
+
+  /** 응답 상태 (200이면 정상 응답) */
+  private final AtomicInteger status = new AtomicInteger(200);
+
+  /** 서버가 받은 요청 수 */
+  private final AtomicInteger requests = new AtomicInteger();
+
+  /** 지연시킬 요청 순번 (1부터, 0이면 지연 없음) */
+  private final AtomicInteger slowRequest = new AtomicInteger();
+
+  private WorkflowProcessor processor(final WorkflowClientOptions options) {
+    return processor(options, request -> {
+      final int n = requests.incrementAndGet();
+      final Mono<ClientResponse> response = Mono.fromSupplier(() -> response(status.get()));
+      return n == slowRequest.get() ? response.delayElement(SLOW) : response;
+    });
+  }
+
+  private static ClientResponse response(final int code) {
+    return ClientResponse.create(HttpStatus.valueOf(code))
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .body(code == 200 ? "{\"code\":0,\"message\":\"ok\",\"result\":\"value\"}" : "")
+        .build();
+  }
+
+  private static WorkflowProcessor processor(final WorkflowClientOptions options, final ExchangeFunction exchange) {
+    return new WorkflowProcessor(WebClient.builder().exchangeFunction(exchange), "http://workflow", "key",
+        JsonSupport.createMapper(JsonProperties.builder().build()), options);
+  }
+
+  private static WorkflowClientOptions.WorkflowClientOptionsBuilder options(final FlowPolicy policy) {
+    return WorkflowClientOptions.builder()
+        .flowPolicies(Map.of(FLOW, policy));
+  }
+
+  private static FlowPolicy breakerPolicy() {
+    return FlowPolicy.builder()
+        .coalesce(true)
+        .retry(RetryProperties.none())
+        .circuitBreaker(CircuitBreakerProperties.builder()
+            .windowSize(4)
+            .minimumCalls(2)
+            .failureRateThreshold(0.5)
+            .openDuration(OPEN_DURATION)
+            .halfOpenPermits(1)
+            .build())
+        .build();
+  }
+
+  private String call(final WorkflowProcessor processor) {
+    return processor.getResultAsync(FLOW, Map.of("q", "same"), STRING_RESPONSE_TYPE).block(TIMEOUT);
+  }
+
+  @Test
+  @DisplayName("요청 병합 중에도 서킷이 CLOSED → OPEN → HALF_OPEN → CLOSED로 전이한다")
+  void circuitBreakerTransitionsWithCoalescing() throws InterruptedException {
+    final WorkflowProcessor processor = processor(options(breakerPolicy()).build());
+
+    // CLOSED: 성공 응답
+    assertThat(call(processor)).isEqualTo("value");
+    assertThat(processor.isCircuitOpen(FLOW)).isFalse();
+
+    // CLOSED → OPEN: 실패율 2/3 (최소 호출 수 2)
+    status.set(503);
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+    assertThat(processor.isCircuitOpen(FLOW)).isTrue();
+
+    // OPEN: 요청을 보내지 않고 즉시 실패
+    final int sent = requests.get();
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(CircuitOpenException.class);
+    assertThat(requests).hasValue(sent);
+
+    // OPEN → HALF_OPEN → CLOSED: 대기 후 시험 요청 성공
+    Thread.sleep(OPEN_DURATION.toMillis() + 50);
+    status.set(200);
+    assertThat(call(processor)).isEqualTo("value");
+    assertThat(processor.isCircuitOpen(FLOW)).isFalse();
+
+    // CLOSED라면 새 윈도우로 집계되어 실패 한 번으로는 열리지 않는다 (HALF_OPEN이었다면 바로 열린다)
+    status.set(503);
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+    assertThat(processor.isCircuitOpen(FLOW)).isFalse();
+    status.set(200);
+    assertThat(call(processor)).isEqualTo("value");
+  }
+
+  @Test
+  @DisplayName("병합된 성공 요청은 오류 없이 계측된다")
+  void metricsReportSuccessWithCoalescing() {
+    final AtomicInteger ends = new AtomicInteger();
+    final AtomicReference<Throwable> reported = new AtomicReference<>();
+    final AtomicInteger reportedStatus = new AtomicInteger();
+    final WorkflowMetrics metrics = new WorkflowMetrics() {
+      @Override
+      public void onFlowEnd(final String flowPath, final long latencyNanos, final long requestBytes,
+          final long responseBytes, final int status, final Throwable error) {
+        ends.incrementAndGet();
+        reportedStatus.set(status);
+        reported.set(error);
+      }
+    };
+    final WorkflowProcessor processor = processor(
+        options(FlowPolicy.builder().coalesce(true).build()).metrics(metrics).build());
+
+    assertThat(call(processor)).isEqualTo("value");
+
+    assertThat(ends).hasValue(1);
+    assertThat(reportedStatus).hasValue(200);
+    assertThat(reported.get()).isNull();
+  }
+
+  @Test
+  @DisplayName("실패한 요청은 오류와 함께 계측된다")
+  void metricsReportFailure() {
+    final AtomicReference<Throwable> reported = new AtomicReference<>();
+    final WorkflowMetrics metrics = new WorkflowMetrics() {
+      @Override
+      public void onFlowEnd(final String flowPath, final long latencyNanos, final long requestBytes,
+          final long responseBytes, final int status, final Throwable error) {
+        reported.set(error);
+      }
+    };
+    final WorkflowProcessor processor = processor(
+        options(FlowPolicy.builder().retry(RetryProperties.none()).build()).metrics(metrics).build());
+    status.set(503);
+
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+    assertThat(reported.get()).isNotNull().isNotInstanceOf(CancellationException.class);
+  }
+
+  @Test
+  @DisplayName("분류되지 않은 예외는 WorkflowClientException으로 감싼다")
+  void wrapsUnexpectedError() {
+    final IllegalStateException cause = new IllegalStateException("boom");
+    final WorkflowProcessor processor = processor(
+        options(FlowPolicy.defaults()).build(), request -> Mono.error(cause));
+
+    assertThatThrownBy(() -> call(processor))
+        .isInstanceOf(WorkflowClientException.class)
+        .hasMessage("Unexpected error")
+        .hasCause(cause);
+  }
+
+  @Test
+  @DisplayName("워크플로우 서버가 돌려준 오류는 그대로 전달한다")
+  void passesWorkflowExceptionThrough() {
+    final WorkflowProcessor processor = processor(options(FlowPolicy.defaults()).build(),
+        request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body("{\"code\":7,\"message\":\"bad\",\"result\":null}")
+            .build()));
+
+    assertThatThrownBy(() -> call(processor))
+        .isInstanceOf(WorkflowException.class)
+        .isNotInstanceOf(WorkflowClientException.class);
+  }
+
+  private static long elapsedMillis(final long startNanos) {
+    return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+  }
+
+  private static FlowPolicy hedgePolicy() {
+    return FlowPolicy.builder()
+        .hedge(true)
+        .hedgeDelay(HEDGE_DELAY)
+        .circuitBreaker(CircuitBreakerProperties.builder()
+            .windowSize(4)
+            .minimumCalls(2)
+            .failureRateThreshold(0.5)
+            .openDuration(Duration.ofMinutes(1))
+            .build())
+        .build();
+  }
+
+  @Test
+  @DisplayName("1차 요청이 hedge 대기 시간 안에 응답하지 않으면 hedge 요청의 응답을 사용한다")
+  void hedgeRacesSlowPrimary() {
+    final WorkflowProcessor processor = processor(options(hedgePolicy()).build());
+    slowRequest.set(1);
+
+    final long start = System.nanoTime();
+    assertThat(call(processor)).isEqualTo("value");
+
+    assertThat(elapsedMillis(start)).isLessThan(SLOW.toMillis());
+    assertThat(requests).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("서킷이 열려 있으면 hedge 대기 없이 즉시 실패한다")
+  void hedgeSkippedWhenCircuitOpen() {
+    final WorkflowProcessor processor = processor(options(hedgePolicy()).build());
+    status.set(503);
+    while (!processor.isCircuitOpen(FLOW)) {
+      assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+    }
+    final int sent = requests.get();
+
+    final long start = System.nanoTime();
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(CircuitOpenException.class);
+
+    assertThat(elapsedMillis(start)).isLessThan(HEDGE_DELAY.toMillis() / 2);
+    assertThat(requests).hasValue(sent);
+  }
+
+  @Test
+  @DisplayName("재시도 대상이 아닌 응답(4xx)으로 실패하면 hedge 요청을 보내지 않는다")
+  void hedgeSkippedOnClientError() throws InterruptedException {
+    final WorkflowProcessor processor = processor(options(hedgePolicy()).build());
+    status.set(400);
+
+    final long start = System.nanoTime();
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+
+    assertThat(elapsedMillis(start)).isLessThan(HEDGE_DELAY.toMillis() / 2);
+    Thread.sleep(HEDGE_DELAY.toMillis() + 100);
+    assertThat(requests).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("hedgeDelay를 지정하지 않으면 관측 p95 지연 시간 후 hedge 요청을 보낸다")
+  void hedgeDelayUsesObservedPercentile() {
+    final FlowPolicy policy = FlowPolicy.builder()
+        .hedge(true)
+        .hedgeFallbackDelay(Duration.ofSeconds(30))
+        .minHedgeDelay(Duration.ofMillis(20))
+        .build();
+    final WorkflowProcessor processor = processor(options(policy).build());
+
+    // 표본이 부족하면 fallback 대기 시간을 사용하므로 느린 1차 요청을 그대로 기다린다
+    slowRequest.set(1);
+    assertThat(call(processor)).isEqualTo("value");
+    assertThat(requests).hasValue(1);
+
+    // 빠른 응답 표본이 쌓이면 p95(하한 minHedgeDelay) 후 hedge 요청을 보낸다
+    for (int i = 0; i < LatencyTracker.MIN_SAMPLES; i++) {
+      call(processor);
+    }
+    slowRequest.set(requests.get() + 1);
+    final long start = System.nanoTime();
+    assertThat(call(processor)).isEqualTo("value");
+
+    assertThat(elapsedMillis(start)).isLessThan(SLOW.toMillis() / 2);
+    assertThat(requests).hasValue(LatencyTracker.MIN_SAMPLES + 3);
+  }
+
+  @Test
+  @DisplayName("재시도 대상 응답만 최대 시도 횟수까지 재시도한다")
+  void retriesOnlyRetryableErrors() {
+    final FlowPolicy policy = FlowPolicy.builder()
+        .retry(RetryProperties.builder()
+            .maxAttempts(3)
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(5))
+            .build())
+        .build();
+    final WorkflowProcessor processor = processor(options(policy).build());
+
+    status.set(503);
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+    assertThat(requests).hasValue(3);
+
+    requests.set(0);
+    status.set(400);
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+    assertThat(requests).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("기본 정책은 재시도하지 않는다")
+  void doesNotRetryByDefault() {
+    final WorkflowProcessor processor = processor(WorkflowClientOptions.defaults());
+    status.set(503);
+
+    assertThatThrownBy(() -> call(processor)).isInstanceOf(WorkflowClientException.class);
+    assertThat(requests).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("요청 병합은 플로우 정책에서 켠 경우에만 적용된다")
+  void coalescesOnlyWhenPolicyOptsIn() {
+    assertThat(concurrentIdenticalCalls(FlowPolicy.defaults())).isEqualTo(2);
+    assertThat(concurrentIdenticalCalls(FlowPolicy.builder().coalesce(true).build())).isEqualTo(1);
+  }
+
+  /**
+   * 응답을 붙잡아 둔 채 같은 요청을 동시에 두 번 보내고 서버가 받은 요청 수를 반환한다.
+   */
+  private int concurrentIdenticalCalls(final FlowPolicy policy) {
+    final AtomicInteger received = new AtomicInteger();
+    final Sinks.Empty<Void> gate = Sinks.empty();
+    final WorkflowProcessor processor = processor(options(policy).build(), request -> {
+      received.incrementAndGet();
+      return gate.asMono().then(Mono.fromSupplier(() -> response(200)));
+    });
+
+    final Mono<String> first = processor.getResultAsync(FLOW, Map.of("q", "same"), STRING_RESPONSE_TYPE);
+    final Mono<String> second = processor.getResultAsync(FLOW, Map.of("q", "same"), STRING_RESPONSE_TYPE);
+    final Mono<Tuple2<String, String>> both = Mono.zip(first, second).cache();
+    both.subscribe();
+    gate.tryEmitEmpty();
+
+    assertThat(both.block(TIMEOUT)).isEqualTo(Tuples.of("value", "value"));
+    return received.get();
+  }
+
+  @Test
+  @DisplayName("플로우 정책 키의 앞뒤 '/'는 무시된다")
+  void normalizesFlowPolicyKeys() {
+    final FlowPolicy policy = FlowPolicy.builder().hedge(true).build();
+    final WorkflowClientOptions options = WorkflowClientOptions.builder()
+        .flowPolicies(Map.of("/" + FLOW + "/", policy))
+        .build();
+
+    assertThat(options.flowPolicy(FLOW)).isSameAs(policy);
+    assertThat(options.flowPolicy("/" + FLOW)).isSameAs(policy);
+    assertThat(options.flowPolicy("other")).isSameAs(options.getDefaultFlowPolicy());
+  }
+
+  @Test
+  @DisplayName("정규화 후 같은 경로가 되는 플로우 정책 키는 생성 시점에 거부한다")
+  void rejectsDuplicateFlowPolicyKeys() {
+    final WorkflowClientOptions options = WorkflowClientOptions.builder()
+        .flowPolicies(Map.of(FLOW, FlowPolicy.defaults(), "/" + FLOW, FlowPolicy.defaults()))
+        .build();
+
+    assertThatThrownBy(() -> processor(options)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,89 @@
+package com.saltlux.workflow.deepresearch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.saltlux.workflow.deepresearch.payload.PrecedentPayloads.PrecedentChunk;
+import com.saltlux.workflow.deepresearch.payload.ScoreInfos.Scored;
+import com.saltlux.workflow.deepresearch.payload.StatutePayloads.StatuteChunk;
+import com.saltlux.workflow.deepresearch.payload.messageable.ResearchResult;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
+
+@DisplayName("DeepresearchProcessor 검색 점수 기록")
+class DeepresearchProcessorScoresTest {
+
+  private final ResearchResult result = ResearchResult.builder().build();
+
+  private static StatuteChunk statute(final String id) {
+    return StatuteChunk.builder().docId(id).build();
+  }
+
+  private static PrecedentChunk precedent(final String id) {
+    return PrecedentChunk.builder().id(id).build();
+  }
+
+  private static <T> Scored<T> scored(final T data, final Float fused, final Float reranked) {
+    return Scored.<T>builder().data(data).fusedScore(fused).rerankedScore(reranked).build();
+  }
+
+  private Float score(final IDocument document) {
+    return result.getDocumentScores().get(DeepresearchProcessor.scoreKey(document));
+  }
+
+  @Test
+  @DisplayName("법령과 판례의 ID가 같아도 따로 기록한다")
+  void keysByTypeAndId() {
+    DeepresearchProcessor.recordScores(
+        List.of(scored(statute("1"), null, 10f), scored(statute("2"), null, 0f)), result);
+    DeepresearchProcessor.recordScores(
+        List.of(scored(precedent("1"), 0.01f, null), scored(precedent("2"), 0.03f, null)), result);
+
+    assertThat(score(statute("1"))).isEqualTo(1f);
+    assertThat(score(precedent("1"))).isEqualTo(0f);
+    assertThat(result.getDocumentScores()).hasSize(4);
+  }
+
+  @Test
+  @DisplayName("일부 결과에만 rerank 점수가 있으면 목록 전체에 fused 점수를 사용한다")
+  void usesOneScoreSourcePerList() {
+    DeepresearchProcessor.recordScores(List.of(
+        scored(statute("a"), 0.02f, 0.9f),
+        scored(statute("b"), 0.03f, null),
+        scored(statute("c"), 0.01f, 0.1f)), result);
+
+    assertThat(score(statute("b"))).isEqualTo(1f);
+    assertThat(score(statute("a"))).isEqualTo(0.5f);
+    assertThat(score(statute("c"))).isEqualTo(0f);
+  }
+
+  @Test
+  @DisplayName("척도가 다른 목록도 0~1로 정규화하여 함께 비교할 수 있다")
+  void normalizesPerList() {
+    DeepresearchProcessor.recordScores(
+        List.of(scored(statute("s1"), null, 8f), scored(statute("s2"), null, -2f), scored(statute("s3"), null, 3f)),
+        result);
+    DeepresearchProcessor.recordScores(
+        List.of(scored(precedent("p1"), 0.03f, null), scored(precedent("p2"), 0.01f, null)), result);
+
+    assertThat(score(statute("s1"))).isEqualTo(1f);
+    assertThat(score(statute("s3"))).isEqualTo(0.5f);
+    assertThat(score(statute("s2"))).isEqualTo(0f);
+    assertThat(score(precedent("p1"))).isEqualTo(1f);
+    assertThat(score(precedent("p2"))).isEqualTo(0f);
+  }
+
+  @Test
+  @DisplayName("여러 검색 시도에 나온 문서는 큰 점수를 사용하고, 점수가 하나뿐인 목록은 1이다")
+  void keepsMaxAcrossAttempts() {
+    DeepresearchProcessor.recordScores(
+        List.of(scored(statute("a"), 0.03f, null), scored(statute("b"), 0.01f, null)), result);
+    DeepresearchProcessor.recordScores(List.of(scored(statute("b"), 0.02f, null)), result);
+
+    assertThat(score(statute("a"))).isEqualTo(1f);
+    assertThat(score(statute("b"))).isEqualTo(1f);
+  }
+}
@@ -0,0 +1,121 @@
+package com.saltlux.workflow.direct.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.saltlux.workflow.direct.payload.messageable.Citation;
+
+@DisplayName("CitationIndex")
+class CitationIndexTest {
+
+  private static Citation cite(final String id, final int start, final int end) {
+    return Citation.builder().id(id).startIndex(start).endIndex(end).build();
+  }
+
+  @Test
+  @DisplayName("범위와 겹치는 인용을 startIndex 순서로 조회한다")
+  void overlapping() {
+    final Citation a = cite("a", 0, 5);
+    final Citation b = cite("b", 10, 15);
+    final Citation c = cite("c", 20, 25);
+    final CitationIndex index = CitationIndex.of(List.of(c, a, b));
+
+    assertThat(index.overlapping(4, 11)).containsExactly(a, b);
+    assertThat(index.overlapping(5, 10)).isEmpty();
+    assertThat(index.overlapping(14, 21)).containsExactly(b, c);
+    assertThat(index.overlapping(0, 100)).containsExactly(a, b, c);
+    assertThat(index.overlapping(7, 7)).isEmpty();
+    assertThat(index.overlapping(30, 40)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("긴 인용 안에 짧은 인용이 있어도 겹치는 인용을 모두 찾는다")
+  void overlappingWithNestedCitations() {
+    final Citation outer = cite("outer", 0, 30);
+    final Citation inner = cite("inner", 5, 8);
+    final Citation later = cite("later", 10, 12);
+    final CitationIndex index = CitationIndex.of(List.of(outer, inner, later));
+
+    // inner의 endIndex가 작아도 앞선 outer는 조회되어야 한다
+    assertThat(index.overlapping(20, 25)).containsExactly(outer);
+    assertThat(index.overlapping(9, 11)).containsExactly(outer, later);
+  }
+
+  @Test
+  @DisplayName("위치를 포함하는 인용을 조회한다 (endIndex는 미포함)")
+  void covering() {
+    final Citation a = cite("a", 0, 5);
+    final Citation b = cite("b", 3, 8);
+    final CitationIndex index = CitationIndex.of(List.of(a, b));
+
+    assertThat(index.covering(0)).containsExactly(a);
+    assertThat(index.covering(4)).containsExactly(a, b);
+    assertThat(index.covering(5)).containsExactly(b);
+    assertThat(index.covering(8)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("문서 ID별 인용과 인용된 문서 ID를 조회한다")
+  void byId() {
+    final Citation first = cite("doc1", 0, 2);
+    final Citation second = cite("doc2", 3, 5);
+    final Citation third = cite("doc1", 6, 8);
+    final CitationIndex index = CitationIndex.of(List.of(first, second, third));
+
+    assertThat(index.byId("doc1")).containsExactly(first, third);
+    assertThat(index.byId("missing")).isEmpty();
+    assertThat(index.ids()).containsExactly("doc1", "doc2");
+  }
+
+  @Test
+  @DisplayName("정렬되지 않은 목록도 startIndex 순서로 렌더링한다")
+  void renderStatic() {
+    final String content = "법령에 따르면 판례도 같다.";
+
+    assertThat(CitationIndex.render(content, List.of(cite("p", 8, 10), cite("s", 0, 2))))
+        .isEqualTo("<cite><id>s</id>법령</cite>에 따르면 <cite><id>p</id>판례</cite>도 같다.");
+    assertThat(CitationIndex.render(content, null)).isEqualTo(content);
+    assertThat(CitationIndex.render(null, List.of(cite("s", 0, 2)))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("스트리밍 중 반복 렌더링한 결과가 전체를 한 번에 렌더링한 결과와 같다")
+  void renderIncrementally() {
+    final String content = "첫 문장이다. 둘째 문장이다. 셋째 문장이다.";
+    final List<Citation> citations = List.of(cite("a", 0, 6), cite("b", 8, 15), cite("c", 17, 24));
+    final CitationIndex index = new CitationIndex();
+    final List<Citation> added = new ArrayList<>();
+
+    final StringBuilder streamed = new StringBuilder();
+    int next = 0;
+    for (int i = 0; i < content.length(); i++) {
+      streamed.append(content.charAt(i));
+      // 인용 구간이 닫히면 추가한다
+      while (next < citations.size() && citations.get(next).getEndIndex() <= streamed.length()) {
+        index.add(citations.get(next));
+        added.add(citations.get(next++));
+      }
+      assertThat(index.render(streamed)).isEqualTo(CitationIndex.render(streamed.toString(), added));
+    }
+  }
+
+  @Test
+  @DisplayName("이미 렌더링한 인용 앞에 인용이 끼어들면 처음부터 다시 렌더링한다")
+  void renderAfterOutOfOrderAdd() {
+    final String content = "가나다라마바사아자차";
+    final CitationIndex index = new CitationIndex();
+
+    index.add(cite("late", 6, 8));
+    assertThat(index.render(content)).isEqualTo("가나다라마바<cite><id>late</id>사아</cite>자차");
+
+    index.add(cite("early", 0, 2));
+    assertThat(index.render(content))
+        .isEqualTo(CitationIndex.render(content, List.of(cite("early", 0, 2), cite("late", 6, 8))));
+    assertThat(index.toList()).extracting(Citation::getId).containsExactly("early", "late");
+  }
+}
@@ -0,0 +1,128 @@
+package com.saltlux.workflow.direct.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.saltlux.workflow.deepresearch.payload.StatutePayloads.StatuteChunk;
+import com.saltlux.workflow.deepresearch.payload.messageable.ResearchResult;
+import com.saltlux.workflow.deepresearch.payload.messageable.ResearchedMessage;
+import com.saltlux.workflow.deepresearch.payload.messageable.StatuteRetrievalFlow;
+import com.saltlux.workflow.direct.payload.chatcompletion.Message;
+import com.saltlux.workflow.direct.payload.chatcompletion.SegmentedMessage;
+import com.saltlux.workflow.direct.payload.messageable.AttachedMessage;
+import com.saltlux.workflow.direct.payload.messageable.BaseMessage;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
+import com.saltlux.workflow.direct.payload.messageable.SimpleDocument;
+
+@DisplayName("ConversationCache")
+class ConversationCacheTest {
+
+  private final ConversationCache cache = new ConversationCache();
+
+  private static BaseMessage message(final String content) {
+    return BaseMessage.builder().role("user").content(content).build();
+  }
+
+  @Test
+  @DisplayName("이전 턴과 같은 메시지 객체는 변환 결과를 재사용한다")
+  void reusesSameInstance() {
+    final BaseMessage first = message("질문");
+
+    final Message converted = cache.messages(List.of(first)).get(0);
+    final List<Message> next = cache.messages(List.of(first, message("다음 질문")));
+
+    assertThat(next.get(0)).isSameAs(converted);
+    assertThat(next.get(1).getContent()).isEqualTo("다음 질문");
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("값이 같아도 다른 객체는 새로 변환한다")
+  void convertsEqualButDifferentInstance() {
+    final Message converted = cache.messages(List.of(message("질문"))).get(0);
+    final Message again = cache.messages(List.of(message("질문"))).get(0);
+
+    assertThat(again).isNotSameAs(converted);
+    assertThat(again.getContent()).isEqualTo(converted.getContent());
+    assertThat(cache.getHits()).isZero();
+  }
+
+  @Test
+  @DisplayName("이번 이력에 없는 메시지는 제거된다")
+  void dropsMessagesNotInHistory() {
+    final BaseMessage kept = message("유지");
+
+    cache.messages(List.of(message("제거"), kept));
+    assertThat(cache.size()).isEqualTo(2);
+
+    cache.messages(List.of(kept));
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getHits()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("같은 객체가 이력에 여러 번 있어도 한 번만 변환한다")
+  void convertsRepeatedInstanceOnce() {
+    final BaseMessage repeated = message("반복");
+
+    final List<Message> converted = cache.messages(List.of(repeated, repeated));
+
+    assertThat(converted.get(1)).isSameAs(converted.get(0));
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("캐시된 메시지의 내용을 변경하면 다시 변환한다")
+  void reconvertsMutatedMessage() {
+    final List<IDocument> documents = new ArrayList<>();
+    documents.add(SimpleDocument.builder().id("doc-1").content("첫 문서").build());
+    final AttachedMessage attached = AttachedMessage.builder()
+        .role("user")
+        .content("원래 질문")
+        .documents(documents)
+        .build();
+
+    final SegmentedMessage first = cache.segmentedMessages(List.of(attached)).get(0);
+    assertThat(cache.segmentedMessages(List.of(attached)).get(0)).isSameAs(first);
+
+    attached.setContent("바뀐 질문");
+    final SegmentedMessage changed = cache.segmentedMessages(List.of(attached)).get(0);
+    assertThat(changed).isNotSameAs(first);
+    assertThat(changed.getContent()).contains("바뀐 질문").doesNotContain("원래 질문");
+
+    // 목록을 그대로 두고 원소만 추가해도 다시 변환한다
+    documents.add(SimpleDocument.builder().id("doc-2").content("둘째 문서").build());
+    assertThat(cache.messages(List.of(attached)).get(0).getContent()).contains("둘째 문서");
+    assertThat(cache.getMisses()).isEqualTo(3);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("리서치 결과 안의 검색 결과가 바뀌어도 다시 변환한다")
+  void reconvertsMutatedResearchResult() {
+    final StatuteRetrievalFlow flow = StatuteRetrievalFlow.builder()
+        .documents(new ArrayList<>(List.of(
+            StatuteChunk.builder().docId("statute-1").title("제1조").content("첫 조문").build())))
+        .build();
+    final ResearchedMessage researched = ResearchedMessage.builder()
+        .role("user")
+        .content("질문")
+        .researchResult(ResearchResult.builder().retrievalFlows(new ArrayList<>(List.of(flow))).build())
+        .build();
+
+    final String before = cache.messages(List.of(researched)).get(0).getContent();
+    flow.setDocuments(new ArrayList<>(List.of(
+        StatuteChunk.builder().docId("statute-2").title("제2조").content("둘째 조문").build())));
+    final String after = cache.messages(List.of(researched)).get(0).getContent();
+
+    assertThat(before).contains("첫 조문");
+    assertThat(after).contains("둘째 조문").doesNotContain("첫 조문");
+    assertThat(cache.getHits()).isZero();
+  }
+}
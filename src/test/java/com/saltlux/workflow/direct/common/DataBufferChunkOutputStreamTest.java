@@ -0,0 +1,56 @@
+package com.saltlux.workflow.direct.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+@DisplayName("DataBufferChunkOutputStream")
+class DataBufferChunkOutputStreamTest {
+
+  private final DataBufferChunkOutputStream out = new DataBufferChunkOutputStream(DefaultDataBufferFactory.sharedInstance, 4);
+
+  private String written() {
+    final StringBuilder sb = new StringBuilder();
+    for (final DataBuffer buffer : out.buffers()) {
+      sb.append(buffer.toString(StandardCharsets.UTF_8));
+    }
+    return sb.toString();
+  }
+
+  @Test
+  @DisplayName("조각 크기를 넘는 쓰기는 다음 조각으로 이어 쓴다")
+  void splitsAcrossChunks() {
+    out.write("abcdefghij".getBytes(StandardCharsets.UTF_8), 0, 10);
+    out.write('k');
+
+    assertThat(out.buffers()).extracting(DataBuffer::readableByteCount).containsExactly(4, 4, 3);
+    assertThat(out.size()).isEqualTo(11);
+    assertThat(written()).isEqualTo("abcdefghijk");
+  }
+
+  @Test
+  @DisplayName("쓰지 않으면 조각을 할당하지 않는다")
+  void emptyWithoutWrites() {
+    out.write(new byte[0], 0, 0);
+
+    assertThat(out.buffers()).isEmpty();
+    assertThat(out.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("release는 할당한 조각을 모두 비운다")
+  void releaseClearsChunks() {
+    out.write("abcdef".getBytes(StandardCharsets.UTF_8), 0, 6);
+
+    out.release();
+    out.write('x');
+
+    assertThat(out.buffers()).hasSize(1);
+    assertThat(written()).isEqualTo("x");
+  }
+}
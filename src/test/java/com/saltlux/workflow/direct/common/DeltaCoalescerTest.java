@@ -0,0 +1,277 @@
+package com.saltlux.workflow.direct.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.saltlux.workflow.core.common.DeltaCoalescingProperties;
+import com.saltlux.workflow.direct.payload.messageable.Citation;
+import com.saltlux.workflow.direct.payload.messageable.CitedMessage;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@DisplayName("DeltaCoalescer")
+class DeltaCoalescerTest {
+
+  private static final DeltaCoalescingProperties PROPERTIES = DeltaCoalescingProperties.builder()
+      .enabled(true)
+      .window(Duration.ofMillis(30))
+      .maxChars(8)
+      .build();
+
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+
+  private final DeltaCoalescer coalescer = new DeltaCoalescer(PROPERTIES, this::record, scheduler);
+
+  private void record(final CitedMessage message) {
+    if (message.getCitations() != null && !message.getCitations().isEmpty()) {
+      events.add("cite:" + message.getContent());
+    } else if (message.getReasoning() != null) {
+      events.add("reasoning:" + message.getReasoning());
+    } else {
+      events.add(message.getContent());
+    }
+  }
+
+  private static CitedMessage content(final String text) {
+    return CitedMessage.builder().role("assistant").content(text).build();
+  }
+
+  private static CitedMessage reasoning(final String text) {
+    return CitedMessage.builder().role("assistant").reasoning(text).build();
+  }
+
+  private static CitedMessage cited(final String text) {
+    return CitedMessage.builder()
+        .role("assistant")
+        .content(text)
+        .citations(List.of(Citation.builder().id("doc-1").startIndex(0).endIndex(text.length()).build()))
+        .build();
+  }
+
+  @Test
+  @DisplayName("window가 지나면 모아둔 delta를 한 번에 전달한다")
+  void flushesAfterWindow() {
+    coalescer.offer(content("안녕"));
+    coalescer.offer(content("하세요"));
+
+    assertThat(events).isEmpty();
+    assertThat(scheduler.tasks).hasSize(1);
+    assertThat(scheduler.tasks.get(0).delayNanos).isEqualTo(Duration.ofMillis(30).toNanos());
+
+    scheduler.runPending();
+
+    assertThat(events).containsExactly("안녕하세요");
+  }
+
+  @Test
+  @DisplayName("maxChars에 도달하면 타이머를 기다리지 않고 전달한다")
+  void flushesAtMaxChars() {
+    coalescer.offer(content("1234"));
+    coalescer.offer(content("5678"));
+
+    assertThat(events).containsExactly("12345678");
+    assertThat(scheduler.tasks.get(0).isDisposed()).isTrue();
+
+    coalescer.offer(content("9"));
+    scheduler.runPending();
+
+    assertThat(events).containsExactly("12345678", "9");
+  }
+
+  @Test
+  @DisplayName("인용이 있는 delta 앞에서 모아둔 내용을 먼저 전달한다")
+  void flushesBeforeCitation() {
+    coalescer.offer(content("앞 "));
+    coalescer.offer(cited("인용"));
+    coalescer.offer(content(" 뒤"));
+    scheduler.runPending();
+
+    assertThat(events).containsExactly("앞 ", "cite:인용", " 뒤");
+  }
+
+  @Test
+  @DisplayName("content와 reasoning이 바뀌면 모아둔 내용을 먼저 전달한다")
+  void flushesOnKindChange() {
+    coalescer.offer(reasoning("생각"));
+    coalescer.offer(content("답"));
+    scheduler.runPending();
+
+    assertThat(events).containsExactly("reasoning:생각", "답");
+  }
+
+  @Test
+  @DisplayName("flush는 finishReason 전에 모아둔 내용을 즉시 전달하고 타이머를 취소한다")
+  void flushBeforeFinishReason() {
+    coalescer.offer(content("끝"));
+
+    coalescer.flush();
+    events.add("finish");
+    scheduler.runAll();
+
+    assertThat(events).containsExactly("끝", "finish");
+    assertThat(scheduler.tasks.get(0).isDisposed()).isTrue();
+  }
+
+  @Test
+  @DisplayName("병합이 비활성이면 모든 delta를 즉시 전달한다")
+  void passesThroughWhenDisabled() {
+    final DeltaCoalescer disabled = new DeltaCoalescer(DeltaCoalescingProperties.builder().build(), this::record,
+        scheduler);
+
+    disabled.offer(content("a"));
+    disabled.offer(content("b"));
+
+    assertThat(events).containsExactly("a", "b");
+    assertThat(scheduler.tasks).isEmpty();
+  }
+
+  @Test
+  @DisplayName("close는 모아둔 내용을 전달하고 이후 delta와 타이머를 무시한다")
+  void closeFlushesPending() {
+    coalescer.offer(content("마지막"));
+
+    coalescer.close();
+    coalescer.offer(content("늦은 delta"));
+    scheduler.runAll();
+
+    assertThat(events).containsExactly("마지막");
+  }
+
+  @Test
+  @DisplayName("discard는 모아둔 내용을 버리고 이후 delta와 타이머를 무시한다")
+  void discardDropsPending() {
+    coalescer.offer(content("버려짐"));
+
+    coalescer.discard();
+    coalescer.offer(content("늦은 delta"));
+    coalescer.flush();
+    scheduler.runAll();
+
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  @DisplayName("타이머 flush가 전달 중이면 close는 끝날 때까지 기다리므로 완료 뒤에 전달되지 않는다")
+  void timerFlushRacingCloseCompletesFirst() throws Exception {
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final DeltaCoalescer racing = new DeltaCoalescer(PROPERTIES, message -> {
+      entered.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      record(message);
+    }, scheduler);
+    racing.offer(content("타이머"));
+
+    // 타이머 스레드에서 flush가 downstream 안에 머무는 동안 스트림이 완료된다
+    final CompletableFuture<Void> timer = CompletableFuture.runAsync(scheduler.tasks.get(0).task);
+    assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+    final CompletableFuture<Void> complete = CompletableFuture.runAsync(() -> {
+      racing.close();
+      events.add("complete");
+    });
+
+    assertThatThrownBy(() -> complete.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+    release.countDown();
+    timer.get(5, TimeUnit.SECONDS);
+    complete.get(5, TimeUnit.SECONDS);
+
+    assertThat(events).containsExactly("타이머", "complete");
+  }
+
+  @Test
+  @DisplayName("close 뒤에 실행된 타이머 flush는 아무것도 전달하지 않는다")
+  void timerFlushAfterCloseEmitsNothing() throws Exception {
+    coalescer.offer(content("a"));
+    final Runnable stale = scheduler.tasks.get(0).task;
+
+    coalescer.close();
+    events.add("complete");
+    // 취소된 타이머가 이미 실행 대기 중이었던 경우를 다른 스레드에서 재현한다
+    CompletableFuture.runAsync(stale).get(5, TimeUnit.SECONDS);
+
+    assertThat(events).containsExactly("a", "complete");
+  }
+
+  /**
+   * 예약된 작업을 보관했다가 테스트가 직접 실행하는 scheduler.
+   */
+  private static final class ManualScheduler implements Scheduler {
+
+    private final List<ScheduledTask> tasks = new ArrayList<>();
+
+    @Override
+    public Disposable schedule(final Runnable task) {
+      return schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Disposable schedule(final Runnable task, final long delay, final TimeUnit unit) {
+      final ScheduledTask scheduled = new ScheduledTask(task, unit.toNanos(delay));
+      tasks.add(scheduled);
+      return scheduled;
+    }
+
+    @Override
+    public Worker createWorker() {
+      return Schedulers.immediate().createWorker();
+    }
+
+    /** 취소되지 않은 작업만 실행한다. */
+    void runPending() {
+      for (final ScheduledTask task : new ArrayList<>(tasks)) {
+        if (!task.isDisposed()) {
+          task.task.run();
+        }
+      }
+    }
+
+    /** 취소 여부와 관계없이 모든 작업을 실행한다 (취소가 늦은 타이머). */
+    void runAll() {
+      new ArrayList<>(tasks).forEach(task -> task.task.run());
+    }
+  }
+
+  private static final class ScheduledTask implements Disposable {
+
+    private final Runnable task;
+
+    private final long delayNanos;
+
+    private volatile boolean disposed;
+
+    ScheduledTask(final Runnable task, final long delayNanos) {
+      this.task = task;
+      this.delayNanos = delayNanos;
+    }
+
+    @Override
+    public void dispose() {
+      disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+      return disposed;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.saltlux.workflow.direct.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.core.common.TokenEstimator;
+import com.saltlux.workflow.direct.common.DocumentPacker.Packed;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
+import com.saltlux.workflow.direct.payload.messageable.SimpleDocument;
+
+@DisplayName("DocumentPacker")
+class DocumentPackerTest {
+
+  /** 본문의 'x' 개수를 토큰 수로 계산한다 */
+  private static final TokenEstimator X_COUNT = text -> (int) text.chars().filter(c -> c == 'x').count();
+
+  private final DocumentPacker packer = new DocumentPacker(X_COUNT);
+
+  private static IDocument doc(final String id, final int tokens) {
+    return SimpleDocument.builder().id(id).content("x".repeat(tokens)).build();
+  }
+
+  private static List<String> ids(final Packed<IDocument> packed) {
+    return packed.documents().stream().map(IDocument::getId).toList();
+  }
+
+  @Test
+  @DisplayName("예산을 넘는 문서는 건너뛰고 다음 문서를 계속 담는다")
+  void packsGreedilyWithinBudget() {
+    final List<IDocument> documents = List.of(doc("a", 4), doc("b", 6), doc("c", 3), doc("d", 2));
+
+    final Packed<IDocument> packed = packer.pack(documents, null, 9);
+
+    assertThat(ids(packed)).containsExactly("a", "c", "d");
+    assertThat(packed.droppedIds()).containsExactly("b");
+    assertThat(packed.tokens()).isEqualTo(9);
+  }
+
+  @Test
+  @DisplayName("예산이 0 이하면 원래 순서 그대로 모든 문서를 담는다")
+  void unlimitedWhenBudgetIsZero() {
+    final List<IDocument> documents = List.of(doc("a", 100), doc("b", 200));
+    final Map<String, Float> scores = Map.of("a", 0.1f, "b", 0.9f);
+
+    for (final int budget : new int[] { 0, -1 }) {
+      final Packed<IDocument> packed = packer.pack(documents, document -> scores.get(document.getId()), budget);
+
+      assertThat(ids(packed)).containsExactly("a", "b");
+      assertThat(packed.droppedIds()).isEmpty();
+      assertThat(packed.tokens()).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("점수가 높은 문서부터 담고, 점수가 같거나 없으면 원래 순서를 따른다")
+  void ordersByScore() {
+    final List<IDocument> documents = List.of(
+        doc("none", 1), doc("low", 1), doc("tie1", 1), doc("high", 1), doc("tie2", 1));
+    final Map<String, Float> scores = Map.of("low", 0.1f, "tie1", 0.5f, "high", 0.9f, "tie2", 0.5f);
+
+    final Packed<IDocument> packed = packer.pack(documents, document -> scores.get(document.getId()), 4);
+
+    assertThat(ids(packed)).containsExactly("high", "tie1", "tie2", "low");
+    assertThat(packed.droppedIds()).containsExactly("none");
+  }
+
+  @Test
+  @DisplayName("빈 목록은 빈 결과를 반환한다")
+  void emptyDocuments() {
+    assertThat(packer.pack(List.<IDocument>of(), null, 10).documents()).isEmpty();
+    assertThat(packer.pack(null, null, 10).documents()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("렌더링 캐시를 지정하면 토큰 수 계산에 사용한 프롬프트를 재사용한다")
+  void usesRenderCache() {
+    final DocumentRenderCache cache = new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES);
+    final DocumentPacker cached = new DocumentPacker(X_COUNT, cache);
+    final List<IDocument> documents = List.of(doc("a", 1), doc("b", 1));
+
+    cached.pack(documents, null, 10);
+    cached.pack(documents, null, 10);
+
+    assertThat(cache.getMisses()).isEqualTo(2);
+    assertThat(cache.getHits()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,85 @@
+package com.saltlux.workflow.direct.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.core.common.JsonProperties;
+import com.saltlux.workflow.core.common.JsonSupport;
+import com.saltlux.workflow.deepresearch.payload.AnalysisPayloads.AnalysisRequest;
+import com.saltlux.workflow.deepresearch.payload.PrecedentPayloads.PrecedentChunk;
+import com.saltlux.workflow.deepresearch.payload.StatutePayloads.StatuteChunk;
+import com.saltlux.workflow.direct.payload.chatcompletion.ContentSegments;
+import com.saltlux.workflow.direct.payload.messageable.IDocument;
+import com.saltlux.workflow.direct.payload.messageable.SimpleDocument;
+
+@DisplayName("DocumentRendering")
+class DocumentRenderingTest {
+
+  private final ObjectMapper mapper = JsonSupport.createMapper(JsonProperties.builder().build());
+
+  private final List<IDocument> documents = List.of(
+      StatuteChunk.builder().docId("statute-1").title("제1조").content("법령 본문").lsNm("민법").build(),
+      PrecedentChunk.builder().id("precedent-1").caseName("사건").content("판례 본문").build(),
+      SimpleDocument.builder().id("doc-1").title("제목").content("본문").url("https://example.com").build(),
+      SimpleDocument.builder().title("ID 없음").content("본문").build());
+
+  private final AnalysisRequest request = AnalysisRequest.builder().query("질문").documents(documents).build();
+
+  @Test
+  @DisplayName("캐시 속성이 있어도 없을 때와 같은 JSON을 만든다 (미스와 적중 모두)")
+  void cachedJsonMatchesDefault() throws Exception {
+    final DocumentRenderCache cache = new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES);
+    final ObjectWriter cached = mapper.writer().withAttribute(DocumentRenderCache.class, cache);
+
+    final String plain = mapper.writeValueAsString(request);
+    final String miss = cached.writeValueAsString(request);
+    final long misses = cache.getMisses();
+    final String hit = cached.writeValueAsString(request);
+
+    // 애너테이션이 없을 때의 기본 목록 직렬화와도 같아야 한다
+    final String defaultDocuments = mapper.writerFor(new TypeReference<List<IDocument>>() { })
+        .writeValueAsString(documents);
+    assertThat(plain).contains("\"documents\":" + defaultDocuments);
+    assertThat(plain).contains("\"type\":\"statute\"", "\"type\":\"precedent\"", "\"type\":\"document\"");
+    assertThat(plain).contains("\"lsNm\":\"민법\"");
+
+    assertThat(miss).isEqualTo(plain);
+    assertThat(hit).isEqualTo(plain);
+    assertThat(misses).isEqualTo(3);
+    assertThat(cache.getHits()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("캐시된 JSON을 역직렬화하면 원래 문서와 같다")
+  void cachedJsonRoundTrips() throws Exception {
+    final ObjectWriter cached = mapper.writer()
+        .withAttribute(DocumentRenderCache.class, new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES));
+
+    final AnalysisRequest read = mapper.readValue(cached.writeValueAsString(request), AnalysisRequest.class);
+
+    assertThat(read.getDocuments()).isEqualTo(documents);
+  }
+
+  @Test
+  @DisplayName("캐시 여부와 관계없이 같은 프롬프트 조각을 추가한다")
+  void appendPromptMatchesUncached() {
+    final DocumentRenderCache cache = new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES);
+
+    for (final IDocument document : documents) {
+      final ContentSegments segments = new ContentSegments();
+      DocumentRendering.appendPrompt(cache, document, segments);
+      DocumentRendering.appendPrompt(cache, document, segments);
+
+      assertThat(segments.toString()).isEqualTo(document.toSerializedPrompt() + document.toSerializedPrompt());
+    }
+    assertThat(cache.getHits()).isEqualTo(3);
+  }
+}
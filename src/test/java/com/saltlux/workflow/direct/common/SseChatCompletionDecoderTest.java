@@ -0,0 +1,118 @@
+package com.saltlux.workflow.direct.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.saltlux.workflow.core.common.JsonProperties;
+import com.saltlux.workflow.core.common.JsonSupport;
+import com.saltlux.workflow.direct.payload.chatcompletion.ChatCompletionResponse;
+
+@DisplayName("SseChatCompletionDecoder")
+class SseChatCompletionDecoderTest {
+
+  private final SseChatCompletionDecoder decoder = new SseChatCompletionDecoder(
+      JsonSupport.createMapper(JsonProperties.builder().build()).readerFor(ChatCompletionResponse.class));
+
+  /** 각 문자열을 별도 버퍼로 디코딩한 뒤 스트림을 종료한다. */
+  private List<ChatCompletionResponse> decode(final String... chunks) {
+    final List<ChatCompletionResponse> out = new ArrayList<>();
+    for (final String chunk : chunks) {
+      out.addAll(decoder.decode(
+          DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+    }
+    out.addAll(decoder.finish());
+    return out;
+  }
+
+  private static List<String> ids(final List<ChatCompletionResponse> responses) {
+    return responses.stream()
+        .map(response -> response == SseChatCompletionDecoder.DONE ? "[DONE]" : response.getId())
+        .toList();
+  }
+
+  @Test
+  @DisplayName("LF로 구분된 이벤트와 [DONE]을 디코딩한다")
+  void decodesLf() {
+    assertThat(ids(decode("data: {\"id\":\"a\"}\n\ndata: {\"id\":\"b\"}\n\ndata: [DONE]\n\n")))
+        .containsExactly("a", "b", "[DONE]");
+  }
+
+  @Test
+  @DisplayName("CRLF로 구분된 이벤트를 디코딩한다")
+  void decodesCrLf() {
+    assertThat(ids(decode("data: {\"id\":\"a\"}\r\n\r\ndata: {\"id\":\"b\"}\r\n\r\ndata: [DONE]\r\n\r\n")))
+        .containsExactly("a", "b", "[DONE]");
+  }
+
+  @Test
+  @DisplayName("CR만으로 구분된 이벤트를 디코딩한다")
+  void decodesCr() {
+    assertThat(ids(decode("data: {\"id\":\"a\"}\r\rdata: {\"id\":\"b\"}\r\r")))
+        .containsExactly("a", "b");
+  }
+
+  @Test
+  @DisplayName("버퍼 경계에서 나뉜 CRLF를 빈 줄로 오인하지 않는다")
+  void handlesCrLfSplitAcrossBuffers() {
+    assertThat(ids(decode("data: {\"id\":\"a\"}\r", "\n\r", "\ndata: {\"id\":\"b\"}\r", "\n\r", "\n")))
+        .containsExactly("a", "b");
+  }
+
+  @Test
+  @DisplayName("버퍼 끝의 CR 뒤에 다음 줄이 오면 줄 끝으로 처리한다")
+  void handlesLoneCrAtBufferEnd() {
+    assertThat(ids(decode("data: {\"id\":\"a\"}\r", "\r", "data: {\"id\":\"b\"}\r", "\r")))
+        .containsExactly("a", "b");
+  }
+
+  @Test
+  @DisplayName("버퍼 경계에 걸친 줄을 이어 붙인다")
+  void joinsLineSplitAcrossBuffers() {
+    assertThat(ids(decode("da", "ta: {\"id\"", ":\"a\"}", "\n", "\n")))
+        .containsExactly("a");
+  }
+
+  @Test
+  @DisplayName("여러 줄의 data 필드는 줄바꿈으로 이어 붙인다")
+  void joinsMultiLineData() {
+    final List<ChatCompletionResponse> responses = decode("data: {\"id\":\"a\",\ndata: \"model\":\"m\"}\n\n");
+
+    assertThat(ids(responses)).containsExactly("a");
+    assertThat(responses.get(0).getModel()).isEqualTo("m");
+  }
+
+  @Test
+  @DisplayName("주석과 data 이외의 필드는 무시한다")
+  void ignoresCommentsAndOtherFields() {
+    assertThat(ids(decode(": keep-alive\nevent: message\nid: 1\ndata:{\"id\":\"a\"}\n\n")))
+        .containsExactly("a");
+  }
+
+  @Test
+  @DisplayName("마지막 이벤트 뒤에 빈 줄이 없어도 종료 시 처리한다")
+  void dispatchesTrailingEventOnFinish() {
+    assertThat(ids(decode("data: {\"id\":\"a\"}\n\ndata: {\"id\":\"b\"}"))).containsExactly("a", "b");
+  }
+
+  @Test
+  @DisplayName("[DONE]은 마지막 이벤트 뒤에 빈 줄이 없어도 검출한다")
+  void detectsTrailingDone() {
+    assertThat(decode("data: [DONE]")).containsExactly(SseChatCompletionDecoder.DONE);
+  }
+
+  @Test
+  @DisplayName("파싱할 수 없는 data는 DirectLlmClientException으로 실패한다")
+  void failsOnInvalidJson() {
+    assertThatThrownBy(() -> decode("data: {not json\n\n"))
+        .isInstanceOf(DirectLlmClientException.class)
+        .hasMessageContaining("{not json");
+  }
+}
@@ -0,0 +1,99 @@
+package com.saltlux.workflow.direct.payload.chatcompletion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.saltlux.workflow.core.common.DocumentRenderCache;
+import com.saltlux.workflow.core.common.JsonProperties;
+import com.saltlux.workflow.core.common.JsonSupport;
+import com.saltlux.workflow.deepresearch.payload.StatutePayloads.StatuteChunk;
+import com.saltlux.workflow.direct.common.ConversationCache;
+import com.saltlux.workflow.direct.common.DataBufferChunkOutputStream;
+import com.saltlux.workflow.direct.payload.messageable.AttachedMessage;
+import com.saltlux.workflow.direct.payload.messageable.BaseMessage;
+import com.saltlux.workflow.direct.payload.messageable.SimpleDocument;
+
+@DisplayName("StreamingCompletionRequest")
+class StreamingCompletionRequestTest {
+
+  private final ObjectMapper mapper = JsonSupport.createMapper(JsonProperties.builder().build());
+
+  private final ObjectWriter streamingWriter = mapper.writerFor(StreamingCompletionRequest.class);
+
+  private static AdvancedCompletionRequest request() {
+    return AdvancedCompletionRequest.builder()
+        .model("model")
+        .temperature(0.2)
+        .maxTokens(1024)
+        .stop(List.of("</answer>"))
+        .messages(List.of(
+            BaseMessage.builder().role("system").content("\"따옴표\"와 줄바꿈\n\t을 포함한 지시").build(),
+            AttachedMessage.builder()
+                .role("user")
+                .content("질문")
+                .documents(List.of(
+                    SimpleDocument.builder().id("doc-1").title("제목").content("본문 <태그> & \\ \u0001").build(),
+                    StatuteChunk.builder().docId("statute-1").title("제1조").content("법령 본문").build(),
+                    SimpleDocument.builder().title("ID 없음").content("본문").build()))
+                .build(),
+            BaseMessage.builder().role("assistant").content(null).build()))
+        .build();
+  }
+
+  @Test
+  @DisplayName("조각 단위 요청은 표준 요청과 같은 JSON으로 직렬화된다")
+  void matchesChatCompletionRequest() throws Exception {
+    final AdvancedCompletionRequest request = request();
+
+    final String expected = mapper.writeValueAsString(request.toChatCompletionRequest());
+
+    assertThat(streamingWriter.writeValueAsString(request.toStreamingRequest())).isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("대화 캐시와 문서 캐시를 사용해 반복 직렬화해도 표준 요청과 같은 JSON이다")
+  void matchesChatCompletionRequestWithCaches() throws Exception {
+    final AdvancedCompletionRequest request = request();
+    final ConversationCache conversation = new ConversationCache();
+    final DocumentRenderCache renderCache = new DocumentRenderCache(DocumentRenderCache.DEFAULT_MAX_BYTES);
+
+    final String expected = mapper.writeValueAsString(request.toChatCompletionRequest());
+
+    for (int i = 0; i < 2; i++) {
+      assertThat(streamingWriter.writeValueAsString(request.toStreamingRequest(conversation, renderCache)))
+          .isEqualTo(expected);
+    }
+    // 두 번째 직렬화는 대화 캐시에 보관된 메시지 JSON을 그대로 쓴다
+    assertThat(conversation.getHits()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("고정 크기 버퍼 조각에 쓴 본문은 표준 요청의 JSON 바이트와 같다")
+  void writesSameBytesIntoChunks() throws Exception {
+    final AdvancedCompletionRequest request = request();
+    final byte[] expected = mapper.writeValueAsBytes(request.toChatCompletionRequest());
+
+    final DataBufferChunkOutputStream out = new DataBufferChunkOutputStream(DefaultDataBufferFactory.sharedInstance, 64);
+    streamingWriter.writeValue(out, request.toStreamingRequest());
+
+    final byte[] actual = new byte[(int) out.size()];
+    int offset = 0;
+    for (final DataBuffer buffer : out.buffers()) {
+      final int count = buffer.readableByteCount();
+      buffer.read(actual, offset, count);
+      offset += count;
+    }
+    assertThat(out.buffers()).hasSizeGreaterThan(1);
+    assertThat(new String(actual, StandardCharsets.UTF_8)).isEqualTo(new String(expected, StandardCharsets.UTF_8));
+    out.release();
+  }
+}